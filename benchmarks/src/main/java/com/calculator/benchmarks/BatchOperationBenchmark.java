@@ -0,0 +1,77 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Array batch overloads against calling the scalar operation in a loop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchOperationBenchmark {
+    @Param({"ADD", "DIVIDE", "POWER"})
+    private Operations binary;
+
+    @Param({"SQUARE", "SQRT", "SIN"})
+    private Operations unary;
+
+    @Param({"65536"})
+    private int size;
+
+    private final CalculatorEngine engine = new CalculatorEngine();
+    private double[] first;
+    private double[] second;
+    private double[] result;
+
+    @Setup
+    public void setUp() {
+        first = Operands.positive(size, 1, 1000);
+        second = Operands.positive(size, 0.5, 8);
+        result = new double[size];
+    }
+
+    @Benchmark
+    public double[] binaryBatch() {
+        engine.performBinaryOperation(first, second, result, binary);
+        return result;
+    }
+
+    @Benchmark
+    public double[] binaryScalarLoop() {
+        for (int i = 0; i < size; i++) {
+            result[i] = engine.performBinaryOperation(first[i], second[i], binary);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] unaryBatch() {
+        engine.performUnaryOperation(first, result, unary);
+        return result;
+    }
+
+    @Benchmark
+    public double[] unaryScalarLoop() {
+        for (int i = 0; i < size; i++) {
+            result[i] = engine.performUnaryOperation(first[i], unary);
+        }
+        return result;
+    }
+}
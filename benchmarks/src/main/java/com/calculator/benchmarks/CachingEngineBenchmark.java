@@ -0,0 +1,66 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CachingCalculatorEngine;
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CachingCalculatorEngine} against the plain engine on a workload of repeated angles and
+ * powers, with four threads sharing one cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CachingEngineBenchmark {
+    @Param({"PLAIN", "CACHING"})
+    private String engineType;
+
+    /** Number of distinct operands; the cache is sized to hold them all. */
+    @Param({"360", "100000"})
+    private int distinct;
+
+    private CalculatorEngine engine;
+    private double[] angles;
+    private double[] exponents;
+
+    @Setup
+    public void setUp() {
+        engine = engineType.equals("CACHING") ? new CachingCalculatorEngine() : new CalculatorEngine();
+        angles = Operands.integers(4096, 0, distinct - 1);
+        exponents = Operands.integers(4096, 0, 16);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+    }
+
+    @Benchmark
+    public double sin(Cursor cursor) {
+        return engine.performUnaryOperation(angles[cursor.index++ & 4095], Operations.SIN);
+    }
+
+    @Benchmark
+    public double power(Cursor cursor) {
+        int i = cursor.index++ & 4095;
+        return engine.performBinaryOperation(angles[i], exponents[i], Operations.POWER);
+    }
+}
\ No newline at end of file
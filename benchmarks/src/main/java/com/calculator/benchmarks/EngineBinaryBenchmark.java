@@ -0,0 +1,48 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every binary operation of {@link CalculatorEngine#performBinaryOperation(double, double, Operations)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBinaryBenchmark {
+    @Param({"ADD", "SUBTRACT", "MULTIPLY", "DIVIDE", "MODULUS", "POWER"})
+    private Operations operation;
+
+    private final CalculatorEngine engine = new CalculatorEngine();
+    private double[] first;
+    private double[] second;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        first = Operands.positive(1024, 1, 1000);
+        second = Operands.positive(1024, 0.5, 8);
+    }
+
+    @Benchmark
+    public double binary() {
+        int i = index++ & 1023;
+        return engine.performBinaryOperation(first[i], second[i], operation);
+    }
+}
@@ -0,0 +1,48 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every unary operation of {@link CalculatorEngine#performUnaryOperation(double, Operations)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineUnaryBenchmark {
+    @Param({"SIN", "COS", "TAN", "LOG", "LN", "EXP", "SQUARE", "RECIPROCAL", "SQRT", "NEGATE",
+            "FACTORIAL", "PI", "TEN_POWER", "ABSOLUTE"})
+    private Operations operation;
+
+    private final CalculatorEngine engine = new CalculatorEngine();
+    private double[] numbers;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        numbers = operation == Operations.FACTORIAL
+                ? Operands.integers(1024, 0, 170)
+                : Operands.positive(1024, 0.5, 300);
+    }
+
+    @Benchmark
+    public double unary() {
+        return engine.performUnaryOperation(numbers[index++ & 1023], operation);
+    }
+}
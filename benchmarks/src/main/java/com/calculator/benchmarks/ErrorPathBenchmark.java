@@ -0,0 +1,69 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CalculationResult;
+import com.calculator.core.CalculationStatus;
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of invalid input through the throwing API against the status-returning API, for input
+ * streams where a given share of square roots are of negative numbers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+    /** Percentage of invalid operands. */
+    @Param({"0", "10", "50"})
+    private int invalidPercent;
+
+    private final CalculatorEngine engine = new CalculatorEngine();
+    private final CalculationResult result = new CalculationResult();
+    private double[] numbers;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        numbers = Operands.positive(1024, 1, 1000);
+        for (int i = 0; i < numbers.length; i++) {
+            if (i % 100 < invalidPercent) numbers[i] = -numbers[i];
+        }
+    }
+
+    @Benchmark
+    public double throwing() {
+        try {
+            return engine.performUnaryOperation(numbers[index++ & 1023], Operations.SQRT);
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public double nanBoxed() {
+        double value = engine.evaluateUnaryOperation(numbers[index++ & 1023], Operations.SQRT);
+        return CalculationStatus.isError(value) ? -1 : value;
+    }
+
+    @Benchmark
+    public double holder() {
+        CalculationStatus status = engine.performUnaryOperation(numbers[index++ & 1023], Operations.SQRT, result);
+        return status == CalculationStatus.OK ? result.getValue() : -1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.expression.BytecodeExpressionCompiler;
+import com.calculator.core.expression.CompiledExpression;
+import com.calculator.core.expression.ExpressionCompiler;
+import com.calculator.core.expression.TreeExpressionCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tree compiler against bytecode compiler on representative formulas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBackendBenchmark {
+    @Param({
+        "x * y + 3",
+        "sin(x)^2 + log(y) mod 7",
+        "sqrt(x^2 + y^2) / (1 + abs(x - y))",
+        "((x + 1) * (y - 2) + (x - 3) * (y + 4)) / ((x * y) mod 97 + 1)"
+    })
+    private String formula;
+
+    @Param({"tree", "bytecode"})
+    private String backend;
+
+    private CompiledExpression compiled;
+    private double[][] values;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        ExpressionCompiler compiler = backend.equals("tree")
+                ? new TreeExpressionCompiler()
+                : new BytecodeExpressionCompiler();
+        compiled = compiler.compile(formula);
+        double[] x = Operands.positive(1024, 1, 100);
+        double[] y = Operands.positive(1024, 2, 500);
+        values = new double[1024][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new double[] {x[i], y[i]};
+        }
+    }
+
+    @Benchmark
+    public double evaluate() {
+        return compiled.evaluate(values[index++ & 1023]);
+    }
+}
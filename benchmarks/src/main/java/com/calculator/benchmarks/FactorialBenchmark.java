@@ -0,0 +1,38 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Operations#FACTORIAL} across input sizes, up to and beyond the largest finite result,
+ * and for non-integral arguments.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactorialBenchmark {
+    @Param({"1", "10", "50", "100", "170", "1000", "4.5", "100.5"})
+    private double n;
+
+    private final CalculatorEngine engine = new CalculatorEngine();
+
+    @Benchmark
+    public double factorial() {
+        return engine.performUnaryOperation(n, Operations.FACTORIAL);
+    }
+}
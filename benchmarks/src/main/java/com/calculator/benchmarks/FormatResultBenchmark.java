@@ -0,0 +1,65 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.ResultFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CalculatorEngine#formatResult(double)} and the allocation-free {@link ResultFormatter} path
+ * on integral, fractional and extreme values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatResultBenchmark {
+    @Param({"INTEGRAL", "FRACTIONAL", "EXTREME"})
+    private String values;
+
+    private final CalculatorEngine engine = new CalculatorEngine();
+    private final StringBuilder builder = new StringBuilder(ResultFormatter.MAX_LENGTH);
+    private double[] numbers;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        switch (values) {
+            case "INTEGRAL":
+                numbers = Operands.integers(1024, -1_000_000, 1_000_000);
+                break;
+            case "FRACTIONAL":
+                numbers = Operands.positive(1024, 0.001, 10_000);
+                break;
+            default:
+                numbers = new double[] {
+                    Double.MAX_VALUE, -Double.MAX_VALUE, Double.MIN_VALUE, 1e-7, 9.223372036854775807E18,
+                    1e300, -1e25, 4.9e-324, Double.NaN, Double.POSITIVE_INFINITY, 123456789.1234567, 0.0000005
+                };
+        }
+    }
+
+    @Benchmark
+    public String format() {
+        return engine.formatResult(numbers[index++ % numbers.length]);
+    }
+
+    @Benchmark
+    public StringBuilder formatInto() {
+        builder.setLength(0);
+        return ResultFormatter.format(numbers[index++ % numbers.length], builder);
+    }
+}
@@ -0,0 +1,86 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import com.calculator.core.matrix.LUDecomposition;
+import com.calculator.core.matrix.Matrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocked, fork-join {@link Matrix#multiply(Matrix)} against the textbook {@code i-j-k} triple
+ * loop on the same flat arrays, plus LU decomposition and element-wise {@code apply}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixBenchmark {
+    @Param({"64", "256", "512"})
+    private int size;
+
+    private final CalculatorEngine engine = new CalculatorEngine();
+    private Matrix a;
+    private Matrix b;
+    private double[] aData;
+    private double[] bData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        aData = new double[size * size];
+        bData = new double[size * size];
+        for (int i = 0; i < aData.length; i++) {
+            aData[i] = random.nextGaussian();
+            bData[i] = random.nextGaussian();
+        }
+        a = Matrix.of(size, size, aData);
+        b = Matrix.of(size, size, bData);
+    }
+
+    @Benchmark
+    public double[] naiveMultiply() {
+        int n = size;
+        double[] c = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+                for (int k = 0; k < n; k++) {
+                    sum += aData[i * n + k] * bData[k * n + j];
+                }
+                c[i * n + j] = sum;
+            }
+        }
+        return c;
+    }
+
+    @Benchmark
+    public Matrix multiply() {
+        return a.multiply(b);
+    }
+
+    @Benchmark
+    public LUDecomposition decompose() {
+        return new LUDecomposition(a);
+    }
+
+    @Benchmark
+    public Matrix applySin() {
+        return a.apply(engine, Operations.SIN);
+    }
+}
\ No newline at end of file
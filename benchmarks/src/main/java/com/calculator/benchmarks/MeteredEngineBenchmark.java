@@ -0,0 +1,67 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import com.calculator.core.metrics.EngineMetrics;
+import com.calculator.core.metrics.MeteredCalculatorEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of {@link MeteredCalculatorEngine} with metrics switched off, on with every call timed,
+ * and on with one call in 16 timed, against the plain engine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeteredEngineBenchmark {
+    @Param({"PLAIN", "DISABLED", "ENABLED", "SAMPLED"})
+    private String metrics;
+
+    private CalculatorEngine engine;
+    private double[] numbers;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        if (metrics.equals("PLAIN")) {
+            engine = new CalculatorEngine();
+        } else {
+            EngineMetrics engineMetrics = new EngineMetrics();
+            engineMetrics.setEnabled(!metrics.equals("DISABLED"));
+            if (metrics.equals("SAMPLED")) engineMetrics.setLatencySampleInterval(16);
+            engine = new MeteredCalculatorEngine(engineMetrics);
+        }
+        numbers = Operands.positive(1024, 0.001, 1000);
+    }
+
+    @Benchmark
+    public double add() {
+        double x = numbers[index++ & 1023];
+        return engine.performBinaryOperation(x, x, Operations.ADD);
+    }
+
+    @Benchmark
+    public double sqrt() {
+        return engine.performUnaryOperation(numbers[index++ & 1023], Operations.SQRT);
+    }
+
+    @Benchmark
+    public String format() {
+        return engine.formatResult(numbers[index++ & 1023]);
+    }
+}
\ No newline at end of file
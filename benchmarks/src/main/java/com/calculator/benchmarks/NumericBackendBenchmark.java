@@ -0,0 +1,98 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import com.calculator.core.numeric.BigDecimalBackend;
+import com.calculator.core.numeric.DoubleBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The primitive {@link CalculatorEngine} path against the {@code double} and {@link BigDecimal}
+ * numeric backends, to keep the cost of the pluggable backends visible and the primitive path
+ * unaffected by them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumericBackendBenchmark {
+    @Param({"ADD", "DIVIDE", "POWER"})
+    private Operations binary;
+
+    @Param({"SIN", "LN", "SQRT"})
+    private Operations unary;
+
+    @Param({"16", "34"})
+    private int precision;
+
+    private final CalculatorEngine engine = new CalculatorEngine();
+    private final DoubleBackend doubleBackend = new DoubleBackend(engine);
+    private BigDecimalBackend bigDecimalBackend;
+    private double[] first;
+    private double[] second;
+    private BigDecimal[] bigFirst;
+    private BigDecimal[] bigSecond;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        bigDecimalBackend = new BigDecimalBackend(new MathContext(precision));
+        first = Operands.positive(256, 1, 1000);
+        second = Operands.positive(256, 0.5, 8);
+        bigFirst = new BigDecimal[first.length];
+        bigSecond = new BigDecimal[second.length];
+        for (int i = 0; i < first.length; i++) {
+            bigFirst[i] = BigDecimal.valueOf(first[i]);
+            bigSecond[i] = BigDecimal.valueOf(second[i]);
+        }
+    }
+
+    @Benchmark
+    public double binaryEngine() {
+        int i = index++ & 255;
+        return engine.performBinaryOperation(first[i], second[i], binary);
+    }
+
+    @Benchmark
+    public Double binaryDoubleBackend() {
+        int i = index++ & 255;
+        return doubleBackend.performBinaryOperation(first[i], second[i], binary);
+    }
+
+    @Benchmark
+    public BigDecimal binaryBigDecimalBackend() {
+        int i = index++ & 255;
+        return bigDecimalBackend.performBinaryOperation(bigFirst[i], bigSecond[i], binary);
+    }
+
+    @Benchmark
+    public double unaryEngine() {
+        return engine.performUnaryOperation(first[index++ & 255], unary);
+    }
+
+    @Benchmark
+    public Double unaryDoubleBackend() {
+        return doubleBackend.performUnaryOperation(first[index++ & 255], unary);
+    }
+
+    @Benchmark
+    public BigDecimal unaryBigDecimalBackend() {
+        return bigDecimalBackend.performUnaryOperation(bigFirst[index++ & 255], unary);
+    }
+}
@@ -0,0 +1,31 @@
+package com.calculator.benchmarks;
+
+import java.util.SplittableRandom;
+
+/**
+ * Reproducible operand arrays for the benchmarks.
+ */
+final class Operands {
+    private static final long SEED = 42;
+
+    private Operands() {
+    }
+
+    static double[] positive(int size, double min, double max) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextDouble(min, max);
+        }
+        return values;
+    }
+
+    static double[] integers(int size, int min, int max) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(min, max + 1);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,60 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import com.calculator.core.ParallelEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded batch evaluation against {@link ParallelEvaluator} on large arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelEvaluatorBenchmark {
+    @Param({"SIN", "LN"})
+    private Operations operation;
+
+    @Param({"4194304"})
+    private int size;
+
+    private final CalculatorEngine engine = new CalculatorEngine();
+    private final ParallelEvaluator parallel = new ParallelEvaluator();
+    private double[] numbers;
+    private double[] result;
+    private long[] errors;
+
+    @Setup
+    public void setUp() {
+        numbers = Operands.positive(size, 0.5, 1000);
+        result = new double[size];
+        errors = new long[(size + 63) / 64];
+    }
+
+    @Benchmark
+    public double[] sequential() {
+        engine.performUnaryOperation(numbers, 0, result, 0, size, operation, errors);
+        return result;
+    }
+
+    @Benchmark
+    public double[] parallel() {
+        parallel.performUnaryOperation(numbers, result, operation, errors);
+        return result;
+    }
+}
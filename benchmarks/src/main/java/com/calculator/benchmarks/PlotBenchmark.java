@@ -0,0 +1,74 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import com.calculator.gui.PlotPanel;
+import com.calculator.plot.FunctionSampler;
+import com.calculator.plot.PlotFunction;
+import com.calculator.plot.SampledCurve;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive sampling of {@code tan} over two turns, and rendering a curve of about a million
+ * points into an 800x600 image with the whole curve or a small part of it in view. Rendering
+ * must stay well under 16 ms for pan and zoom to keep up with 60 fps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PlotBenchmark {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+
+    @Param({"3600", "10"})
+    private double visibleRange;
+
+    private final PlotFunction tan = PlotFunction.of(new CalculatorEngine(), Operations.TAN);
+    private final PlotPanel panel = new PlotPanel();
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SampledCurve curve = new FunctionSampler(tan, 1 << 18, 4, 1 << 23).sample(-3600, 3600, 1e-6);
+        panel.setCurve(curve);
+        panel.setView(-visibleRange, visibleRange, -5, 5);
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public SampledCurve sampleTan() {
+        return new FunctionSampler(tan).sample(-360, 360);
+    }
+
+    @Benchmark
+    public BufferedImage render() {
+        panel.render(graphics, WIDTH, HEIGHT);
+        return image;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import com.calculator.server.CalculatorClient;
+import com.calculator.server.CalculatorServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator for {@link CalculatorServer} over loopback: each invocation pipelines
+ * {@code pipelineDepth} requests on one connection and waits for all the answers, so the time per
+ * request is the score divided by the depth. Run with {@code -t <n>} for {@code n} concurrent
+ * connections. {@code inProcess} is the same work without the network, for comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Server {
+        final CalculatorEngine engine = new CalculatorEngine();
+        CalculatorServer server;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            server = new CalculatorServer(engine, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                    Runtime.getRuntime().availableProcessors(), null);
+            server.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws IOException {
+            server.close();
+        }
+    }
+
+    private static final String[] EXPRESSIONS = {
+            "2 * (3 + sqrt(16))", "sin(30)^2 + cos(30)^2", "log(1000) mod 7", "10 / 4 - 1",
+    };
+
+    @Param({"1", "64", "1024"})
+    private int pipelineDepth;
+
+    private CalculatorEngine engine;
+    private CalculatorClient client;
+    private double operand;
+
+    @Setup(Level.Trial)
+    public void connect(Server server) throws IOException {
+        engine = server.engine;
+        client = CalculatorClient.connect(server.server.getAddress().getPort());
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() throws IOException {
+        client.close();
+    }
+
+    @Benchmark
+    public double operations() throws IOException {
+        for (int i = 0; i < pipelineDepth; i++) {
+            client.send(Operations.SIN, operand++);
+        }
+        double sum = 0;
+        for (int i = 0; i < pipelineDepth; i++) {
+            sum += client.receive();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double expressions() throws IOException {
+        for (int i = 0; i < pipelineDepth; i++) {
+            client.send(EXPRESSIONS[i & 3]);
+        }
+        double sum = 0;
+        for (int i = 0; i < pipelineDepth; i++) {
+            sum += client.receive();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double inProcess() {
+        double sum = 0;
+        for (int i = 0; i < pipelineDepth; i++) {
+            sum += engine.evaluateUnaryOperation(operand++, Operations.SIN);
+        }
+        return sum;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.CalculatorSession;
+import com.calculator.core.Operations;
+import com.calculator.core.SessionStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cost of a logged operation on a persistent session against a plain one, and time to restore a
+ * session whose archive holds the given number of older records.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionStoreBenchmark {
+    @Param({"10000", "1000000"})
+    private int archivedRecords;
+
+    private final CalculatorEngine engine = new CalculatorEngine();
+    private final CalculatorSession plain = new CalculatorSession(engine);
+    private Path directory;
+    private SessionStore store;
+    private CalculatorSession persistent;
+    private SessionStore restored;
+    private double operand;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("session-store");
+        try (SessionStore populate = new SessionStore(directory.resolve("restore"))) {
+            CalculatorSession session = populate.restore(engine);
+            for (int i = 0; i < archivedRecords + 1024; i++) {
+                session.performUnaryOperation(i, Operations.SQUARE);
+            }
+        }
+        store = new SessionStore(directory.resolve("append"));
+        persistent = store.restore(engine);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public double plainOperation() {
+        return plain.performUnaryOperation(operand++, Operations.SQUARE);
+    }
+
+    @Benchmark
+    public double persistentOperation() {
+        return persistent.performUnaryOperation(operand++, Operations.SQUARE);
+    }
+
+    @Benchmark
+    public CalculatorSession restore() throws IOException {
+        restored = new SessionStore(directory.resolve("restore"));
+        return restored.restore(engine);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeRestored() throws IOException {
+        if (restored != null) {
+            restored.close();
+            restored = null;
+        }
+    }
+}
\ No newline at end of file
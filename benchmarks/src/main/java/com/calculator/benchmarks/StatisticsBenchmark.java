@@ -0,0 +1,80 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.ParallelEvaluator;
+import com.calculator.core.stats.StreamingStatistics;
+import com.calculator.core.stats.TDigest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-pass statistics and quantile digests over a dataset, sequentially and in parallel
+ * partitions, against a plain uncompensated sum as the floor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsBenchmark {
+    @Param({"1000000"})
+    private int size;
+
+    private final ParallelEvaluator parallel = new ParallelEvaluator();
+    private double[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = 1e6 + random.nextGaussian() * 1e3;
+        }
+    }
+
+    @Benchmark
+    public double naiveSum() {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double statistics() {
+        StreamingStatistics statistics = new StreamingStatistics();
+        statistics.add(values, 0, values.length);
+        return statistics.getSampleVariance();
+    }
+
+    @Benchmark
+    public double parallelStatistics() {
+        return parallel.statistics(values).getSampleVariance();
+    }
+
+    @Benchmark
+    public double digest() {
+        TDigest digest = new TDigest();
+        digest.add(values, 0, values.length);
+        return digest.quantile(0.99);
+    }
+
+    @Benchmark
+    public double parallelDigest() {
+        return parallel.quantiles(values, TDigest.DEFAULT_COMPRESSION).quantile(0.99);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.calculator.benchmarks;
+
+import com.calculator.cli.LineEvaluator;
+import com.calculator.cli.StreamEvaluator;
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.expression.Expression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-line cost of the headless command-line mode: operation lines, expression lines and value
+ * lines for a fixed formula, streamed from memory to a discarding channel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamEvaluatorBenchmark {
+    private static final int LINES = 10_000;
+    private static final String[] OPERATIONS = {"+", "-", "*", "/", "sin", "cos", "sqrt", "ln"};
+
+    @Param({"OPERATIONS", "EXPRESSIONS", "VALUES"})
+    private String input;
+
+    private byte[] bytes;
+    private LineEvaluator evaluator;
+    private final WritableByteChannel sink = new WritableByteChannel() {
+        @Override
+        public int write(ByteBuffer source) {
+            int written = source.remaining();
+            source.position(source.limit());
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() { return true; }
+
+        @Override
+        public void close() { }
+    };
+
+    @Setup
+    public void setUp() {
+        CalculatorEngine engine = new CalculatorEngine();
+        double[] first = rounded(Operands.positive(LINES, 1, 1000));
+        double[] second = rounded(Operands.positive(LINES + 1, 1, 100));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            switch (input) {
+                case "OPERATIONS":
+                    String operation = OPERATIONS[i % OPERATIONS.length];
+                    text.append(operation).append(' ').append(first[i]);
+                    if (i % OPERATIONS.length < 4) text.append(' ').append(second[i]);
+                    break;
+                case "EXPRESSIONS":
+                    text.append(first[i]).append(" * (").append(second[i]).append(" + sqrt(")
+                            .append(second[i + 1]).append("))");
+                    break;
+                default:
+                    text.append(first[i]).append(',').append(second[i]);
+            }
+            text.append('\n');
+        }
+        bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        evaluator = input.equals("VALUES")
+                ? new LineEvaluator(engine, Expression.parse("sin(x)^2 + log(y)").compile())
+                : new LineEvaluator(engine);
+    }
+
+    /** Rounds to four decimals, like hand-written or exported input. */
+    private static double[] rounded(double[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.round(values[i] * 1e4) / 1e4;
+        }
+        return values;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public long stream() throws IOException {
+        StreamEvaluator stream = new StreamEvaluator(evaluator);
+        stream.run(Channels.newChannel(new ByteArrayInputStream(bytes)), sink);
+        return stream.getLines();
+    }
+}
\ No newline at end of file
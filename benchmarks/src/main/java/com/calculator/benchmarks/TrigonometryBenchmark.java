@@ -0,0 +1,70 @@
+package com.calculator.benchmarks;
+
+import com.calculator.core.AngleUnit;
+import com.calculator.core.Trigonometry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Trigonometry} in degrees, strict and fast, against {@code Math.sin(Math.toRadians(x))},
+ * on small angles and on angles up to 10<sup>7</sup> degrees.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrigonometryBenchmark {
+    @Param({"360", "10000000"})
+    private double range;
+
+    private final Trigonometry strict = Trigonometry.DEGREES;
+    private final Trigonometry fast = new Trigonometry(AngleUnit.DEGREES, Trigonometry.Accuracy.FAST);
+    private final double[] sincos = new double[2];
+    private double[] angles;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        angles = Operands.positive(1024, -range, range);
+    }
+
+    @Benchmark
+    public double mathSin() {
+        return Math.sin(Math.toRadians(angles[index++ & 1023]));
+    }
+
+    @Benchmark
+    public double strictSin() {
+        return strict.sin(angles[index++ & 1023]);
+    }
+
+    @Benchmark
+    public double fastSin() {
+        return fast.sin(angles[index++ & 1023]);
+    }
+
+    @Benchmark
+    public double[] strictSincos() {
+        strict.sincos(angles[index++ & 1023], sincos);
+        return sincos;
+    }
+
+    @Benchmark
+    public double[] fastSincos() {
+        fast.sincos(angles[index++ & 1023], sincos);
+        return sincos;
+    }
+}
\ No newline at end of file
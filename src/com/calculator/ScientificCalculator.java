@@ -1,13 +1,37 @@
 package com.calculator;
 
+import com.calculator.cli.CommandLineCalculator;
+import com.calculator.core.EngineWarmup;
 import com.calculator.gui.CalculatorGUI;
+import com.calculator.gui.StartupBenchmark;
+import com.calculator.server.CalculatorServer;
 import javax.swing.*;
+import java.awt.GraphicsEnvironment;
+import java.util.Arrays;
 
 /**
  * Entry point for the Scientific Calculator application.
+ * <p>
+ * Opens the GUI by default. With {@code --cli}, or when no display is available, it runs the
+ * headless {@link CommandLineCalculator} instead. With {@code --server}, it serves calculations
+ * to other processes through a {@link CalculatorServer}. With {@code --startup-benchmark}, it
+ * measures a cold start of the GUI with {@link StartupBenchmark} and exits.
+ * <p>
+ * The engine is warmed up on a background thread while the GUI is built.
  */
 public class ScientificCalculator {
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> new CalculatorGUI().setVisible(true));
+        if (args.length > 0 && args[0].equals("--cli")) {
+            CommandLineCalculator.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length > 0 && args[0].equals("--server")) {
+            CalculatorServer.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length > 0 && args[0].equals("--startup-benchmark")) {
+            StartupBenchmark.main(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length > 0 || GraphicsEnvironment.isHeadless()) {
+            CommandLineCalculator.main(args);
+        } else {
+            EngineWarmup.start();
+            SwingUtilities.invokeLater(() -> new CalculatorGUI().setVisible(true));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.calculator.cli;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses numbers directly from ASCII bytes, without creating a string per number.
+ */
+final class AsciiNumbers {
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    private AsciiNumbers() {
+    }
+
+    /**
+     * Parses a decimal number such as {@code -12.5e3}.
+     * <p>
+     * Numbers with at most 15 significant digits and a decimal exponent within ±22 are converted
+     * with a single correctly rounded multiplication or division, since both the digits and the
+     * power of ten are exact doubles. Anything else, including {@code NaN} and {@code Infinity},
+     * is handed to {@link Double#parseDouble(String)}, so the result is always the same as that
+     * method's.
+     *
+     * @param bytes the input
+     * @param from  index of the first character
+     * @param to    index after the last character
+     * @return the parsed value
+     * @throws NumberFormatException if the text is not a number
+     */
+    static double parseDouble(byte[] bytes, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean anyDigits = false;
+        for (; i < to && isDigit(bytes[i]); i++) {
+            anyDigits = true;
+            mantissa = mantissa * 10 + (bytes[i] - '0');
+            if (mantissa != 0) significantDigits++;
+            if (significantDigits > MAX_EXACT_DIGITS) return parseSlowly(bytes, from, to);
+        }
+        if (i < to && bytes[i] == '.') {
+            for (i++; i < to && isDigit(bytes[i]); i++) {
+                anyDigits = true;
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                if (mantissa != 0) significantDigits++;
+                if (significantDigits > MAX_EXACT_DIGITS) return parseSlowly(bytes, from, to);
+                exponent--;
+            }
+        }
+        if (!anyDigits) return parseSlowly(bytes, from, to);
+        if (i < to && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i] == '-';
+                i++;
+            }
+            int start = i;
+            int explicit = 0;
+            for (; i < to && isDigit(bytes[i]) && explicit < 1000; i++) {
+                explicit = explicit * 10 + (bytes[i] - '0');
+            }
+            if (i == start) return parseSlowly(bytes, from, to);
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (i != to) return parseSlowly(bytes, from, to);
+        double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (exponent == 0) {
+            value = mantissa;
+        } else if (exponent > 0 && exponent < POWERS_OF_TEN.length) {
+            value = mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            value = mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return parseSlowly(bytes, from, to);
+        }
+        return negative ? -value : value;
+    }
+
+    static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == ',' || b == '\r';
+    }
+
+    private static double parseSlowly(byte[] bytes, int from, int to) {
+        return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.ISO_8859_1));
+    }
+}
\ No newline at end of file
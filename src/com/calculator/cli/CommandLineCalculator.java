@@ -0,0 +1,122 @@
+package com.calculator.cli;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.expression.CompiledExpression;
+import com.calculator.core.expression.Expression;
+import com.calculator.core.metrics.EngineMetrics;
+import com.calculator.core.metrics.MeteredCalculatorEngine;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Headless calculator that evaluates lines from stdin or a file and prints results to stdout.
+ * <p>
+ * Usage: {@code [--expression <formula>] [--metrics] [file | -]}. See {@link LineEvaluator} for
+ * the line format. When the run ends, the number of lines, errors and the throughput are printed
+ * to stderr so they do not mix with the results. With {@code --metrics}, engine metrics are
+ * published over JMX during the run and summarized on stderr at the end.
+ */
+public final class CommandLineCalculator {
+
+    private CommandLineCalculator() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.err));
+    }
+
+    /**
+     * Runs the calculator with the given arguments.
+     *
+     * @param args    the command-line arguments, without {@code --cli}
+     * @param console where usage errors and the throughput report are printed
+     * @return the process exit code
+     */
+    public static int run(String[] args, PrintStream console) {
+        String formula = null;
+        String file = null;
+        boolean metered = false;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--expression") && i + 1 < args.length) {
+                formula = args[++i];
+            } else if (arg.equals("--metrics")) {
+                metered = true;
+            } else if (arg.startsWith("--")) {
+                console.println("Usage: --cli [--expression <formula>] [--metrics] [file | -]");
+                return 2;
+            } else {
+                file = arg;
+            }
+        }
+
+        CalculatorEngine engine = new CalculatorEngine();
+        EngineMetrics metrics = null;
+        if (metered) {
+            metrics = new EngineMetrics();
+            metrics.setEnabled(true);
+            metrics.register("cli");
+            engine = new MeteredCalculatorEngine(engine, metrics);
+        }
+        LineEvaluator evaluator;
+        try {
+            if (formula == null) {
+                evaluator = new LineEvaluator(engine);
+            } else {
+                CompiledExpression compiled = Expression.parse(formula).compile();
+                evaluator = new LineEvaluator(engine, compiled);
+            }
+        } catch (IllegalArgumentException e) {
+            console.println("Error: " + e.getMessage());
+            return 2;
+        }
+
+        StreamEvaluator stream = new StreamEvaluator(evaluator);
+        long start = System.nanoTime();
+        try (ReadableByteChannel in = open(file);
+             WritableByteChannel out = new FileOutputStream(FileDescriptor.out).getChannel()) {
+            stream.run(in, out);
+        } catch (NoSuchFileException e) {
+            console.println("Error: No such file " + e.getFile());
+            return 1;
+        } catch (IOException e) {
+            console.println("Error: " + e.getMessage());
+            return 1;
+        }
+        report(stream, System.nanoTime() - start, console);
+        if (metrics != null) reportMetrics(metrics, console);
+        return 0;
+    }
+
+    private static ReadableByteChannel open(String file) throws IOException {
+        if (file == null || file.equals("-")) return new FileInputStream(FileDescriptor.in).getChannel();
+        return FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+    }
+
+    private static void report(StreamEvaluator stream, long nanos, PrintStream console) {
+        double seconds = Math.max(nanos, 1) / 1e9;
+        console.printf(Locale.ROOT, "%d lines (%d errors) in %.3f s: %.0f lines/s, %.1f MB/s%n",
+                stream.getLines(), stream.getErrors(), seconds,
+                stream.getLines() / seconds, stream.getBytesRead() / seconds / 1e6);
+    }
+
+    private static void reportMetrics(EngineMetrics metrics, PrintStream console) {
+        metrics.getLatencies().forEach((operation, latency) -> console.printf(Locale.ROOT,
+                "%-10s %10d calls %8d errors  p50 %6d ns  p99 %8d ns  max %10d ns%n",
+                operation, metrics.getCalls(operation), metrics.getErrors(operation),
+                latency.getValueAtQuantile(0.5), latency.getValueAtQuantile(0.99), latency.getMax()));
+        metrics.getErrorsByMessage().forEach((message, count) -> console.printf(Locale.ROOT,
+                "%10d x %s%n", count, message));
+    }
+}
\ No newline at end of file
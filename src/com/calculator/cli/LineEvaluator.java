@@ -0,0 +1,265 @@
+package com.calculator.cli;
+
+import com.calculator.core.CalculationStatus;
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import com.calculator.core.ResultFormatter;
+import com.calculator.core.expression.CompiledExpression;
+import com.calculator.core.expression.Expression;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Evaluates one line of text input and writes the formatted result line.
+ * <p>
+ * Without a formula, a line is either an operation followed by its operands, such as
+ * {@code sin 30} or {@code + 2 3}, or an expression such as {@code 2 * (3 + sqrt(16))}.
+ * Operation lines are parsed straight from the input bytes; only expression lines are decoded
+ * into a string. With a formula, each line holds the values of its variables, separated by
+ * spaces or commas, and the compiled formula is evaluated against them.
+ * <p>
+ * Blank lines and lines starting with {@code #} produce no output. An invalid line produces
+ * {@code Error: <message>} and does not stop the run. Instances keep scratch state and are not
+ * thread-safe.
+ */
+public final class LineEvaluator {
+
+    /**
+     * The most bytes a single call to {@link #evaluate} writes, including the line terminator.
+     */
+    public static final int MAX_OUTPUT_LENGTH = 512;
+
+    private static final double[] NO_VALUES = new double[0];
+    private static final byte[] ERROR_PREFIX = "Error: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[][] NAMES;
+    private static final Operations[] NAMED_OPERATIONS;
+
+    static {
+        Map<String, Operations> names = new HashMap<>();
+        for (Operations operation : Operations.values()) {
+            names.put(operation.name().toLowerCase(Locale.ROOT), operation);
+        }
+        names.put("+", Operations.ADD);
+        names.put("-", Operations.SUBTRACT);
+        names.put("*", Operations.MULTIPLY);
+        names.put("x", Operations.MULTIPLY);
+        names.put("/", Operations.DIVIDE);
+        names.put("%", Operations.MODULUS);
+        names.put("mod", Operations.MODULUS);
+        names.put("^", Operations.POWER);
+        names.put("x^y", Operations.POWER);
+        names.put("exp", Operations.EXP);
+        names.put("x²", Operations.SQUARE);
+        names.put("sqr", Operations.SQUARE);
+        names.put("1/x", Operations.RECIPROCAL);
+        names.put("recip", Operations.RECIPROCAL);
+        names.put("√", Operations.SQRT);
+        names.put("+/-", Operations.NEGATE);
+        names.put("!", Operations.FACTORIAL);
+        names.put("x!", Operations.FACTORIAL);
+        names.put("fact", Operations.FACTORIAL);
+        names.put("π", Operations.PI);
+        names.put("10^x", Operations.TEN_POWER);
+        names.put("abs", Operations.ABSOLUTE);
+        names.put("|x|", Operations.ABSOLUTE);
+
+        NAMES = new byte[names.size()][];
+        NAMED_OPERATIONS = new Operations[names.size()];
+        int i = 0;
+        for (Map.Entry<String, Operations> entry : names.entrySet()) {
+            NAMES[i] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            NAMED_OPERATIONS[i] = entry.getValue();
+            i++;
+        }
+    }
+
+    /**
+     * What a call to {@link #evaluate} produced.
+     */
+    public enum Outcome {
+        /** A result line was written. */
+        RESULT,
+        /** An error line was written. */
+        ERROR,
+        /** The line was blank or a comment and nothing was written. */
+        SKIPPED
+    }
+
+    private final CalculatorEngine engine;
+    private final CompiledExpression formula;
+    private final double[] values;
+    private final double[] operands = new double[2];
+    private final Map<String, byte[]> encodedMessages = new HashMap<>();
+
+    /**
+     * Creates an evaluator for operation and expression lines.
+     *
+     * @param engine the engine that performs operations
+     */
+    public LineEvaluator(CalculatorEngine engine) {
+        this.engine = engine;
+        this.formula = null;
+        this.values = null;
+    }
+
+    /**
+     * Creates an evaluator for lines of variable values.
+     *
+     * @param engine  the engine that performs operations
+     * @param formula the formula evaluated for every line
+     */
+    public LineEvaluator(CalculatorEngine engine, CompiledExpression formula) {
+        this.engine = engine;
+        this.formula = formula;
+        this.values = new double[formula.getVariables().size()];
+    }
+
+    /**
+     * Evaluates {@code line[from, to)} and writes the result or error followed by {@code '\n'}.
+     *
+     * @param line the input bytes, UTF-8 encoded, without the line terminator
+     * @param from index of the first byte of the line
+     * @param to   index after the last byte of the line
+     * @param out  the destination; must have at least {@link #MAX_OUTPUT_LENGTH} bytes remaining
+     * @return what was written
+     */
+    public Outcome evaluate(byte[] line, int from, int to, ByteBuffer out) {
+        while (from < to && isBlank(line[from])) from++;
+        while (to > from && isBlank(line[to - 1])) to--;
+        if (from == to || line[from] == '#') return Outcome.SKIPPED;
+
+        double result;
+        try {
+            result = formula != null ? evaluateValues(line, from, to) : evaluateLine(line, from, to);
+        } catch (NumberFormatException e) {
+            writeError("Invalid Input", out);
+            return Outcome.ERROR;
+        } catch (ArithmeticException | IllegalArgumentException e) {
+            writeError(e.getMessage(), out);
+            return Outcome.ERROR;
+        } catch (RuntimeException e) {
+            // Whatever goes wrong with one line, the lines after it are still evaluated
+            writeError(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName(), out);
+            return Outcome.ERROR;
+        }
+        CalculationStatus status = CalculationStatus.of(result);
+        if (status.isError()) {
+            writeError(status.getMessage(), out);
+            return Outcome.ERROR;
+        }
+        ResultFormatter.format(result, out);
+        out.put((byte) '\n');
+        return Outcome.RESULT;
+    }
+
+    private double evaluateLine(byte[] line, int from, int to) {
+        int nameEnd = from;
+        while (nameEnd < to && !AsciiNumbers.isSeparator(line[nameEnd])) nameEnd++;
+        Operations operation = lookup(line, from, nameEnd);
+        if (operation == null) {
+            String source = new String(line, from, to - from, StandardCharsets.UTF_8);
+            CompiledExpression expression = Expression.parse(source).compile();
+            expression.requireNoVariables();
+            return expression.evaluate(NO_VALUES);
+        }
+        int count = parseNumbers(line, nameEnd, to, operands);
+        int expected = arity(operation);
+        if (count != expected) {
+            throw new IllegalArgumentException(operation.name().toLowerCase(Locale.ROOT) + " expects "
+                    + expected + (expected == 1 ? " operand" : " operands"));
+        }
+        // The status-returning methods keep invalid input, often a large share of a bad stream,
+        // from paying for an exception per line.
+        return expected == 2
+                ? engine.evaluateBinaryOperation(operands[0], operands[1], operation)
+                : engine.evaluateUnaryOperation(operands[0], operation);
+    }
+
+    private double evaluateValues(byte[] line, int from, int to) {
+        int count = parseNumbers(line, from, to, values);
+        if (count != values.length) {
+            throw new IllegalArgumentException("Expected " + values.length + " values but found " + count);
+        }
+        return formula.evaluate(values);
+    }
+
+    /**
+     * Parses separated numbers into {@code into}, returning how many there were. Numbers beyond
+     * the array's length are counted but not stored.
+     */
+    private static int parseNumbers(byte[] line, int from, int to, double[] into) {
+        int count = 0;
+        int i = from;
+        while (true) {
+            while (i < to && AsciiNumbers.isSeparator(line[i])) i++;
+            if (i == to) return count;
+            int start = i;
+            while (i < to && !AsciiNumbers.isSeparator(line[i])) i++;
+            if (count < into.length) into[count] = AsciiNumbers.parseDouble(line, start, i);
+            count++;
+        }
+    }
+
+    private static Operations lookup(byte[] line, int from, int to) {
+        int length = to - from;
+        for (int i = 0; i < NAMES.length; i++) {
+            byte[] name = NAMES[i];
+            if (name.length == length && matches(name, line, from)) return NAMED_OPERATIONS[i];
+        }
+        return null;
+    }
+
+    private static boolean matches(byte[] name, byte[] line, int from) {
+        for (int i = 0; i < name.length; i++) {
+            byte b = line[from + i];
+            if (b >= 'A' && b <= 'Z') b += 'a' - 'A';
+            if (b != name[i]) return false;
+        }
+        return true;
+    }
+
+    private static int arity(Operations operation) {
+        switch (operation) {
+            case ADD:
+            case SUBTRACT:
+            case MULTIPLY:
+            case DIVIDE:
+            case MODULUS:
+            case POWER:
+                return 2;
+            case PI:
+                return 0;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Writes {@code Error: <message>} followed by {@code '\n'}, for callers that reject a line
+     * themselves.
+     *
+     * @param message the message, or {@code null} for a generic one
+     * @param out     the destination; must have at least {@link #MAX_OUTPUT_LENGTH} bytes remaining
+     * @return {@link Outcome#ERROR}
+     */
+    public Outcome writeError(String message, ByteBuffer out) {
+        if (message == null) message = "Error";
+        byte[] encoded = encodedMessages.get(message);
+        if (encoded == null) {
+            encoded = message.getBytes(StandardCharsets.UTF_8);
+            if (encodedMessages.size() < 1024) encodedMessages.put(message, encoded);
+        }
+        out.put(ERROR_PREFIX);
+        out.put(encoded, 0, Math.min(encoded.length, MAX_OUTPUT_LENGTH - ERROR_PREFIX.length - 1));
+        out.put((byte) '\n');
+        return Outcome.ERROR;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.calculator.cli;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Streams lines from a channel through a {@link LineEvaluator} and writes the results to another
+ * channel.
+ * <p>
+ * Input is read in fixed-size chunks and lines are evaluated in place inside the read buffer, so
+ * memory use does not depend on the input size. The buffer only grows when a single line is
+ * longer than it.
+ */
+public final class StreamEvaluator {
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final LineEvaluator evaluator;
+    private long lines;
+    private long errors;
+    private long bytesRead;
+
+    public StreamEvaluator(LineEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Evaluates every line of {@code in} and writes one output line per evaluated input line.
+     * Lines end with {@code \n} or {@code \r\n}; the last line does not need a terminator.
+     *
+     * @param in  the input
+     * @param out the output
+     * @throws IOException if reading or writing fails
+     */
+    public void run(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        ByteBuffer input = ByteBuffer.allocate(BUFFER_SIZE);
+        ByteBuffer output = ByteBuffer.allocate(BUFFER_SIZE);
+        int lineStart = 0;
+        int scanFrom = 0;
+        try {
+            while (true) {
+                int read = in.read(input);
+                if (read > 0) bytesRead += read;
+                byte[] data = input.array();
+                int limit = input.position();
+                for (int i = scanFrom; i < limit; i++) {
+                    if (data[i] == '\n') {
+                        evaluate(data, lineStart, i, output, out);
+                        lineStart = i + 1;
+                    }
+                }
+                if (read < 0) {
+                    if (lineStart < limit) evaluate(data, lineStart, limit, output, out);
+                    break;
+                }
+                if (lineStart == 0 && limit == data.length) {
+                    ByteBuffer larger = ByteBuffer.allocate(data.length * 2);
+                    larger.put(data, 0, limit);
+                    input = larger;
+                } else if (lineStart > 0) {
+                    System.arraycopy(data, lineStart, data, 0, limit - lineStart);
+                    input.position(limit - lineStart);
+                }
+                scanFrom = input.position();
+                lineStart = 0;
+            }
+        } finally {
+            // Results of the lines before a failure are still written
+            flush(output, out);
+        }
+    }
+
+    private void evaluate(byte[] data, int from, int to, ByteBuffer output, WritableByteChannel out)
+            throws IOException {
+        if (output.remaining() < LineEvaluator.MAX_OUTPUT_LENGTH) flush(output, out);
+        LineEvaluator.Outcome outcome = evaluator.evaluate(data, from, to, output);
+        if (outcome == LineEvaluator.Outcome.SKIPPED) return;
+        lines++;
+        if (outcome == LineEvaluator.Outcome.ERROR) errors++;
+    }
+
+    private static void flush(ByteBuffer output, WritableByteChannel out) throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            out.write(output);
+        }
+        output.clear();
+    }
+
+    /** Returns the number of lines evaluated so far, excluding blank and comment lines. */
+    public long getLines() { return lines; }
+
+    /** Returns the number of evaluated lines that produced an error. */
+    public long getErrors() { return errors; }
+
+    /** Returns the number of input bytes read so far. */
+    public long getBytesRead() { return bytesRead; }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.calculator.core;
+
+/**
+ * Unit in which angles are given to {@link Trigonometry}.
+ */
+public enum AngleUnit {
+    DEGREES(90, "degrees"),
+    RADIANS(Math.PI / 2, "radians"),
+    GRADIANS(100, "gradians");
+
+    private final double quarterTurn;
+    private final String label;
+
+    AngleUnit(double quarterTurn, String label) {
+        this.quarterTurn = quarterTurn;
+        this.label = label;
+    }
+
+    /**
+     * Returns the size of a right angle in this unit: 90, π/2 or 100.
+     *
+     * @return the quarter turn
+     */
+    public double getQuarterTurn() { return quarterTurn; }
+
+    /**
+     * Converts an angle in this unit to radians.
+     *
+     * @param angle the angle
+     * @return the angle in radians
+     */
+    public double toRadians(double angle) {
+        switch (this) {
+            case DEGREES: return Math.toRadians(angle);
+            case GRADIANS: return angle * (Math.PI / 200);
+            default: return angle;
+        }
+    }
+
+    @Override
+    public String toString() { return label; }
+}
\ No newline at end of file
@@ -0,0 +1,248 @@
+package com.calculator.core;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * {@link CalculatorEngine} that memoizes the results of expensive scalar operations.
+ * <p>
+ * Results are keyed on the operation and the raw bits of the operands, and stored in primitive
+ * arrays, so neither a lookup nor an insert boxes. The cache is split into independently locked
+ * segments. Each segment is a set-associative table: a key hashes to one set of
+ * {@value #WAYS} slots, and when the set is full the CLOCK algorithm evicts a slot that has not
+ * been hit since the hand last passed it. Lookups take an optimistic read stamp and only fall
+ * back to a read lock when a writer interferes, so concurrent hits do not block each other.
+ * <p>
+ * Only the operations given at construction are cached; by default these are the ones that cost
+ * more than a lookup (trigonometry, logarithms, powers and factorials). Invalid operations are
+ * cached as their status-boxed NaN, so repeated bad input is cheap too. The batch methods bypass
+ * the cache, since their loops cost less per element than a lookup.
+ */
+public class CachingCalculatorEngine extends CalculatorEngine {
+    /** The operations cached by default. */
+    public static final Set<Operations> EXPENSIVE_OPERATIONS = EnumSet.of(
+            Operations.POWER, Operations.SIN, Operations.COS, Operations.TAN, Operations.LOG,
+            Operations.LN, Operations.EXP, Operations.TEN_POWER, Operations.FACTORIAL);
+
+    /** Bytes used per cached result: four longs plus a CLOCK reference flag. */
+    public static final int BYTES_PER_ENTRY = 4 * Long.BYTES + 1;
+
+    private static final int WAYS = 8;
+    private static final int SEGMENTS = 16;
+    private static final int FIELDS = 4;
+
+    private final CalculatorEngine delegate;
+    private final boolean[] cached;
+    private final Segment[] segments;
+    private final int setMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache of about 4 MiB over a new engine, caching {@link #EXPENSIVE_OPERATIONS}.
+     */
+    public CachingCalculatorEngine() {
+        this(new CalculatorEngine(), 4L << 20, EXPENSIVE_OPERATIONS);
+    }
+
+    /**
+     * Creates a caching engine.
+     *
+     * @param delegate   the engine that computes missing results
+     * @param maxBytes   upper bound on the memory used by cached results
+     * @param operations the operations to cache
+     * @throws IllegalArgumentException if {@code maxBytes} is too small for one set per segment
+     */
+    public CachingCalculatorEngine(CalculatorEngine delegate, long maxBytes, Set<Operations> operations) {
+        long setsPerSegment = maxBytes / ((long) BYTES_PER_ENTRY * WAYS * SEGMENTS);
+        if (setsPerSegment < 1) {
+            throw new IllegalArgumentException("Cache needs at least "
+                    + (long) BYTES_PER_ENTRY * WAYS * SEGMENTS + " bytes: " + maxBytes);
+        }
+        int sets = Integer.highestOneBit((int) Math.min(setsPerSegment, 1 << 24));
+        this.delegate = delegate;
+        this.setMask = sets - 1;
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(sets);
+        }
+        this.cached = new boolean[Operations.values().length];
+        for (Operations operation : operations) {
+            cached[operation.ordinal()] = true;
+        }
+    }
+
+    @Override
+    public double evaluateBinaryOperation(double first, double second, Operations operator) {
+        if (!cached[operator.ordinal()]) return delegate.evaluateBinaryOperation(first, second, operator);
+        long a = Double.doubleToRawLongBits(first);
+        long b = Double.doubleToRawLongBits(second);
+        long hash = hash(operator.ordinal(), a, b);
+        Segment segment = segments[(int) hash & (SEGMENTS - 1)];
+        int set = (int) (hash >>> 32) & setMask;
+        long tag = operator.ordinal() + 1;
+        long found = segment.get(set, tag, a, b);
+        if (found != Segment.MISSING) {
+            hits.increment();
+            return Double.longBitsToDouble(found);
+        }
+        misses.increment();
+        double result = delegate.evaluateBinaryOperation(first, second, operator);
+        if (segment.put(set, tag, a, b, Double.doubleToRawLongBits(result))) evictions.increment();
+        return result;
+    }
+
+    @Override
+    public double evaluateUnaryOperation(double number, Operations operator) {
+        if (!cached[operator.ordinal()]) return delegate.evaluateUnaryOperation(number, operator);
+        long a = Double.doubleToRawLongBits(number);
+        long hash = hash(operator.ordinal(), a, 0);
+        Segment segment = segments[(int) hash & (SEGMENTS - 1)];
+        int set = (int) (hash >>> 32) & setMask;
+        long tag = operator.ordinal() + 1;
+        long found = segment.get(set, tag, a, 0);
+        if (found != Segment.MISSING) {
+            hits.increment();
+            return Double.longBitsToDouble(found);
+        }
+        misses.increment();
+        double result = delegate.evaluateUnaryOperation(number, operator);
+        if (segment.put(set, tag, a, 0, Double.doubleToRawLongBits(result))) evictions.increment();
+        return result;
+    }
+
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+
+    /**
+     * Returns the fraction of lookups that were hits, or 0 if there were none.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /** Returns the number of results the cache can hold. */
+    public int getCapacity() {
+        return SEGMENTS * (setMask + 1) * WAYS;
+    }
+
+    /** Removes every cached result and resets the counters. */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    private static long hash(int operation, long a, long b) {
+        long h = a * 0x9E3779B97F4A7C15L + b;
+        h = (h ^ (h >>> 32) ^ operation) * 0xD6E8FEB86659FD93L;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * One independently locked part of the cache. Slot {@code i} occupies
+     * {@code entries[i * 4 .. i * 4 + 3]} as tag, first operand, second operand and result bits;
+     * a tag of 0 marks an empty slot.
+     */
+    private static final class Segment extends StampedLock {
+        /** Returned by {@link #get} for a miss. A result with these bits is simply never a hit. */
+        static final long MISSING = 0x7FF8DEADBEEFCAFEL;
+
+        private final long[] entries;
+        private final byte[] referenced;
+        private final byte[] hands;
+
+        Segment(int sets) {
+            entries = new long[sets * WAYS * FIELDS];
+            referenced = new byte[sets * WAYS];
+            hands = new byte[sets];
+        }
+
+        long get(int set, long tag, long a, long b) {
+            long stamp = tryOptimisticRead();
+            int slot = find(set, tag, a, b);
+            long result = slot < 0 ? MISSING : entries[slot * FIELDS + 3];
+            if (!validate(stamp)) {
+                stamp = readLock();
+                try {
+                    slot = find(set, tag, a, b);
+                    result = slot < 0 ? MISSING : entries[slot * FIELDS + 3];
+                } finally {
+                    unlockRead(stamp);
+                }
+            }
+            // A lost update here only makes the entry look colder than it is.
+            if (slot >= 0 && referenced[slot] == 0) referenced[slot] = 1;
+            return result;
+        }
+
+        /**
+         * Inserts a result, returning whether another entry was evicted to make room.
+         */
+        boolean put(int set, long tag, long a, long b, long result) {
+            if (result == MISSING) return false;
+            long stamp = writeLock();
+            try {
+                if (find(set, tag, a, b) >= 0) return false;
+                int first = set * WAYS;
+                for (int slot = first; slot < first + WAYS; slot++) {
+                    if (entries[slot * FIELDS] == 0) {
+                        store(slot, tag, a, b, result);
+                        return false;
+                    }
+                }
+                int hand = hands[set];
+                while (referenced[first + hand] != 0) {
+                    referenced[first + hand] = 0;
+                    hand = (hand + 1) & (WAYS - 1);
+                }
+                store(first + hand, tag, a, b, result);
+                hands[set] = (byte) ((hand + 1) & (WAYS - 1));
+                return true;
+            } finally {
+                unlockWrite(stamp);
+            }
+        }
+
+        void clear() {
+            long stamp = writeLock();
+            try {
+                Arrays.fill(entries, 0);
+                Arrays.fill(referenced, (byte) 0);
+                Arrays.fill(hands, (byte) 0);
+            } finally {
+                unlockWrite(stamp);
+            }
+        }
+
+        private int find(int set, long tag, long a, long b) {
+            int first = set * WAYS;
+            for (int slot = first; slot < first + WAYS; slot++) {
+                int i = slot * FIELDS;
+                if (entries[i] == tag && entries[i + 1] == a && entries[i + 2] == b) return slot;
+            }
+            return -1;
+        }
+
+        private void store(int slot, long tag, long a, long b, long result) {
+            int i = slot * FIELDS;
+            entries[i] = tag;
+            entries[i + 1] = a;
+            entries[i + 2] = b;
+            entries[i + 3] = result;
+            referenced[slot] = 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.calculator.core;
+
+/**
+ * Exception the throwing API raises for a calculation error, carrying its
+ * {@link CalculationStatus} so that callers can box it again without parsing the message.
+ */
+public class CalculationException extends ArithmeticException {
+    private final transient CalculationStatus status;
+
+    CalculationException(CalculationStatus status) {
+        super(status.getMessage());
+        this.status = status;
+    }
+
+    /**
+     * Returns the status of the failed calculation.
+     *
+     * @return the error status
+     */
+    public CalculationStatus getStatus() { return status; }
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+package com.calculator.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Fixed-capacity history of calculations, stored as structured records rather than text.
+ * <p>
+ * Records live in parallel primitive arrays used as a ring buffer, so adding a record never
+ * allocates and a full history overwrites its oldest record. If a {@link HistorySpillFile} is
+ * attached, each record is appended to it just before it is overwritten, which keeps the full
+ * audit trail on disk while the heap stays bounded. Like {@link CalculatorSession}, a history is
+ * confined to one thread at a time.
+ */
+public class CalculationHistory {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final Operations[] OPERATIONS = Operations.values();
+
+    /**
+     * Receives records in order, oldest first.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * Accepts one record.
+         *
+         * @param operation the operation
+         * @param first     the first (or only) operand
+         * @param second    the second operand, or NaN for a unary operation
+         * @param result    the result
+         */
+        void accept(Operations operation, double first, double second, double result);
+    }
+
+    private final double[] firsts;
+    private final double[] seconds;
+    private final double[] results;
+    private final byte[] operations;
+    private final HistorySpillFile spill;
+    private long count;
+
+    public CalculationHistory() {
+        this(DEFAULT_CAPACITY, null);
+    }
+
+    /**
+     * Creates a history.
+     *
+     * @param capacity the number of records kept in memory
+     * @param spill    the file evicted records are appended to, or {@code null} to drop them
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public CalculationHistory(int capacity, HistorySpillFile spill) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        this.firsts = new double[capacity];
+        this.seconds = new double[capacity];
+        this.results = new double[capacity];
+        this.operations = new byte[capacity];
+        this.spill = spill;
+    }
+
+    /**
+     * Records a binary operation.
+     *
+     * @param first     the first operand
+     * @param second    the second operand
+     * @param operation the operation
+     * @param result    the result
+     * @throws UncheckedIOException if the evicted record cannot be written to the spill file
+     */
+    public void add(double first, double second, Operations operation, double result) {
+        int slot = (int) (count % firsts.length);
+        if (count >= firsts.length && spill != null) {
+            try {
+                spill.append(OPERATIONS[operations[slot]], firsts[slot], seconds[slot], results[slot]);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        firsts[slot] = first;
+        seconds[slot] = second;
+        results[slot] = result;
+        operations[slot] = (byte) operation.ordinal();
+        count++;
+    }
+
+    /**
+     * Records a unary operation.
+     *
+     * @param operand   the operand
+     * @param operation the operation
+     * @param result    the result
+     */
+    public void add(double operand, Operations operation, double result) {
+        add(operand, Double.NaN, operation, result);
+    }
+
+    /** Returns the number of records held in memory. */
+    public int size() {
+        return (int) Math.min(count, firsts.length);
+    }
+
+    public int getCapacity() { return firsts.length; }
+
+    /** Returns the number of records ever added, including evicted ones. */
+    public long getTotalCount() { return count; }
+
+    public Operations getOperation(int index) { return OPERATIONS[operations[slot(index)]]; }
+    public double getFirst(int index) { return firsts[slot(index)]; }
+    public double getSecond(int index) { return seconds[slot(index)]; }
+    public double getResult(int index) { return results[slot(index)]; }
+
+    /** Returns whether the record at {@code index} is a binary operation. */
+    public boolean isBinary(int index) {
+        return isBinary(getOperation(index));
+    }
+
+    /**
+     * Describes a record the way the calculator displays it, e.g. {@code 2.0 ADD 3.0 = 5}.
+     *
+     * @param index the record index, 0 being the oldest record in memory
+     * @return the description
+     * @throws IndexOutOfBoundsException if the index is not below {@link #size()}
+     */
+    public String describe(int index) {
+        int slot = slot(index);
+        Operations operation = OPERATIONS[operations[slot]];
+        String formatted = ResultFormatter.format(results[slot]);
+        if (isBinary(index)) {
+            return firsts[slot] + " " + operation + " " + seconds[slot] + " = " + formatted;
+        }
+        return CalculatorSession.describeUnary(operation, firsts[slot]) + " = " + formatted;
+    }
+
+    /**
+     * Visits the records held in memory, oldest first.
+     *
+     * @param visitor the visitor
+     */
+    public void forEach(Visitor visitor) {
+        for (int i = 0, size = size(); i < size; i++) {
+            int slot = slot(i);
+            visitor.accept(OPERATIONS[operations[slot]], firsts[slot], seconds[slot], results[slot]);
+        }
+    }
+
+    /** Removes all records from memory. Records already spilled stay on disk. */
+    public void clear() {
+        count = 0;
+    }
+
+    public HistorySpillFile getSpillFile() { return spill; }
+
+    /**
+     * Restores the total count of a history whose records held in memory have just been re-added,
+     * oldest first, to an empty history of the same capacity. The records are moved to the slots
+     * they would occupy had all {@code totalCount} records been added.
+     *
+     * @param totalCount the total count before the restart
+     * @throws IllegalStateException if the records held do not match the total count
+     */
+    void restoreTotalCount(long totalCount) {
+        int size = size();
+        if (count != size || Math.min(totalCount, firsts.length) != size) {
+            throw new IllegalStateException("Cannot restore count " + totalCount + " with " + size + " records");
+        }
+        int shift = (int) ((totalCount - size) % firsts.length);
+        if (shift != 0) {
+            rotate(firsts, shift);
+            rotate(seconds, shift);
+            rotate(results, shift);
+            byte[] copy = operations.clone();
+            for (int i = 0; i < copy.length; i++) operations[(i + shift) % operations.length] = copy[i];
+        }
+        count = totalCount;
+    }
+
+    private static void rotate(double[] values, int shift) {
+        double[] copy = values.clone();
+        for (int i = 0; i < copy.length; i++) values[(i + shift) % values.length] = copy[i];
+    }
+
+    static boolean isBinary(Operations operation) {
+        switch (operation) {
+            case ADD:
+            case SUBTRACT:
+            case MULTIPLY:
+            case DIVIDE:
+            case MODULUS:
+            case POWER:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private int slot(int index) {
+        int size = size();
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        return (int) ((count - size + index) % firsts.length);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.calculator.core;
+
+/**
+ * Reusable holder for a result and its {@link CalculationStatus}.
+ * <p>
+ * Keep one holder per thread or per loop and pass it to
+ * {@link CalculatorEngine#performBinaryOperation(double, double, Operations, CalculationResult)}
+ * and the unary counterpart to evaluate without allocating or throwing.
+ */
+public final class CalculationResult {
+    private double value;
+    private CalculationStatus status = CalculationStatus.OK;
+
+    /**
+     * Stores a result returned by one of the engine's {@code evaluate} methods, decoding its
+     * status.
+     *
+     * @param result the result or status-boxed NaN
+     * @return the decoded status
+     */
+    public CalculationStatus set(double result) {
+        this.value = result;
+        this.status = CalculationStatus.of(result);
+        return status;
+    }
+
+    public boolean isOk() { return status == CalculationStatus.OK; }
+    public CalculationStatus getStatus() { return status; }
+
+    /**
+     * Returns the value, which is a status-boxed NaN if the calculation failed.
+     *
+     * @return the value
+     */
+    public double getValue() { return value; }
+
+    /**
+     * Returns the value, throwing if the calculation failed.
+     *
+     * @return the value
+     * @throws ArithmeticException if the status is an error
+     */
+    public double getValueOrThrow() {
+        if (status != CalculationStatus.OK) throw status.toException();
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return status == CalculationStatus.OK ? ResultFormatter.format(value) : "Error: " + status.getMessage();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.calculator.core;
+
+/**
+ * Outcome of a calculation, for callers that handle domain errors without exceptions.
+ * <p>
+ * Every error status has a NaN encoding: a quiet NaN whose payload carries a tag and the status.
+ * {@link CalculatorEngine#evaluateBinaryOperation} and the batch methods return these NaNs in
+ * place of a result, and {@link #of(double)} decodes them without allocating. Ordinary NaN
+ * results, e.g. {@code sin} of infinity, are not errors and decode as {@link #OK}.
+ * <p>
+ * Decode a boxed NaN directly from the value the engine returned. Whether further arithmetic
+ * preserves the payload depends on the hardware, so a boxed NaN used as an operand may come out
+ * as either a boxed or a plain NaN.
+ */
+public enum CalculationStatus {
+    OK(null),
+    DIVISION_BY_ZERO("Division by zero"),
+    MODULUS_BY_ZERO("Modulus by zero"),
+    LOGARITHM_OF_NON_POSITIVE("Logarithm of non-positive number"),
+    NATURAL_LOGARITHM_OF_NON_POSITIVE("Natural logarithm of non-positive number"),
+    RECIPROCAL_OF_ZERO("Reciprocal of zero"),
+    SQUARE_ROOT_OF_NEGATIVE("Square root of negative number"),
+    FACTORIAL_OF_NEGATIVE_INTEGER("Factorial of negative integer"),
+    TANGENT_OF_ODD_RIGHT_ANGLE("Tangent of odd multiple of 90 degrees"),
+    /** Raised by numeric backends without infinity, where the {@code double} engine overflows. */
+    RESULT_TOO_LARGE("Result too large");
+
+    /** Quiet NaN exponent and mantissa bit, plus a tag that plain NaNs practically never carry. */
+    private static final long TAG = 0x7FF8_CA1C_0000_0000L;
+    private static final long TAG_MASK = 0xFFFF_FFFF_FFFF_0000L;
+    private static final CalculationStatus[] VALUES = values();
+
+    private final String message;
+    private final double nan;
+
+    CalculationStatus(String message) {
+        this.message = message;
+        this.nan = Double.longBitsToDouble(TAG | ordinal());
+    }
+
+    /**
+     * Returns the message of the exception the throwing API raises for this status.
+     *
+     * @return the message, or {@code null} for {@link #OK}
+     */
+    public String getMessage() { return message; }
+
+    public boolean isError() { return this != OK; }
+
+    /**
+     * Returns the NaN that encodes this status.
+     *
+     * @return the status-boxed NaN
+     * @throws IllegalStateException for {@link #OK}, which has no encoding
+     */
+    public double toNaN() {
+        if (this == OK) throw new IllegalStateException("OK has no NaN encoding");
+        return nan;
+    }
+
+    /**
+     * Creates the exception the throwing API raises for this status.
+     *
+     * @return a new exception with this status and its message
+     * @throws IllegalStateException for {@link #OK}, which is not an error
+     */
+    public CalculationException toException() {
+        if (this == OK) throw new IllegalStateException("OK is not an error");
+        return new CalculationException(this);
+    }
+
+    /**
+     * Returns whether a value is a status-boxed NaN.
+     *
+     * @param value a result
+     * @return whether the value encodes an error
+     */
+    public static boolean isError(double value) {
+        if (value == value) return false;
+        return (Double.doubleToRawLongBits(value) & TAG_MASK) == TAG;
+    }
+
+    /**
+     * Decodes the status of a result.
+     *
+     * @param value a result
+     * @return the encoded error, or {@link #OK} if the value is not a status-boxed NaN
+     */
+    public static CalculationStatus of(double value) {
+        if (value == value) return OK;
+        long bits = Double.doubleToRawLongBits(value);
+        if ((bits & TAG_MASK) != TAG) return OK;
+        int ordinal = (int) (bits & ~TAG_MASK);
+        return ordinal > 0 && ordinal < VALUES.length ? VALUES[ordinal] : OK;
+    }
+}
\ No newline at end of file
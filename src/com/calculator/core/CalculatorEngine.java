@@ -1,9 +1,21 @@
 package com.calculator.core;
 
+import java.nio.BufferOverflowException;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * Handles all calculation logic for the scientific calculator.
  */
 public class CalculatorEngine {
+    private static final int BUFFER_CHUNK = 1024;
+    /**
+     * Per-thread chunks that buffers without a backing array are copied through, so the buffer
+     * methods allocate nothing after a thread's first call.
+     */
+    private static final ThreadLocal<double[][]> SCRATCH =
+            ThreadLocal.withInitial(() -> new double[][] {new double[BUFFER_CHUNK], new double[BUFFER_CHUNK]});
 
     /**
      * Performs a binary operation on two numbers.
@@ -15,6 +27,62 @@ public class CalculatorEngine {
      * @throws ArithmeticException if the operation is invalid (e.g., division by zero)
      */
     public double performBinaryOperation(double first, double second, Operations operator) throws ArithmeticException {
+        double result = evaluateBinaryOperation(first, second, operator);
+        if (result != result) return checked(result, first, second);
+        return result;
+    }
+
+    /**
+     * Performs a unary operation on a single number.
+     *
+     * @param number   the input number
+     * @param operator the operation to perform
+     * @return the result of the operation
+     * @throws ArithmeticException if the operation is invalid
+     */
+    public double performUnaryOperation(double number, Operations operator) throws ArithmeticException {
+        double result = evaluateUnaryOperation(number, operator);
+        if (result != result) return checked(result, number, 0);
+        return result;
+    }
+
+    /**
+     * Performs a binary operation into a reusable holder, without throwing for invalid operations.
+     *
+     * @param first    the first number
+     * @param second   the second number
+     * @param operator the operation to perform
+     * @param result   receives the result and its status
+     * @return the status, {@link CalculationStatus#OK} on success
+     */
+    public CalculationStatus performBinaryOperation(double first, double second, Operations operator,
+                                                    CalculationResult result) {
+        return result.set(evaluateBinaryOperation(first, second, operator));
+    }
+
+    /**
+     * Performs a unary operation into a reusable holder, without throwing for invalid operations.
+     *
+     * @param number   the input number
+     * @param operator the operation to perform
+     * @param result   receives the result and its status
+     * @return the status, {@link CalculationStatus#OK} on success
+     */
+    public CalculationStatus performUnaryOperation(double number, Operations operator, CalculationResult result) {
+        return result.set(evaluateUnaryOperation(number, operator));
+    }
+
+    /**
+     * Performs a binary operation, returning a status-boxed NaN instead of throwing when the
+     * operation is invalid. This is the method the other binary methods build on, so subclasses
+     * that decorate the engine override it.
+     *
+     * @param first    the first number
+     * @param second   the second number
+     * @param operator the operation to perform
+     * @return the result, or a NaN that {@link CalculationStatus#of(double)} decodes to the error
+     */
+    public double evaluateBinaryOperation(double first, double second, Operations operator) {
         switch (operator) {
             case ADD:
                 return first + second;
@@ -23,10 +91,10 @@ public class CalculatorEngine {
             case MULTIPLY:
                 return first * second;
             case DIVIDE:
-                if (second == 0) throw new ArithmeticException("Division by zero");
+                if (second == 0) return CalculationStatus.DIVISION_BY_ZERO.toNaN();
                 return first / second;
             case MODULUS:
-                if (second == 0) throw new ArithmeticException("Modulus by zero");
+                if (second == 0) return CalculationStatus.MODULUS_BY_ZERO.toNaN();
                 return first % second;
             case POWER:
                 return Math.pow(first, second);
@@ -36,43 +104,46 @@ public class CalculatorEngine {
     }
 
     /**
-     * Performs a unary operation on a single number.
+     * Performs a unary operation, returning a status-boxed NaN instead of throwing when the
+     * operation is invalid.
      *
      * @param number   the input number
      * @param operator the operation to perform
-     * @return the result of the operation
-     * @throws ArithmeticException if the operation is invalid
+     * @return the result, or a NaN that {@link CalculationStatus#of(double)} decodes to the error
+     * @see #evaluateBinaryOperation(double, double, Operations)
      */
-    public double performUnaryOperation(double number, Operations operator) throws ArithmeticException {
+    public double evaluateUnaryOperation(double number, Operations operator) {
         switch (operator) {
             case SIN:
-                return Math.sin(Math.toRadians(number));
+                return Trigonometry.sinDegrees(number);
             case COS:
-                return Math.cos(Math.toRadians(number));
+                return Trigonometry.cosDegrees(number);
             case TAN:
-                return Math.tan(Math.toRadians(number));
+                if (Trigonometry.isTangentPole(number)) return CalculationStatus.TANGENT_OF_ODD_RIGHT_ANGLE.toNaN();
+                return Trigonometry.tanDegrees(number);
             case LOG:
-                if (number <= 0) throw new ArithmeticException("Logarithm of non-positive number");
+                if (number <= 0) return CalculationStatus.LOGARITHM_OF_NON_POSITIVE.toNaN();
                 return Math.log10(number);
             case LN:
-                if (number <= 0) throw new ArithmeticException("Natural logarithm of non-positive number");
+                if (number <= 0) return CalculationStatus.NATURAL_LOGARITHM_OF_NON_POSITIVE.toNaN();
                 return Math.log(number);
             case EXP:
                 return Math.exp(number);
             case SQUARE:
                 return number * number;
             case RECIPROCAL:
-                if (number == 0) throw new ArithmeticException("Reciprocal of zero");
+                if (number == 0) return CalculationStatus.RECIPROCAL_OF_ZERO.toNaN();
                 return 1 / number;
             case SQRT:
-                if (number < 0) throw new ArithmeticException("Square root of negative number");
+                if (number < 0) return CalculationStatus.SQUARE_ROOT_OF_NEGATIVE.toNaN();
                 return Math.sqrt(number);
             case NEGATE:
                 return -number;
             case FACTORIAL:
-                if (number < 0 || number != Math.floor(number))
-                    throw new ArithmeticException("Factorial of negative or non-integer");
-                return calculateFactorial((int) number);
+                if (number < 0 && number == Math.floor(number)) {
+                    return CalculationStatus.FACTORIAL_OF_NEGATIVE_INTEGER.toNaN();
+                }
+                return calculateFactorial(number);
             case PI:
                 return Math.PI;
             case TEN_POWER:
@@ -85,18 +156,342 @@ public class CalculatorEngine {
     }
 
     /**
-     * Calculates the factorial of a number.
+     * Turns a NaN result back into the throwing API's behaviour: a status-boxed NaN throws, unless
+     * it merely propagated from an operand that was itself status-boxed, in which case a plain NaN
+     * is returned, as plain NaN operands always gave.
+     */
+    private static double checked(double result, double first, double second) {
+        CalculationStatus status = CalculationStatus.of(result);
+        if (status == CalculationStatus.OK) return result;
+        if (CalculationStatus.isError(first) || CalculationStatus.isError(second)) return Double.NaN;
+        throw status.toException();
+    }
+
+    /**
+     * Applies a binary operation element-wise to two arrays of the same length.
+     *
+     * @param first    the first operands
+     * @param second   the second operands
+     * @param result   receives the results; may be the same array as an input
+     * @param operator the operation to perform
+     * @return the number of elements whose operation was invalid (their results are status-boxed NaNs)
+     */
+    public int performBinaryOperation(double[] first, double[] second, double[] result, Operations operator) {
+        return performBinaryOperation(first, 0, second, 0, result, 0, first.length, operator, null);
+    }
+
+    /**
+     * Applies a binary operation element-wise to slices of arrays.
+     * <p>
+     * The operation is resolved once for the whole batch. Invalid elements (e.g. division by zero)
+     * do not abort the batch: their result is a status-boxed NaN (see {@link CalculationStatus})
+     * and, when {@code errors} is given, bit {@code i} of the bitmap is set for the {@code i}-th
+     * element of the slice.
+     *
+     * @param first        the first operands
+     * @param firstOffset  index of the first element in {@code first}
+     * @param second       the second operands
+     * @param secondOffset index of the first element in {@code second}
+     * @param result       receives the results; may be the same array as an input
+     * @param resultOffset index of the first element in {@code result}
+     * @param length       the number of elements to process
+     * @param operator     the operation to perform
+     * @param errors       error bitmap of at least {@code (length + 63) / 64} words, or null
+     * @return the number of invalid elements
+     */
+    public int performBinaryOperation(double[] first, int firstOffset, double[] second, int secondOffset,
+                                      double[] result, int resultOffset, int length, Operations operator, long[] errors) {
+        Objects.checkFromIndexSize(firstOffset, length, first.length);
+        Objects.checkFromIndexSize(secondOffset, length, second.length);
+        Objects.checkFromIndexSize(resultOffset, length, result.length);
+        clearErrors(errors, length);
+        return binaryBatch(first, firstOffset, second, secondOffset, result, resultOffset, length, operator, errors, 0);
+    }
+
+    /**
+     * Applies a binary operation element-wise to the remaining elements of two buffers.
+     * The positions of all three buffers are advanced past the processed elements.
+     *
+     * @param first    the first operands
+     * @param second   the second operands; must have at least as many remaining elements as {@code first}
+     * @param result   receives the results
+     * @param operator the operation to perform
+     * @param errors   error bitmap, or null
+     * @return the number of invalid elements
+     * @see #performBinaryOperation(double[], int, double[], int, double[], int, int, Operations, long[])
+     */
+    public int performBinaryOperation(DoubleBuffer first, DoubleBuffer second, DoubleBuffer result,
+                                      Operations operator, long[] errors) {
+        int length = first.remaining();
+        if (second.remaining() < length) throw new IllegalArgumentException("Second buffer is shorter than first");
+        if (result.remaining() < length) throw new BufferOverflowException();
+        clearErrors(errors, length);
+        int failures;
+        if (first.hasArray() && second.hasArray() && result.hasArray()) {
+            failures = binaryBatch(first.array(), first.arrayOffset() + first.position(),
+                    second.array(), second.arrayOffset() + second.position(),
+                    result.array(), result.arrayOffset() + result.position(), length, operator, errors, 0);
+            first.position(first.position() + length);
+            second.position(second.position() + length);
+            result.position(result.position() + length);
+        } else {
+            double[][] scratch = SCRATCH.get();
+            double[] a = scratch[0];
+            double[] b = scratch[1];
+            failures = 0;
+            for (int done = 0; done < length; done += a.length) {
+                int n = Math.min(a.length, length - done);
+                first.get(a, 0, n);
+                second.get(b, 0, n);
+                failures += binaryBatch(a, 0, b, 0, a, 0, n, operator, errors, done);
+                result.put(a, 0, n);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Applies a unary operation element-wise to an array.
+     *
+     * @param numbers  the input numbers
+     * @param result   receives the results; may be the same array as {@code numbers}
+     * @param operator the operation to perform
+     * @return the number of elements whose operation was invalid (their results are status-boxed NaNs)
+     */
+    public int performUnaryOperation(double[] numbers, double[] result, Operations operator) {
+        return performUnaryOperation(numbers, 0, result, 0, numbers.length, operator, null);
+    }
+
+    /**
+     * Applies a unary operation element-wise to a slice of an array.
+     * <p>
+     * Invalid elements are reported the same way as for
+     * {@link #performBinaryOperation(double[], int, double[], int, double[], int, int, Operations, long[])}.
+     *
+     * @param numbers      the input numbers
+     * @param offset       index of the first element in {@code numbers}
+     * @param result       receives the results; may be the same array as {@code numbers}
+     * @param resultOffset index of the first element in {@code result}
+     * @param length       the number of elements to process
+     * @param operator     the operation to perform
+     * @param errors       error bitmap of at least {@code (length + 63) / 64} words, or null
+     * @return the number of invalid elements
+     */
+    public int performUnaryOperation(double[] numbers, int offset, double[] result, int resultOffset,
+                                     int length, Operations operator, long[] errors) {
+        Objects.checkFromIndexSize(offset, length, numbers.length);
+        Objects.checkFromIndexSize(resultOffset, length, result.length);
+        clearErrors(errors, length);
+        return unaryBatch(numbers, offset, result, resultOffset, length, operator, errors, 0);
+    }
+
+    /**
+     * Applies a unary operation element-wise to the remaining elements of a buffer.
+     * The positions of both buffers are advanced past the processed elements.
+     *
+     * @param numbers  the input numbers
+     * @param result   receives the results
+     * @param operator the operation to perform
+     * @param errors   error bitmap, or null
+     * @return the number of invalid elements
+     */
+    public int performUnaryOperation(DoubleBuffer numbers, DoubleBuffer result, Operations operator, long[] errors) {
+        int length = numbers.remaining();
+        if (result.remaining() < length) throw new BufferOverflowException();
+        clearErrors(errors, length);
+        int failures;
+        if (numbers.hasArray() && result.hasArray()) {
+            failures = unaryBatch(numbers.array(), numbers.arrayOffset() + numbers.position(),
+                    result.array(), result.arrayOffset() + result.position(), length, operator, errors, 0);
+            numbers.position(numbers.position() + length);
+            result.position(result.position() + length);
+        } else {
+            double[] chunk = SCRATCH.get()[0];
+            failures = 0;
+            for (int done = 0; done < length; done += chunk.length) {
+                int n = Math.min(chunk.length, length - done);
+                numbers.get(chunk, 0, n);
+                failures += unaryBatch(chunk, 0, chunk, 0, n, operator, errors, done);
+                result.put(chunk, 0, n);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Batch kernel shared with {@link ParallelEvaluator}; error bits are set at {@code errorBase + i}.
+     */
+    int binaryBatch(double[] a, int ai, double[] b, int bi, double[] r, int ri, int length,
+                    Operations operator, long[] errors, int errorBase) {
+        int failures = 0;
+        switch (operator) {
+            case ADD:
+                for (int i = 0; i < length; i++) r[ri + i] = a[ai + i] + b[bi + i];
+                break;
+            case SUBTRACT:
+                for (int i = 0; i < length; i++) r[ri + i] = a[ai + i] - b[bi + i];
+                break;
+            case MULTIPLY:
+                for (int i = 0; i < length; i++) r[ri + i] = a[ai + i] * b[bi + i];
+                break;
+            case DIVIDE:
+                for (int i = 0; i < length; i++) {
+                    double divisor = b[bi + i];
+                    if (divisor == 0) {
+                        r[ri + i] = CalculationStatus.DIVISION_BY_ZERO.toNaN();
+                        failures += markError(errors, errorBase + i);
+                    } else {
+                        r[ri + i] = a[ai + i] / divisor;
+                    }
+                }
+                break;
+            case MODULUS:
+                for (int i = 0; i < length; i++) {
+                    double divisor = b[bi + i];
+                    if (divisor == 0) {
+                        r[ri + i] = CalculationStatus.MODULUS_BY_ZERO.toNaN();
+                        failures += markError(errors, errorBase + i);
+                    } else {
+                        r[ri + i] = a[ai + i] % divisor;
+                    }
+                }
+                break;
+            case POWER:
+                for (int i = 0; i < length; i++) r[ri + i] = Math.pow(a[ai + i], b[bi + i]);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + operator);
+        }
+        return failures;
+    }
+
+    /**
+     * Batch kernel shared with {@link ParallelEvaluator}; error bits are set at {@code errorBase + i}.
+     */
+    int unaryBatch(double[] x, int xi, double[] r, int ri, int length,
+                   Operations operator, long[] errors, int errorBase) {
+        int failures = 0;
+        switch (operator) {
+            case SIN:
+                for (int i = 0; i < length; i++) r[ri + i] = Trigonometry.sinDegrees(x[xi + i]);
+                break;
+            case COS:
+                for (int i = 0; i < length; i++) r[ri + i] = Trigonometry.cosDegrees(x[xi + i]);
+                break;
+            case TAN:
+                for (int i = 0; i < length; i++) {
+                    double number = x[xi + i];
+                    if (Trigonometry.isTangentPole(number)) {
+                        r[ri + i] = CalculationStatus.TANGENT_OF_ODD_RIGHT_ANGLE.toNaN();
+                        failures += markError(errors, errorBase + i);
+                    } else {
+                        r[ri + i] = Trigonometry.tanDegrees(number);
+                    }
+                }
+                break;
+            case LOG:
+                for (int i = 0; i < length; i++) {
+                    double number = x[xi + i];
+                    if (number <= 0) {
+                        r[ri + i] = CalculationStatus.LOGARITHM_OF_NON_POSITIVE.toNaN();
+                        failures += markError(errors, errorBase + i);
+                    } else {
+                        r[ri + i] = Math.log10(number);
+                    }
+                }
+                break;
+            case LN:
+                for (int i = 0; i < length; i++) {
+                    double number = x[xi + i];
+                    if (number <= 0) {
+                        r[ri + i] = CalculationStatus.NATURAL_LOGARITHM_OF_NON_POSITIVE.toNaN();
+                        failures += markError(errors, errorBase + i);
+                    } else {
+                        r[ri + i] = Math.log(number);
+                    }
+                }
+                break;
+            case EXP:
+                for (int i = 0; i < length; i++) r[ri + i] = Math.exp(x[xi + i]);
+                break;
+            case SQUARE:
+                for (int i = 0; i < length; i++) {
+                    double number = x[xi + i];
+                    r[ri + i] = number * number;
+                }
+                break;
+            case RECIPROCAL:
+                for (int i = 0; i < length; i++) {
+                    double number = x[xi + i];
+                    if (number == 0) {
+                        r[ri + i] = CalculationStatus.RECIPROCAL_OF_ZERO.toNaN();
+                        failures += markError(errors, errorBase + i);
+                    } else {
+                        r[ri + i] = 1 / number;
+                    }
+                }
+                break;
+            case SQRT:
+                for (int i = 0; i < length; i++) {
+                    double number = x[xi + i];
+                    if (number < 0) {
+                        r[ri + i] = CalculationStatus.SQUARE_ROOT_OF_NEGATIVE.toNaN();
+                        failures += markError(errors, errorBase + i);
+                    } else {
+                        r[ri + i] = Math.sqrt(number);
+                    }
+                }
+                break;
+            case NEGATE:
+                for (int i = 0; i < length; i++) r[ri + i] = -x[xi + i];
+                break;
+            case FACTORIAL:
+                for (int i = 0; i < length; i++) {
+                    double number = x[xi + i];
+                    if (number < 0 && number == Math.floor(number)) {
+                        r[ri + i] = CalculationStatus.FACTORIAL_OF_NEGATIVE_INTEGER.toNaN();
+                        failures += markError(errors, errorBase + i);
+                    } else {
+                        r[ri + i] = calculateFactorial(number);
+                    }
+                }
+                break;
+            case PI:
+                Arrays.fill(r, ri, ri + length, Math.PI);
+                break;
+            case TEN_POWER:
+                for (int i = 0; i < length; i++) r[ri + i] = Math.pow(10, x[xi + i]);
+                break;
+            case ABSOLUTE:
+                for (int i = 0; i < length; i++) r[ri + i] = Math.abs(x[xi + i]);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + operator);
+        }
+        return failures;
+    }
+
+    private static void clearErrors(long[] errors, int length) {
+        if (errors != null) Arrays.fill(errors, 0, (length + 63) >>> 6, 0L);
+    }
+
+    private static int markError(long[] errors, int index) {
+        if (errors != null) errors[index >>> 6] |= 1L << index;
+        return 1;
+    }
+
+    /**
+     * Calculates the factorial of a number that is not a negative integer.
+     * Integers use the precomputed table; other values use {@code Γ(n + 1)}.
      *
      * @param n the input number
      * @return the factorial
      */
-    private double calculateFactorial(int n) {
-        if (n == 0 || n == 1) return 1;
-        double result = 1;
-        for (int i = 2; i <= n; i++) {
-            result *= i;
+    private double calculateFactorial(double n) {
+        if (n == Math.floor(n)) {
+            return n > Gamma.MAX_FACTORIAL ? Double.POSITIVE_INFINITY : Gamma.factorial((int) n);
         }
-        return result;
+        return Gamma.gamma(n + 1);
     }
 
     /**
@@ -104,12 +499,20 @@ public class CalculatorEngine {
      *
      * @param result the number to format
      * @return formatted string
+     * @see ResultFormatter
      */
     public String formatResult(double result) {
-        if (result == (long) result) {
-            return String.valueOf((long) result);
-        } else {
-            return String.format("%.6f", result).replaceAll("\\.?0*$", "");
-        }
+        return ResultFormatter.format(result);
+    }
+
+    /**
+     * Appends the formatted result to a builder without intermediate strings.
+     *
+     * @param result the number to format
+     * @param out    the builder to append to
+     * @return the builder
+     */
+    public StringBuilder formatResult(double result, StringBuilder out) {
+        return ResultFormatter.format(result, out);
     }
 }
\ No newline at end of file
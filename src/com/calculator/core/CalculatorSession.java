@@ -0,0 +1,157 @@
+package com.calculator.core;
+
+/**
+ * Per-user calculator state: the pending binary operation, memory and history.
+ * <p>
+ * A session is confined to one thread at a time and is not synchronized; create one session per
+ * user or connection. Sessions share a single stateless {@link CalculatorEngine}, so thousands of
+ * them can live in one JVM without contention.
+ */
+public class CalculatorSession {
+    private final CalculatorEngine engine;
+    private final CalculationHistory history;
+    private double pendingOperand;
+    private Operations pendingOperation;
+    private double memory;
+
+    public CalculatorSession() {
+        this(new CalculatorEngine());
+    }
+
+    public CalculatorSession(CalculatorEngine engine) {
+        this(engine, new CalculationHistory());
+    }
+
+    public CalculatorSession(CalculatorEngine engine, CalculationHistory history) {
+        this.engine = engine;
+        this.history = history;
+    }
+
+    public CalculatorEngine getEngine() { return engine; }
+
+    /**
+     * Stores the first operand of a binary operation until its second operand is known.
+     *
+     * @param operand   the first number
+     * @param operation the binary operation
+     */
+    public void setPendingOperation(double operand, Operations operation) {
+        this.pendingOperand = operand;
+        this.pendingOperation = operation;
+    }
+
+    public boolean hasPendingOperation() { return pendingOperation != null; }
+    public double getPendingOperand() { return pendingOperand; }
+    public Operations getPendingOperation() { return pendingOperation; }
+
+    /**
+     * Completes the pending binary operation and records it in the history.
+     * If the operation fails, it stays pending.
+     *
+     * @param second the second number
+     * @return the result of the operation
+     * @throws ArithmeticException   if the operation is invalid (e.g., division by zero)
+     * @throws IllegalStateException if no operation is pending
+     */
+    public double completePendingOperation(double second) {
+        if (pendingOperation == null) throw new IllegalStateException("No pending operation");
+        double result = engine.performBinaryOperation(pendingOperand, second, pendingOperation);
+        recordPendingOperation(second, result);
+        return result;
+    }
+
+    /**
+     * Completes the pending binary operation with a result that was computed elsewhere, e.g. on a
+     * background thread, and records it in the history.
+     *
+     * @param second the second number
+     * @param result the result of the operation
+     * @throws IllegalStateException if no operation is pending
+     */
+    public void recordPendingOperation(double second, double result) {
+        if (pendingOperation == null) throw new IllegalStateException("No pending operation");
+        history.add(pendingOperand, second, pendingOperation, result);
+        pendingOperation = null;
+    }
+
+    /**
+     * Performs a unary operation and records it in the history.
+     *
+     * @param number    the input number
+     * @param operation the operation to perform
+     * @return the result of the operation
+     * @throws ArithmeticException if the operation is invalid
+     */
+    public double performUnaryOperation(double number, Operations operation) {
+        double result = engine.performUnaryOperation(number, operation);
+        recordUnaryOperation(number, operation, result);
+        return result;
+    }
+
+    /**
+     * Records a unary operation whose result was computed elsewhere in the history.
+     *
+     * @param number    the input number
+     * @param operation the operation
+     * @param result    the result of the operation
+     */
+    public void recordUnaryOperation(double number, Operations operation, double result) {
+        history.add(number, operation, result);
+    }
+
+    public double getMemory() { return memory; }
+
+    public void setMemory(double value) {
+        memory = value;
+    }
+
+    public double memoryAdd(double value) {
+        memory += value;
+        return memory;
+    }
+
+    public double memorySubtract(double value) {
+        memory -= value;
+        return memory;
+    }
+
+    public void memoryClear() {
+        memory = 0.0;
+    }
+
+    /**
+     * Returns the history of completed operations.
+     *
+     * @return the history
+     */
+    public CalculationHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Describes a unary operation the way the calculator displays it, e.g. {@code sin(30.0)}.
+     *
+     * @param op     the operation
+     * @param number the input number
+     * @return the operation label
+     */
+    public static String describeUnary(Operations op, double number) {
+        switch (op) {
+            case SIN: return "sin(" + number + ")";
+            case COS: return "cos(" + number + ")";
+            case TAN: return "tan(" + number + ")";
+            case LOG: return "log(" + number + ")";
+            case LN: return "ln(" + number + ")";
+            case EXP: return "e^" + number;
+            case SQUARE: return "(" + number + ")²";
+            case RECIPROCAL: return "1/" + number;
+            case SQRT: return "√" + number;
+            case NEGATE: return "(-" + number + ")";
+            case FACTORIAL: return number + "!";
+            case PI: return "π";
+            case TEN_POWER: return "10^" + number;
+            case ABSOLUTE: return "|" + number + "|";
+            default: return "";
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.calculator.core;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Loads and initializes the engine's classes on a background thread while the user interface is
+ * being built, so the first calculation a user asks for does not pay for class loading, static
+ * tables and the interpreter's first pass over the engine.
+ * <p>
+ * The warm-up uses a throwaway engine and shares no state with the application. It is short: the
+ * point is to run every path once or a few times, not to reach compiled code.
+ */
+public final class EngineWarmup {
+    private static final int ITERATIONS = 8;
+    private static final Set<Operations> BINARY = EnumSet.range(Operations.ADD, Operations.POWER);
+
+    private EngineWarmup() {
+    }
+
+    /**
+     * Starts the warm-up on a daemon thread.
+     *
+     * @return the thread
+     */
+    public static Thread start() {
+        Thread thread = new Thread(EngineWarmup::run, "calculator-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Runs every operation, the error statuses and the result formatter on the calling thread.
+     */
+    public static void run() {
+        CalculatorEngine engine = new CalculatorEngine();
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < ITERATIONS; i++) {
+            double x = i - ITERATIONS / 2 + 0.5;
+            for (Operations operation : Operations.values()) {
+                double result;
+                if (BINARY.contains(operation)) {
+                    result = engine.evaluateBinaryOperation(x, i % 4, operation);
+                } else {
+                    result = engine.evaluateUnaryOperation(x, operation);
+                    CalculatorSession.describeUnary(operation, x);
+                }
+                CalculationStatus.of(result);
+                out.setLength(0);
+                engine.formatResult(result, out);
+            }
+        }
+    }
+}
\ No newline at end of file
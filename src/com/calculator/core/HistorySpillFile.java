@@ -0,0 +1,293 @@
+package com.calculator.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Append-only, memory-mapped file of history records evicted from a {@link CalculationHistory}.
+ * <p>
+ * The file starts with a 16-byte header: the magic number, the record count and the number of
+ * bytes of records written so far. The header is updated after every record, so a crash loses at most the record
+ * being written. Each record is one operation byte, one flags byte and its values. A value that
+ * is an integer below 2<sup>53</sup> in magnitude is stored as a zigzag varint, usually one to
+ * three bytes; other values take eight bytes. The unused second operand of a unary operation is
+ * not stored at all.
+ * <p>
+ * The file is mapped in 1 MiB chunks as it grows. Mapped pages are written back by the operating
+ * system, so appending costs no system call.
+ * <p>
+ * A sidecar file with the suffix {@code .idx} holds the byte offset of every
+ * {@value #PAGE_RECORDS}th record, so {@link #forEach(long, long, CalculationHistory.Visitor)} can
+ * start reading anywhere without scanning the records before it. Entries missing after a crash,
+ * or for a file written without an index, are rebuilt on the first paged read.
+ */
+public class HistorySpillFile implements Closeable {
+    public static final int PAGE_RECORDS = 4096;
+
+    private static final int MAGIC = 0x43484953; // "CHIS"
+    private static final int HEADER_LENGTH = 16;
+    private static final int CHUNK_SIZE = 1 << 20;
+    private static final int MAX_RECORD_LENGTH = 2 + 3 * Long.BYTES;
+    private static final long MAX_VARINT_MAGNITUDE = 1L << 53;
+
+    private static final int FLAG_UNARY = 1;
+    private static final int FLAG_FIRST_VARINT = 2;
+    private static final int FLAG_SECOND_VARINT = 4;
+    private static final int FLAG_RESULT_VARINT = 8;
+
+    private static final Operations[] OPERATIONS = Operations.values();
+
+    private final FileChannel channel;
+    private final FileChannel indexChannel;
+    private final MappedByteBuffer header;
+    private final ByteBuffer indexEntry = ByteBuffer.allocate(Long.BYTES);
+    private MappedByteBuffer chunk;
+    private long length;
+    private long records;
+    private long[] pageOffsets = new long[16];
+    private int indexedPages;
+
+    /**
+     * Opens a spill file, creating it if necessary. New records are appended after any records
+     * already in the file.
+     *
+     * @param path the file
+     * @throws IOException if the file cannot be opened or is not a history spill file
+     */
+    public HistorySpillFile(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel index = null;
+        try {
+            boolean created = channel.size() == 0;
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_LENGTH);
+            if (created) {
+                header.putInt(0, MAGIC);
+                header.putLong(8, 0);
+            } else if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a history spill file: " + path);
+            }
+            length = header.getLong(8);
+            records = header.getInt(4) & 0xFFFFFFFFL;
+            map(HEADER_LENGTH + length);
+            index = FileChannel.open(path.resolveSibling(path.getFileName() + ".idx"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            loadIndex(index);
+        } catch (IOException | RuntimeException e) {
+            if (index != null) index.close();
+            channel.close();
+            throw e;
+        }
+        indexChannel = index;
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param operation the operation
+     * @param first     the first (or only) operand
+     * @param second    the second operand, ignored for a unary operation
+     * @param result    the result
+     * @throws IOException if the file cannot be extended
+     */
+    public void append(Operations operation, double first, double second, double result) throws IOException {
+        if (chunk.remaining() < MAX_RECORD_LENGTH) map(HEADER_LENGTH + length);
+        if (records % PAGE_RECORDS == 0 && indexedPages == records / PAGE_RECORDS) {
+            addPage(length);
+        }
+        boolean unary = !CalculationHistory.isBinary(operation);
+        int start = chunk.position();
+        chunk.put((byte) operation.ordinal());
+        int flagsPosition = chunk.position();
+        chunk.put((byte) 0);
+        int flags = unary ? FLAG_UNARY : 0;
+        if (putValue(first)) flags |= FLAG_FIRST_VARINT;
+        if (!unary && putValue(second)) flags |= FLAG_SECOND_VARINT;
+        if (putValue(result)) flags |= FLAG_RESULT_VARINT;
+        chunk.put(flagsPosition, (byte) flags);
+        length += chunk.position() - start;
+        records++;
+        header.putInt(4, (int) records);
+        header.putLong(8, length);
+    }
+
+    /**
+     * Reads every record in the file, oldest first.
+     *
+     * @param visitor receives each record; the second operand of a unary operation is NaN
+     * @throws IOException if the file cannot be read
+     */
+    public void forEach(CalculationHistory.Visitor visitor) throws IOException {
+        read(HEADER_LENGTH, 0, records, visitor);
+    }
+
+    /**
+     * Reads a range of records, oldest first. Only the pages holding the range are read.
+     *
+     * @param from    the index of the first record to read
+     * @param count   the maximum number of records to read
+     * @param visitor receives each record; the second operand of a unary operation is NaN
+     * @throws IOException               if the file cannot be read
+     * @throws IndexOutOfBoundsException if {@code from} is negative or past the last record
+     */
+    public void forEach(long from, long count, CalculationHistory.Visitor visitor) throws IOException {
+        if (from < 0 || from > records) throw new IndexOutOfBoundsException("Record " + from + ", count " + records);
+        int page = completeIndex(from);
+        read(HEADER_LENGTH + pageOffsets[page], from - (long) page * PAGE_RECORDS, count, visitor);
+    }
+
+    /**
+     * Discards every record from the given index on.
+     *
+     * @param recordCount the number of records to keep
+     * @throws IOException if the file cannot be updated
+     */
+    public void truncate(long recordCount) throws IOException {
+        if (recordCount < 0 || recordCount >= records) return;
+        int page = completeIndex(recordCount);
+        long end = read(HEADER_LENGTH + pageOffsets[page], recordCount - (long) page * PAGE_RECORDS, 0, null);
+        length = end - HEADER_LENGTH;
+        records = recordCount;
+        header.putInt(4, (int) records);
+        header.putLong(8, length);
+        indexedPages = (int) ((records + PAGE_RECORDS - 1) / PAGE_RECORDS);
+        indexChannel.truncate((long) indexedPages * Long.BYTES);
+        map(HEADER_LENGTH + length);
+    }
+
+    /**
+     * Reads {@code skip + count} records starting at a record boundary and passes the last
+     * {@code count} of them to the visitor.
+     *
+     * @return the position after the last record read
+     */
+    private long read(long position, long skip, long count, CalculationHistory.Visitor visitor) throws IOException {
+        long end = HEADER_LENGTH + length;
+        long remaining = skip + count;
+        while (remaining > 0 && position < end) {
+            long size = Math.min(CHUNK_SIZE, end - position);
+            boolean last = position + size == end;
+            ByteBuffer view = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            // A record may straddle two windows; stop early and remap from its start.
+            while (remaining > 0 && view.hasRemaining() && (last || view.remaining() >= MAX_RECORD_LENGTH)) {
+                Operations operation = OPERATIONS[view.get()];
+                int flags = view.get();
+                double first = getValue(view, (flags & FLAG_FIRST_VARINT) != 0);
+                double second = (flags & FLAG_UNARY) != 0
+                        ? Double.NaN
+                        : getValue(view, (flags & FLAG_SECOND_VARINT) != 0);
+                double result = getValue(view, (flags & FLAG_RESULT_VARINT) != 0);
+                if (remaining-- <= count && visitor != null) visitor.accept(operation, first, second, result);
+            }
+            position += view.position();
+        }
+        return position;
+    }
+
+    /**
+     * Reads the valid entries of the sidecar index, dropping any that point past the records.
+     */
+    private void loadIndex(FileChannel index) throws IOException {
+        long entries = Math.min(index.size() / Long.BYTES, (records + PAGE_RECORDS - 1) / PAGE_RECORDS);
+        ByteBuffer buffer = index.map(FileChannel.MapMode.READ_ONLY, 0, entries * Long.BYTES);
+        while (buffer.hasRemaining()) {
+            long offset = buffer.getLong();
+            if (offset < 0 || offset >= length || (indexedPages > 0 && offset <= pageOffsets[indexedPages - 1])) break;
+            ensureIndexCapacity();
+            pageOffsets[indexedPages++] = offset;
+        }
+        if (indexedPages == 0 && records > 0) {
+            ensureIndexCapacity();
+            pageOffsets[indexedPages++] = 0;
+        }
+        index.truncate((long) indexedPages * Long.BYTES);
+    }
+
+    /**
+     * Makes sure the index covers the page holding a record, scanning forward from the last
+     * indexed page if necessary.
+     *
+     * @return the page holding the record
+     */
+    private int completeIndex(long record) throws IOException {
+        int page = (int) (record / PAGE_RECORDS);
+        if (page == 0) return 0;
+        while (indexedPages <= page && (long) indexedPages * PAGE_RECORDS < records) {
+            long next = read(HEADER_LENGTH + pageOffsets[indexedPages - 1], PAGE_RECORDS, 0, null);
+            addPage(next - HEADER_LENGTH);
+        }
+        return Math.min(page, indexedPages - 1);
+    }
+
+    private void addPage(long offset) throws IOException {
+        ensureIndexCapacity();
+        pageOffsets[indexedPages] = offset;
+        indexEntry.clear();
+        indexEntry.putLong(0, offset);
+        indexChannel.write(indexEntry, (long) indexedPages * Long.BYTES);
+        indexedPages++;
+    }
+
+    private void ensureIndexCapacity() {
+        if (indexedPages == pageOffsets.length) pageOffsets = Arrays.copyOf(pageOffsets, indexedPages * 2);
+    }
+
+    /** Returns the number of records in the file. */
+    public long getRecordCount() { return records; }
+
+    /** Returns the number of bytes of records in the file, excluding the header. */
+    public long getLength() { return length; }
+
+    /**
+     * Forces written records to the storage device.
+     */
+    public void force() {
+        chunk.force();
+        header.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        indexChannel.close();
+        channel.close();
+    }
+
+    private void map(long position) throws IOException {
+        chunk = channel.map(FileChannel.MapMode.READ_WRITE, position, CHUNK_SIZE);
+    }
+
+    private boolean putValue(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < MAX_VARINT_MAGNITUDE
+                && (value != 0 || 1 / value > 0)) {
+            long v = (long) value;
+            long zigzag = (v << 1) ^ (v >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                chunk.put((byte) (zigzag | 0x80));
+                zigzag >>>= 7;
+            }
+            chunk.put((byte) zigzag);
+            return true;
+        }
+        chunk.putDouble(value);
+        return false;
+    }
+
+    private static double getValue(ByteBuffer in, boolean varint) {
+        if (!varint) return in.getDouble();
+        long zigzag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
\ No newline at end of file
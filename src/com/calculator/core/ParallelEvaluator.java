@@ -0,0 +1,243 @@
+package com.calculator.core;
+
+import com.calculator.core.expression.CompiledExpression;
+import com.calculator.core.stats.StreamingStatistics;
+import com.calculator.core.stats.TDigest;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Evaluates large independent workloads on all cores with fork-join.
+ * <p>
+ * Work is split into contiguous slices whose lengths are multiples of 64, so every task writes
+ * its own range of the result array and its own words of the error bitmap; tasks share nothing
+ * mutable and need no synchronization. Invalid elements are reported as in the batch methods of
+ * {@link CalculatorEngine}: the result is a status-boxed NaN and the element's bit is set in
+ * {@code errors}.
+ */
+public class ParallelEvaluator {
+    private static final int MIN_SLICE = 8192;
+
+    private final CalculatorEngine engine;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an evaluator on the common fork-join pool.
+     */
+    public ParallelEvaluator() {
+        this(new CalculatorEngine(), ForkJoinPool.commonPool());
+    }
+
+    public ParallelEvaluator(CalculatorEngine engine, ForkJoinPool pool) {
+        this.engine = engine;
+        this.pool = pool;
+    }
+
+    /**
+     * Applies a binary operation element-wise in parallel.
+     *
+     * @param first    the first operands
+     * @param second   the second operands, at least as long as {@code first}
+     * @param result   receives the results, at least as long as {@code first}
+     * @param operator the operation to perform
+     * @param errors   error bitmap of at least {@code (first.length + 63) / 64} words, or null
+     * @return the number of invalid elements
+     */
+    public int performBinaryOperation(double[] first, double[] second, double[] result,
+                                      Operations operator, long[] errors) {
+        int length = first.length;
+        Objects.checkFromIndexSize(0, length, second.length);
+        Objects.checkFromIndexSize(0, length, result.length);
+        clearErrors(errors, length);
+        return invoke(length, (from, to) ->
+                engine.binaryBatch(first, from, second, from, result, from, to - from, operator, errors, from));
+    }
+
+    /**
+     * Applies a unary operation element-wise in parallel.
+     *
+     * @param numbers  the input numbers
+     * @param result   receives the results, at least as long as {@code numbers}
+     * @param operator the operation to perform
+     * @param errors   error bitmap of at least {@code (numbers.length + 63) / 64} words, or null
+     * @return the number of invalid elements
+     */
+    public int performUnaryOperation(double[] numbers, double[] result, Operations operator, long[] errors) {
+        int length = numbers.length;
+        Objects.checkFromIndexSize(0, length, result.length);
+        clearErrors(errors, length);
+        return invoke(length, (from, to) ->
+                engine.unaryBatch(numbers, from, result, from, to - from, operator, errors, from));
+    }
+
+    /**
+     * Evaluates a compiled expression for every row of a column-oriented table in parallel.
+     *
+     * @param expression the compiled formula
+     * @param columns    one array per variable, in {@link CompiledExpression#getVariables()} order
+     * @param result     receives one result per row
+     * @param errors     error bitmap of at least {@code (result.length + 63) / 64} words, or null
+     * @return the number of rows whose evaluation failed
+     */
+    public int evaluate(CompiledExpression expression, double[][] columns, double[] result, long[] errors) {
+        int rows = result.length;
+        if (columns.length != expression.getVariables().size()) {
+            throw new IllegalArgumentException("Expected " + expression.getVariables().size() + " columns");
+        }
+        for (double[] column : columns) {
+            Objects.checkFromIndexSize(0, rows, column.length);
+        }
+        clearErrors(errors, rows);
+        return invoke(rows, (from, to) -> {
+            double[] values = new double[columns.length];
+            int failures = 0;
+            for (int row = from; row < to; row++) {
+                for (int v = 0; v < values.length; v++) {
+                    values[v] = columns[v][row];
+                }
+                try {
+                    result[row] = expression.evaluate(values);
+                } catch (ArithmeticException e) {
+                    result[row] = e instanceof CalculationException
+                            ? ((CalculationException) e).getStatus().toNaN() : Double.NaN;
+                    if (errors != null) errors[row >>> 6] |= 1L << row;
+                    failures++;
+                }
+            }
+            return failures;
+        });
+    }
+
+    /**
+     * Summarizes an array in parallel: each slice is summarized on its own and the partial
+     * statistics are merged.
+     *
+     * @param values the values
+     * @return the statistics of all values
+     */
+    public StreamingStatistics statistics(double[] values) {
+        return reduce(values.length, (from, to) -> {
+            StreamingStatistics statistics = new StreamingStatistics();
+            statistics.add(values, from, to - from);
+            return statistics;
+        }, (left, right) -> {
+            left.merge(right);
+            return left;
+        });
+    }
+
+    /**
+     * Builds a quantile digest of an array in parallel, one digest per slice, merged.
+     *
+     * @param values      the values
+     * @param compression the compression of the digests, see {@link TDigest#TDigest(double)}
+     * @return the digest of all values
+     */
+    public TDigest quantiles(double[] values, double compression) {
+        return reduce(values.length, (from, to) -> {
+            TDigest digest = new TDigest(compression);
+            digest.add(values, from, to - from);
+            return digest;
+        }, (left, right) -> {
+            left.merge(right);
+            return left;
+        });
+    }
+
+    private <T> T reduce(int length, Reducer<T> reducer, BinaryOperator<T> combiner) {
+        return pool.invoke(new ReduceTask<>(reducer, combiner, 0, length, sliceLength(length)));
+    }
+
+    private int invoke(int length, Kernel kernel) {
+        return pool.invoke(new SliceTask(kernel, 0, length, sliceLength(length)));
+    }
+
+    /**
+     * Picks a slice length giving a few slices per worker, rounded up to whole bitmap words.
+     */
+    private int sliceLength(int length) {
+        int perWorker = length / (pool.getParallelism() * 4);
+        return (Math.max(MIN_SLICE, perWorker) + 63) & ~63;
+    }
+
+    private static void clearErrors(long[] errors, int length) {
+        if (errors != null) Arrays.fill(errors, 0, (length + 63) >>> 6, 0L);
+    }
+
+    /**
+     * Work on the elements {@code [from, to)}, returning the number of invalid elements.
+     */
+    @FunctionalInterface
+    private interface Kernel {
+        int apply(int from, int to);
+    }
+
+    /**
+     * Summarizes the elements {@code [from, to)}.
+     */
+    @FunctionalInterface
+    private interface Reducer<T> {
+        T apply(int from, int to);
+    }
+
+    /**
+     * Splits a range like {@link SliceTask} and combines the summaries of the halves.
+     */
+    private static final class ReduceTask<T> extends RecursiveTask<T> {
+        private final Reducer<T> reducer;
+        private final BinaryOperator<T> combiner;
+        private final int from;
+        private final int to;
+        private final int sliceLength;
+
+        ReduceTask(Reducer<T> reducer, BinaryOperator<T> combiner, int from, int to, int sliceLength) {
+            this.reducer = reducer;
+            this.combiner = combiner;
+            this.from = from;
+            this.to = to;
+            this.sliceLength = sliceLength;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= sliceLength) return reducer.apply(from, to);
+            int middle = (from + (to - from) / 2 + 63) & ~63;
+            ReduceTask<T> left = new ReduceTask<>(reducer, combiner, from, middle, sliceLength);
+            ReduceTask<T> right = new ReduceTask<>(reducer, combiner, middle, to, sliceLength);
+            left.fork();
+            T rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+
+    /**
+     * Splits a range in halves on 64-element boundaries until it is at most one slice long.
+     */
+    private static final class SliceTask extends RecursiveTask<Integer> {
+        private final Kernel kernel;
+        private final int from;
+        private final int to;
+        private final int sliceLength;
+
+        SliceTask(Kernel kernel, int from, int to, int sliceLength) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+            this.sliceLength = sliceLength;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= sliceLength) return kernel.apply(from, to);
+            int middle = (from + (to - from) / 2 + 63) & ~63;
+            SliceTask left = new SliceTask(kernel, from, middle, sliceLength);
+            SliceTask right = new SliceTask(kernel, middle, to, sliceLength);
+            left.fork();
+            return right.compute() + left.join();
+        }
+    }
+}
\ No newline at end of file
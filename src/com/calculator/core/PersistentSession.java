@@ -0,0 +1,81 @@
+package com.calculator.core;
+
+/**
+ * A session that writes every change ahead to its {@link SessionStore} before applying it.
+ * <p>
+ * All changes go through {@link #setPendingOperation}, {@link #recordPendingOperation},
+ * {@link #recordUnaryOperation} and {@link #setMemory}, which are logged here; the
+ * {@code apply} methods change the state without logging, for replay. A change whose log entry
+ * cannot be written throws {@link java.io.UncheckedIOException} and is not applied.
+ */
+final class PersistentSession extends CalculatorSession {
+    private final SessionStore store;
+
+    PersistentSession(CalculatorEngine engine, CalculationHistory history, SessionStore store) {
+        super(engine, history);
+        this.store = store;
+    }
+
+    @Override
+    public void setPendingOperation(double operand, Operations operation) {
+        store.logPending(operand, operation);
+        super.setPendingOperation(operand, operation);
+        store.compactIfDue();
+    }
+
+    @Override
+    public void recordPendingOperation(double second, double result) {
+        if (!hasPendingOperation()) throw new IllegalStateException("No pending operation");
+        store.logBinary(getPendingOperation(), getPendingOperand(), second, result);
+        super.recordPendingOperation(second, result);
+        store.compactIfDue();
+    }
+
+    @Override
+    public void recordUnaryOperation(double number, Operations operation, double result) {
+        store.logUnary(operation, number, result);
+        super.recordUnaryOperation(number, operation, result);
+        store.compactIfDue();
+    }
+
+    @Override
+    public void setMemory(double value) {
+        store.logMemory(value);
+        super.setMemory(value);
+        store.compactIfDue();
+    }
+
+    @Override
+    public double memoryAdd(double value) {
+        setMemory(getMemory() + value);
+        return getMemory();
+    }
+
+    @Override
+    public double memorySubtract(double value) {
+        setMemory(getMemory() - value);
+        return getMemory();
+    }
+
+    @Override
+    public void memoryClear() {
+        setMemory(0.0);
+    }
+
+    void applyMemory(double value) {
+        super.setMemory(value);
+    }
+
+    void applyPending(double operand, Operations operation) {
+        super.setPendingOperation(operand, operation);
+    }
+
+    void applyBinary(Operations operation, double first, double second, double result) {
+        super.setPendingOperation(first, operation);
+        super.recordPendingOperation(second, result);
+    }
+
+    void applyUnary(Operations operation, double operand, double result) {
+        super.recordUnaryOperation(operand, operation, result);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.calculator.core;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+/**
+ * Writes calculator results as text without regular expressions or {@link java.util.Formatter}.
+ * <p>
+ * The output is the calculator's display format: integral values print as whole numbers, other
+ * values are rounded half-up to six decimals ({@code %.6f}) with trailing zeros and a trailing
+ * decimal point removed. Values whose rounding digit lies too close to a tie to decide from the
+ * binary value, and values outside the {@code long} range, take a slower path through
+ * {@link String#format}; everything else is written without allocating. Values from
+ * 2<sup>63</sup> upwards print like every other value outside that range rather than being
+ * clamped to {@link Long#MAX_VALUE}.
+ */
+public final class ResultFormatter {
+    /** Upper bound on the number of characters written for any value. */
+    public static final int MAX_LENGTH = 320;
+
+    private static final double TWO_POW_63 = 0x1p63;
+    private static final double FAST_PATH_LIMIT = 1e9;
+    private static final long SCALE = 1_000_000L;
+    private static final char[] NAN = "NaN".toCharArray();
+    private static final char[] INFINITY = "Infinity".toCharArray();
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    private ResultFormatter() {
+    }
+
+    /**
+     * Formats a result into a new string.
+     *
+     * @param result the number to format
+     * @return formatted string
+     */
+    public static String format(double result) {
+        char[] scratch = SCRATCH.get();
+        return new String(scratch, 0, format(result, scratch, 0));
+    }
+
+    /**
+     * Appends a formatted result to a builder.
+     *
+     * @param result the number to format
+     * @param out    the builder to append to
+     * @return the builder
+     */
+    public static StringBuilder format(double result, StringBuilder out) {
+        char[] scratch = SCRATCH.get();
+        return out.append(scratch, 0, format(result, scratch, 0));
+    }
+
+    /**
+     * Writes a formatted result into a character array.
+     *
+     * @param result the number to format
+     * @param out    the destination; {@link #MAX_LENGTH} characters from {@code offset} are always enough
+     * @param offset index of the first character to write
+     * @return the number of characters written
+     * @throws ArrayIndexOutOfBoundsException if the destination is too small
+     */
+    public static int format(double result, char[] out, int offset) {
+        if (Double.isNaN(result)) return copy(NAN, out, offset);
+        if (Double.isInfinite(result)) {
+            int pos = offset;
+            if (result < 0) out[pos++] = '-';
+            return pos - offset + copy(INFINITY, out, pos);
+        }
+        if (result >= TWO_POW_63 || result < -TWO_POW_63) return copy(slowFormat(result), out, offset);
+        if (result == (long) result) return writeLong((long) result, out, offset);
+
+        double magnitude = Math.abs(result);
+        if (magnitude < FAST_PATH_LIMIT) {
+            double scaled = magnitude * SCALE;
+            double floor = Math.floor(scaled);
+            double fraction = scaled - floor;
+            double margin = 2 * SCALE * Math.ulp(magnitude);
+            if (Math.abs(fraction - 0.5) > margin) {
+                long digits = (long) floor + (fraction > 0.5 ? 1 : 0);
+                return writeFixed(result < 0, digits, out, offset);
+            }
+        }
+        return copy(slowFormat(result), out, offset);
+    }
+
+    /**
+     * Writes a formatted result as ASCII bytes at the buffer's position, advancing it.
+     *
+     * @param result the number to format
+     * @param out    the destination buffer
+     * @return the number of bytes written
+     * @throws java.nio.BufferOverflowException if the buffer has too little space remaining
+     */
+    public static int format(double result, ByteBuffer out) {
+        char[] scratch = SCRATCH.get();
+        int length = format(result, scratch, 0);
+        if (out.remaining() < length) throw new BufferOverflowException();
+        for (int i = 0; i < length; i++) {
+            out.put((byte) scratch[i]);
+        }
+        return length;
+    }
+
+    /**
+     * Writes a value given as a count of millionths, dropping trailing fractional zeros.
+     */
+    private static int writeFixed(boolean negative, long millionths, char[] out, int offset) {
+        int pos = offset;
+        if (negative) out[pos++] = '-';
+        pos += writeLong(millionths / SCALE, out, pos);
+        int fraction = (int) (millionths % SCALE);
+        if (fraction != 0) {
+            out[pos++] = '.';
+            int divisor = 100_000;
+            while (fraction != 0) {
+                int digit = fraction / divisor;
+                out[pos++] = (char) ('0' + digit);
+                fraction -= digit * divisor;
+                divisor /= 10;
+            }
+        }
+        return pos - offset;
+    }
+
+    private static int writeLong(long value, char[] out, int offset) {
+        int pos = offset;
+        if (value < 0) {
+            out[pos++] = '-';
+        } else {
+            value = -value;
+        }
+        // digits are produced from the negated value so that Long.MIN_VALUE needs no special case
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) digits++;
+        int end = pos + digits;
+        for (int i = end - 1; i >= pos; i--) {
+            out[i] = (char) ('0' - (value % 10));
+            value /= 10;
+        }
+        return end - offset;
+    }
+
+    private static int copy(char[] text, char[] out, int offset) {
+        System.arraycopy(text, 0, out, offset, text.length);
+        return text.length;
+    }
+
+    private static int copy(String text, char[] out, int offset) {
+        text.getChars(0, text.length(), out, offset);
+        return text.length();
+    }
+
+    private static String slowFormat(double result) {
+        // The fast path always writes '.', whatever the default locale
+        String text = String.format(Locale.ROOT, "%.6f", result);
+        int end = text.length();
+        while (text.charAt(end - 1) == '0') end--;
+        if (text.charAt(end - 1) == '.') end--;
+        return text.substring(0, end);
+    }
+}
@@ -0,0 +1,371 @@
+package com.calculator.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Keeps a {@link CalculatorSession} on disk so memory, history and a pending operation survive a
+ * restart.
+ * <p>
+ * A store is a directory of three files:
+ * <ul>
+ *   <li>{@code session.snap}, a snapshot of the memory, the pending operation and the history held
+ *       in memory, as fixed-width binary records protected by a CRC-32C checksum;</li>
+ *   <li>{@code session.log}, a write-ahead log of every change since the snapshot. Each entry is
+ *       appended, with its own checksum, before the change is applied, so after a crash the
+ *       session is rebuilt by replaying the log up to the first torn or corrupt entry;</li>
+ *   <li>{@code history.spill}, a {@link HistorySpillFile} with every record evicted from the
+ *       history. It is never read at startup; older pages are read on demand with
+ *       {@link #forEachArchived}.</li>
+ * </ul>
+ * Once the log exceeds the compaction threshold, and on {@link #close()}, a new snapshot is
+ * written to a temporary file, forced to disk and moved over the old one atomically, and the log
+ * is reset. Snapshot and log carry an epoch number, so a log left over from a compaction that was
+ * interrupted after the move is recognised as already applied. Snapshot and log are read into
+ * and written from direct buffers, so neither direction copies through the heap, and they are
+ * not left mapped, so they can be replaced and truncated on every platform.
+ * <p>
+ * Log entries reach the operating system as each change is made, so a crash of the JVM loses
+ * nothing; call {@link #sync()} to make them survive a power failure as well. A store is confined
+ * to the thread that uses its session.
+ */
+public class SessionStore implements Closeable {
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 1 << 20;
+
+    private static final int SNAPSHOT_MAGIC = 0x43534E50; // "CSNP"
+    private static final int LOG_MAGIC = 0x434C4F47; // "CLOG"
+    private static final int VERSION = 1;
+    private static final int SNAPSHOT_HEADER_LENGTH = 4 + 4 + 8 + 8 + 8 + 4 + 4 + 8 + 8 + 1;
+    private static final int SNAPSHOT_RECORD_LENGTH = 1 + 3 * Double.BYTES;
+    private static final int LOG_HEADER_LENGTH = 16;
+    private static final int MAX_ENTRY_LENGTH = 2 + 3 * Double.BYTES + Integer.BYTES;
+
+    private static final byte ENTRY_MEMORY = 1;
+    private static final byte ENTRY_PENDING = 2;
+    private static final byte ENTRY_BINARY = 3;
+    private static final byte ENTRY_UNARY = 4;
+    private static final byte NO_OPERATION = -1;
+
+    private static final Operations[] OPERATIONS = Operations.values();
+
+    private final Path snapshotFile;
+    private final Path logFile;
+    private final long compactionThreshold;
+    private final HistorySpillFile archive;
+    private final ByteBuffer entry = ByteBuffer.allocateDirect(MAX_ENTRY_LENGTH);
+    private final CRC32C crc = new CRC32C();
+    private FileChannel log;
+    private PersistentSession session;
+    private long epoch;
+    private long logLength;
+
+    public SessionStore(Path directory) throws IOException {
+        this(directory, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Opens a store, creating its directory if necessary.
+     *
+     * @param directory           the directory holding the store's files
+     * @param compactionThreshold the log length in bytes that triggers a new snapshot
+     * @throws IOException if the directory or the history archive cannot be opened
+     */
+    public SessionStore(Path directory, long compactionThreshold) throws IOException {
+        Files.createDirectories(directory);
+        this.snapshotFile = directory.resolve("session.snap");
+        this.logFile = directory.resolve("session.log");
+        this.compactionThreshold = compactionThreshold;
+        this.archive = new HistorySpillFile(directory.resolve("history.spill"));
+    }
+
+    /**
+     * Rebuilds the stored session from the snapshot and the log. Changes made to the returned
+     * session are written to the store. Can be called once per store.
+     *
+     * @param engine the engine for the session
+     * @return the restored session, or an empty one for a new store
+     * @throws IOException           if the files cannot be read, or the snapshot is corrupt
+     * @throws IllegalStateException if the session was already restored
+     */
+    public CalculatorSession restore(CalculatorEngine engine) throws IOException {
+        if (session != null) throw new IllegalStateException("Session already restored");
+        session = Files.exists(snapshotFile) ? readSnapshot(engine) : emptySession(engine);
+        log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        replayLog();
+        return session;
+    }
+
+    /**
+     * Reads archived history records, i.e. those evicted from the history held in memory, oldest
+     * first.
+     *
+     * @param from    the index of the first archived record
+     * @param count   the maximum number of records to read
+     * @param visitor receives each record
+     * @throws IOException if the archive cannot be read
+     */
+    public void forEachArchived(long from, long count, CalculationHistory.Visitor visitor) throws IOException {
+        archive.forEach(from, count, visitor);
+    }
+
+    /** Returns the number of archived history records. */
+    public long getArchivedCount() { return archive.getRecordCount(); }
+
+    /**
+     * Writes a new snapshot of the session and resets the log.
+     *
+     * @throws IOException           if the snapshot cannot be written
+     * @throws IllegalStateException if the session has not been restored
+     */
+    public void compact() throws IOException {
+        if (session == null) throw new IllegalStateException("Session not restored");
+        CalculationHistory history = session.getHistory();
+        int size = history.size();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(SNAPSHOT_HEADER_LENGTH + size * SNAPSHOT_RECORD_LENGTH + Integer.BYTES);
+        buffer.putInt(SNAPSHOT_MAGIC)
+                .putInt(VERSION)
+                .putLong(epoch + 1)
+                .putLong(history.getTotalCount())
+                .putLong(archive.getRecordCount())
+                .putInt(history.getCapacity())
+                .putInt(size)
+                .putDouble(session.getMemory())
+                .putDouble(session.getPendingOperand())
+                .put(ordinal(session.getPendingOperation()));
+        history.forEach((operation, first, second, result) ->
+                buffer.put((byte) operation.ordinal()).putDouble(first).putDouble(second).putDouble(result));
+        buffer.flip();
+        crc.reset();
+        crc.update(buffer.duplicate());
+        buffer.limit(buffer.capacity()).position(buffer.capacity() - Integer.BYTES);
+        buffer.putInt((int) crc.getValue()).flip();
+
+        // The snapshot counts the archived records, so they must be on disk first
+        archive.force();
+        Path temporary = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) out.write(buffer);
+            out.force(true);
+        }
+        Files.move(temporary, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        epoch++;
+        resetLog();
+    }
+
+    /**
+     * Forces the log and the archive to the storage device.
+     *
+     * @throws IOException if the files cannot be forced
+     */
+    public void sync() throws IOException {
+        if (log != null) log.force(false);
+        archive.force();
+    }
+
+    /**
+     * Compacts the log into a new snapshot, if a session was restored, and closes the files.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (session != null) compact();
+        } finally {
+            if (log != null) log.close();
+            archive.close();
+        }
+    }
+
+    void logMemory(double value) {
+        entry.clear();
+        entry.put(ENTRY_MEMORY).putDouble(value);
+        append();
+    }
+
+    void logPending(double operand, Operations operation) {
+        entry.clear();
+        entry.put(ENTRY_PENDING).putDouble(operand).put(ordinal(operation));
+        append();
+    }
+
+    void logBinary(Operations operation, double first, double second, double result) {
+        entry.clear();
+        entry.put(ENTRY_BINARY).put((byte) operation.ordinal()).putDouble(first).putDouble(second).putDouble(result);
+        append();
+    }
+
+    void logUnary(Operations operation, double operand, double result) {
+        entry.clear();
+        entry.put(ENTRY_UNARY).put((byte) operation.ordinal()).putDouble(operand).putDouble(result);
+        append();
+    }
+
+    /**
+     * Compacts if the log has grown past the threshold. Called once a logged change has been
+     * applied, so the snapshot includes it.
+     *
+     * @throws UncheckedIOException if the snapshot cannot be written
+     */
+    void compactIfDue() {
+        if (logLength < compactionThreshold) return;
+        try {
+            compact();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends the entry in the buffer with its checksum.
+     *
+     * @throws UncheckedIOException if the log cannot be written
+     */
+    private void append() {
+        try {
+            entry.flip();
+            crc.reset();
+            crc.update(entry.duplicate());
+            entry.limit(entry.limit() + Integer.BYTES);
+            entry.putInt(entry.limit() - Integer.BYTES, (int) crc.getValue());
+            while (entry.hasRemaining()) logLength += log.write(entry, logLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PersistentSession emptySession(CalculatorEngine engine) throws IOException {
+        archive.truncate(0);
+        return new PersistentSession(engine, new CalculationHistory(CalculationHistory.DEFAULT_CAPACITY, archive), this);
+    }
+
+    private PersistentSession readSnapshot(CalculatorEngine engine) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel in = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            buffer = readFully(in);
+        }
+        int size = buffer.limit();
+        if (size < SNAPSHOT_HEADER_LENGTH + Integer.BYTES) throw new IOException("Truncated session snapshot: " + snapshotFile);
+        crc.reset();
+        crc.update(buffer.duplicate().limit(size - Integer.BYTES));
+        if (buffer.getInt(0) != SNAPSHOT_MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getInt(size - Integer.BYTES) != (int) crc.getValue()) {
+            throw new IOException("Corrupt session snapshot: " + snapshotFile);
+        }
+        buffer.position(8);
+        epoch = buffer.getLong();
+        long totalCount = buffer.getLong();
+        long archivedCount = buffer.getLong();
+        int capacity = buffer.getInt();
+        int records = buffer.getInt();
+        double memory = buffer.getDouble();
+        double pendingOperand = buffer.getDouble();
+        Operations pendingOperation = operation(buffer.get());
+
+        // Records archived after the snapshot are archived again when the log is replayed
+        archive.truncate(archivedCount);
+        CalculationHistory history = new CalculationHistory(capacity, archive);
+        for (int i = 0; i < records; i++) {
+            Operations operation = OPERATIONS[buffer.get()];
+            history.add(buffer.getDouble(), buffer.getDouble(), operation, buffer.getDouble());
+        }
+        history.restoreTotalCount(totalCount);
+        PersistentSession restored = new PersistentSession(engine, history, this);
+        restored.applyMemory(memory);
+        restored.applyPending(pendingOperand, pendingOperation);
+        return restored;
+    }
+
+    /**
+     * Replays the log entries written since the snapshot, then truncates the log after the last
+     * intact entry.
+     */
+    private void replayLog() throws IOException {
+        ByteBuffer buffer = readFully(log);
+        int size = buffer.limit();
+        if (size < LOG_HEADER_LENGTH || buffer.getInt(0) != LOG_MAGIC || buffer.getInt(4) != VERSION || buffer.getLong(8) != epoch) {
+            resetLog();
+            return;
+        }
+        int position = LOG_HEADER_LENGTH;
+        while (position < size) {
+            int length = entryLength(buffer.get(position));
+            if (length < 0 || position + length + Integer.BYTES > size) break;
+            crc.reset();
+            crc.update(buffer.duplicate().position(position).limit(position + length));
+            if (buffer.getInt(position + length) != (int) crc.getValue()) break;
+            apply(buffer.get(position), buffer.duplicate().position(position + 1));
+            position += length + Integer.BYTES;
+        }
+        logLength = position;
+        log.truncate(logLength);
+    }
+
+    private void apply(byte type, ByteBuffer in) {
+        switch (type) {
+            case ENTRY_MEMORY:
+                session.applyMemory(in.getDouble());
+                break;
+            case ENTRY_PENDING:
+                session.applyPending(in.getDouble(), operation(in.get()));
+                break;
+            case ENTRY_BINARY:
+                session.applyBinary(OPERATIONS[in.get()], in.getDouble(), in.getDouble(), in.getDouble());
+                break;
+            case ENTRY_UNARY:
+                session.applyUnary(OPERATIONS[in.get()], in.getDouble(), in.getDouble());
+                break;
+            default:
+                throw new IllegalStateException("Unknown log entry");
+        }
+    }
+
+    /**
+     * Returns the length of an entry without its checksum, or -1 for an unknown type.
+     */
+    private static int entryLength(byte type) {
+        switch (type) {
+            case ENTRY_MEMORY: return 1 + Double.BYTES;
+            case ENTRY_PENDING: return 1 + Double.BYTES + 1;
+            case ENTRY_BINARY: return 2 + 3 * Double.BYTES;
+            case ENTRY_UNARY: return 2 + 2 * Double.BYTES;
+            default: return -1;
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel in) throws IOException {
+        long size = in.size();
+        if (size > Integer.MAX_VALUE) throw new IOException("File too large: " + size + " bytes");
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+        while (buffer.hasRemaining() && in.read(buffer, buffer.position()) >= 0) {
+            // Keep reading until the buffer is full or the file ends
+        }
+        return buffer.flip();
+    }
+
+    private void resetLog() throws IOException {
+        ByteBuffer header = ByteBuffer.allocateDirect(LOG_HEADER_LENGTH);
+        header.putInt(LOG_MAGIC).putInt(VERSION).putLong(epoch).flip();
+        log.truncate(0);
+        while (header.hasRemaining()) log.write(header, header.position());
+        log.force(false);
+        logLength = LOG_HEADER_LENGTH;
+    }
+
+    private static byte ordinal(Operations operation) {
+        return operation == null ? NO_OPERATION : (byte) operation.ordinal();
+    }
+
+    private static Operations operation(byte ordinal) {
+        return ordinal == NO_OPERATION ? null : OPERATIONS[ordinal];
+    }
+}
\ No newline at end of file
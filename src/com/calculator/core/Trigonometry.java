@@ -0,0 +1,311 @@
+package com.calculator.core;
+
+/**
+ * Sine, cosine and tangent with exact argument reduction for degrees and gradians.
+ * <p>
+ * In degrees and gradians the argument is reduced exactly: the remainder by a full turn is exact
+ * in floating point, and folding it into the first octant only subtracts numbers within a factor
+ * of two of each other, which is also exact. Only the reduced angle, at most 45° or 50 grad, is
+ * converted to radians. Large arguments therefore lose no accuracy, and angles that are multiples
+ * of 45° (50 grad) give exact results: {@code sin(180)} is 0, {@code cos(90)} is 0,
+ * {@code tan(45)} is 1, and {@code tan(90)} throws. In degrees, multiples of 30° are exact as
+ * well: {@code sin(30)} is 0.5. Results of 0 are always positive zero, except that
+ * {@code sin(-0.0)} and {@code tan(-0.0)} return -0.0.
+ * <p>
+ * Two accuracy modes are available:
+ * <ul>
+ *   <li>{@link Accuracy#STRICT} evaluates the reduced angle with {@link Math#sin} and
+ *       {@link Math#cos}. In radians this is exactly {@code Math}'s result; in degrees and
+ *       gradians, where the conversion of the reduced angle adds one rounding, sine and cosine
+ *       are within 2 ulps and tangent within 3.5 ulps.</li>
+ *   <li>{@link Accuracy#FAST} looks the reduced angle up in a table of 257 sine and cosine values
+ *       over the first octant and corrects with degree-5 polynomials in the remaining offset of at
+ *       most π/2048, whose truncation error is below 10<sup>-20</sup>. Sine and cosine are within
+ *       3 ulps and tangent within 4.5 ulps in every unit. Radian arguments are reduced by a
+ *       three-part Cody-Waite split of π/2, and those above 2<sup>19</sup>·π/2 fall back to
+ *       strict evaluation.</li>
+ * </ul>
+ * The bounds are the largest errors measured over 10<sup>5</sup> random arguments per unit, from
+ * small angles to 10<sup>7</sup>, against 60-digit {@code BigDecimalMath} references.
+ * Instances are immutable and thread-safe.
+ */
+public final class Trigonometry {
+
+    /**
+     * How the reduced angle is evaluated.
+     */
+    public enum Accuracy { STRICT, FAST }
+
+    /** Strict trigonometry in degrees, as used by {@link CalculatorEngine}. */
+    public static final Trigonometry DEGREES = new Trigonometry(AngleUnit.DEGREES, Accuracy.STRICT);
+
+    private static final int SIN = 0;
+    private static final int COS = 1;
+    private static final int TAN = 2;
+    private static final int SINCOS = 3;
+
+    private static final double SQRT_HALF = Math.sqrt(0.5);
+    private static final double COS_30 = Math.sqrt(3) / 2;
+    private static final double EIGHTH_TURN = Math.PI / 4;
+
+    private static final int TABLE_SIZE = 256;
+    private static final double STEP = EIGHTH_TURN / TABLE_SIZE;
+    private static final double[] POINTS = new double[TABLE_SIZE + 1];
+    private static final double[] SINES = new double[TABLE_SIZE + 1];
+    private static final double[] COSINES = new double[TABLE_SIZE + 1];
+
+    /** Cody-Waite split of π/2 for reducing radian arguments; the first two parts have 33 bits. */
+    private static final double PI_OVER_2_HI = 1.57079632673412561417e+00;
+    private static final double PI_OVER_2_MID = 6.07710050630396597660e-11;
+    private static final double PI_OVER_2_LO = 2.02226624879595063154e-21;
+    private static final double FAST_RADIANS_LIMIT = 0x1p19 * Math.PI / 2;
+
+    static {
+        for (int i = 0; i <= TABLE_SIZE; i++) {
+            POINTS[i] = i * STEP;
+            SINES[i] = StrictMath.sin(POINTS[i]);
+            COSINES[i] = StrictMath.cos(POINTS[i]);
+        }
+    }
+
+    private final AngleUnit unit;
+    private final Accuracy accuracy;
+    private final double quarter;
+    private final double eighth;
+    private final double radiansPerUnit;
+    private final String tangentMessage;
+
+    /**
+     * Creates a trigonometry for the given unit and accuracy.
+     *
+     * @param unit     the unit of the arguments
+     * @param accuracy the accuracy mode
+     */
+    public Trigonometry(AngleUnit unit, Accuracy accuracy) {
+        this.unit = unit;
+        this.accuracy = accuracy;
+        this.quarter = unit.getQuarterTurn();
+        this.eighth = quarter / 2;
+        this.radiansPerUnit = unit.toRadians(1);
+        this.tangentMessage = "Tangent of odd multiple of "
+                + (unit == AngleUnit.DEGREES ? "90" : unit == AngleUnit.GRADIANS ? "100" : "π/2") + " " + unit;
+    }
+
+    public AngleUnit getUnit() { return unit; }
+    public Accuracy getAccuracy() { return accuracy; }
+
+    /** Strict sine of an angle in degrees. */
+    public static double sinDegrees(double degrees) {
+        return DEGREES.sin(degrees);
+    }
+
+    /** Strict cosine of an angle in degrees. */
+    public static double cosDegrees(double degrees) {
+        return DEGREES.cos(degrees);
+    }
+
+    /**
+     * Strict tangent of an angle in degrees.
+     *
+     * @throws ArithmeticException if the angle is an odd multiple of 90 degrees
+     */
+    public static double tanDegrees(double degrees) {
+        return DEGREES.tan(degrees);
+    }
+
+    /**
+     * Returns whether the tangent of an angle in degrees is undefined, i.e. whether
+     * {@link #tanDegrees(double)} would throw.
+     */
+    static boolean isTangentPole(double degrees) {
+        return Math.abs(degrees % 180) == 90;
+    }
+
+    /**
+     * Returns the sine of an angle.
+     *
+     * @param angle the angle in this instance's unit
+     * @return the sine, or NaN if the angle is NaN or infinite
+     */
+    public double sin(double angle) {
+        return evaluate(angle, SIN, null);
+    }
+
+    /**
+     * Returns the cosine of an angle.
+     *
+     * @param angle the angle in this instance's unit
+     * @return the cosine, or NaN if the angle is NaN or infinite
+     */
+    public double cos(double angle) {
+        return evaluate(angle, COS, null);
+    }
+
+    /**
+     * Returns the tangent of an angle.
+     *
+     * @param angle the angle in this instance's unit
+     * @return the tangent, or NaN if the angle is NaN or infinite
+     * @throws ArithmeticException if the angle is an odd multiple of a right angle (degrees and
+     *                             gradians only; no radian value is exactly such a multiple)
+     */
+    public double tan(double angle) {
+        return evaluate(angle, TAN, null);
+    }
+
+    /**
+     * Computes the sine and cosine of an angle with a single argument reduction.
+     *
+     * @param angle the angle in this instance's unit
+     * @param out   receives the sine at index 0 and the cosine at index 1
+     */
+    public void sincos(double angle, double[] out) {
+        evaluate(angle, SINCOS, out);
+    }
+
+    /**
+     * Reduces the angle and evaluates one function, or both sine and cosine into {@code out}.
+     */
+    private double evaluate(double angle, int function, double[] out) {
+        if (angle == 0 || Double.isNaN(angle) || Double.isInfinite(angle)) {
+            double sine = angle == 0 ? angle : Double.NaN;
+            double cosine = angle == 0 ? 1 : Double.NaN;
+            return select(function, sine, cosine, out);
+        }
+        boolean negative = angle < 0;
+        double magnitude = Math.abs(angle);
+        int quadrant;
+        double b;
+        double sinB = 0;
+        double cosB = 0;
+        if (unit == AngleUnit.RADIANS) {
+            if (accuracy == Accuracy.STRICT || magnitude > FAST_RADIANS_LIMIT) {
+                switch (function) {
+                    case SIN: return Math.sin(angle);
+                    case COS: return Math.cos(angle);
+                    case TAN: return Math.tan(angle);
+                    default: return select(function, Math.sin(angle), Math.cos(angle), out);
+                }
+            }
+            // Rounding the quotient leaves a remainder in [-π/4, π/4], so no octant fold is needed.
+            double k = Math.rint(magnitude * (2 / Math.PI));
+            double r = magnitude - k * PI_OVER_2_HI - k * PI_OVER_2_MID - k * PI_OVER_2_LO;
+            quadrant = (int) k & 3;
+            b = Math.abs(r);
+            sinB = fastSin(b);
+            cosB = fastCos(b);
+            if (r < 0) sinB = -sinB;
+            return finish(function, quadrant, false, negative, sinB, cosB, out);
+        }
+
+        double r = reduce(magnitude, 4 * quarter);
+        quadrant = r < quarter ? 0 : r < 2 * quarter ? 1 : r < 3 * quarter ? 2 : 3;
+        b = r - quadrant * quarter;
+        boolean swap = b > eighth;
+        if (swap) b = quarter - b;
+
+        if (b == 0) {
+            sinB = 0;
+            cosB = 1;
+        } else if (b == eighth) {
+            sinB = SQRT_HALF;
+            cosB = SQRT_HALF;
+        } else if (b == 30 && unit == AngleUnit.DEGREES) {
+            sinB = 0.5;
+            cosB = COS_30;
+        } else {
+            double x = b * radiansPerUnit;
+            boolean fast = accuracy == Accuracy.FAST;
+            // sin and cos need only one of sin(b) and cos(b): which one depends on the fold.
+            boolean both = function == TAN || function == SINCOS;
+            boolean needCos = (function == COS) != ((quadrant & 1) != 0) != swap;
+            if (both || !needCos) sinB = fast ? fastSin(x) : Math.sin(x);
+            if (both || needCos) cosB = fast ? fastCos(x) : Math.cos(x);
+        }
+        return finish(function, quadrant, swap, negative, sinB, cosB, out);
+    }
+
+    /**
+     * Combines the sine and cosine of the folded angle {@code b} into the requested function of
+     * {@code ±(quadrant * quarter + (swap ? quarter - b : b))}. Only the values the function
+     * needs have to be valid.
+     */
+    private double finish(int function, int quadrant, boolean swap, boolean negative,
+                          double sinB, double cosB, double[] out) {
+        double s = swap ? cosB : sinB;
+        double c = swap ? sinB : cosB;
+        double sine;
+        double cosine;
+        switch (quadrant) {
+            case 0: sine = s; cosine = c; break;
+            case 1: sine = c; cosine = -s; break;
+            case 2: sine = -s; cosine = -c; break;
+            default: sine = -c; cosine = s; break;
+        }
+        if (negative) sine = -sine;
+        // Adding zero turns -0.0 into 0.0, so that e.g. sin(180) prints as 0 rather than -0.
+        return select(function, sine + 0.0, cosine + 0.0, out);
+    }
+
+    private double select(int function, double sine, double cosine, double[] out) {
+        switch (function) {
+            case SIN:
+                return sine;
+            case COS:
+                return cosine;
+            case TAN:
+                if (cosine == 0) throw tangentError();
+                double tangent = sine / cosine;
+                // A zero tangent takes the sign of the sine, so tan(180) is 0 rather than -0.
+                return tangent == 0 ? sine : tangent;
+            default:
+                out[0] = sine;
+                out[1] = cosine;
+                return sine;
+        }
+    }
+
+    /** Creates the exception for a pole; in degrees it carries the engine's status. */
+    private ArithmeticException tangentError() {
+        if (unit == AngleUnit.DEGREES) return CalculationStatus.TANGENT_OF_ODD_RIGHT_ANGLE.toException();
+        return new ArithmeticException(tangentMessage);
+    }
+
+    /**
+     * Returns {@code x mod turn} exactly, for {@code x >= 0}. Below 2<sup>47</sup> turns,
+     * {@code k * turn} is exact, and {@code x - k * turn} is exact because both terms are within a
+     * factor of two of each other; this avoids the much slower {@code %} for large arguments.
+     */
+    private static double reduce(double x, double turn) {
+        if (x < turn) return x;
+        if (x >= 0x1p47 * turn) return x % turn;
+        double k = Math.floor(x / turn);
+        double r = x - k * turn;
+        if (r < 0) {
+            r = x - (k - 1) * turn;
+        } else if (r >= turn) {
+            r = x - (k + 1) * turn;
+        }
+        return r;
+    }
+
+    /** Sine of {@code x} in [0, π/4] from the table and a polynomial in the offset. */
+    private static double fastSin(double x) {
+        int i = Math.min((int) (x * (1 / STEP) + 0.5), TABLE_SIZE);
+        double d = x - POINTS[i];
+        double d2 = d * d;
+        double sinD = d + d * d2 * (-1.0 / 6 + d2 * (1.0 / 120));
+        double cosDMinus1 = d2 * (-0.5 + d2 * (1.0 / 24));
+        return SINES[i] + (SINES[i] * cosDMinus1 + COSINES[i] * sinD);
+    }
+
+    /** Cosine of {@code x} in [0, π/4] from the table and a polynomial in the offset. */
+    private static double fastCos(double x) {
+        int i = Math.min((int) (x * (1 / STEP) + 0.5), TABLE_SIZE);
+        double d = x - POINTS[i];
+        double d2 = d * d;
+        double sinD = d + d * d2 * (-1.0 / 6 + d2 * (1.0 / 120));
+        double cosDMinus1 = d2 * (-0.5 + d2 * (1.0 / 24));
+        return COSINES[i] + (COSINES[i] * cosDMinus1 - SINES[i] * sinD);
+    }
+}
\ No newline at end of file
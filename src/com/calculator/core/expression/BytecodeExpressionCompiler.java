@@ -0,0 +1,51 @@
+package com.calculator.core.expression;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+/**
+ * Compiler that emits one hidden class per expression, so the JIT sees plain arithmetic and
+ * direct {@link Math} calls instead of a tree of evaluator objects.
+ * <p>
+ * If class generation or loading fails (e.g. the expression is too large for one method),
+ * the expression is compiled by the fallback compiler instead.
+ */
+public class BytecodeExpressionCompiler implements ExpressionCompiler {
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, List.class);
+
+    private final ExpressionCompiler fallback;
+
+    public BytecodeExpressionCompiler() {
+        this(new TreeExpressionCompiler());
+    }
+
+    public BytecodeExpressionCompiler(ExpressionCompiler fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public CompiledExpression compile(Expression expression) {
+        try {
+            return generate(expression);
+        } catch (Throwable e) {
+            if (e instanceof VirtualMachineError) throw (VirtualMachineError) e;
+            return fallback.compile(expression);
+        }
+    }
+
+    /**
+     * Generates and instantiates the hidden class for an expression without falling back.
+     *
+     * @param expression the parsed expression
+     * @return the generated evaluator
+     * @throws Throwable if the class cannot be generated, loaded or instantiated
+     */
+    CompiledExpression generate(Expression expression) throws Throwable {
+        byte[] classFile = new ExpressionClassWriter().write(expression);
+        MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classFile, true);
+        MethodHandle constructor = lookup.findConstructor(lookup.lookupClass(), CONSTRUCTOR_TYPE);
+        return (CompiledExpression) constructor.invoke(expression.getVariables());
+    }
+}
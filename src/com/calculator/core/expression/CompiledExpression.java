@@ -0,0 +1,39 @@
+package com.calculator.core.expression;
+
+import java.util.List;
+
+/**
+ * A formula compiled once and evaluated many times against different variable bindings.
+ * Implementations are immutable and may be shared between threads.
+ */
+public interface CompiledExpression {
+
+    /**
+     * Evaluates the formula.
+     *
+     * @param values variable values, indexed like {@link #getVariables()}
+     * @return the result
+     * @throws ArithmeticException if an operation is invalid (e.g., division by zero)
+     */
+    double evaluate(double[] values);
+
+    /**
+     * Returns the variable names in slot order.
+     *
+     * @return the variable names
+     */
+    List<String> getVariables();
+
+    /**
+     * Checks that the formula can be evaluated without values, as front-ends that take a bare
+     * formula require.
+     *
+     * @throws IllegalArgumentException naming the variables, if the formula has any
+     */
+    default void requireNoVariables() {
+        List<String> variables = getVariables();
+        if (variables.isEmpty()) return;
+        String prefix = variables.size() == 1 ? "Unknown variable: " : "Unknown variables: ";
+        throw new IllegalArgumentException(prefix + String.join(", ", variables));
+    }
+}
@@ -0,0 +1,50 @@
+package com.calculator.core.expression;
+
+import java.util.List;
+
+/**
+ * A parsed formula: its expression tree and the variables it refers to.
+ * <p>
+ * Variables are numbered in order of first appearance; that order defines the layout of the
+ * value array passed to {@link CompiledExpression#evaluate(double[])}.
+ */
+public final class Expression {
+    private final String source;
+    private final ExpressionNode root;
+    private final List<String> variables;
+
+    Expression(String source, ExpressionNode root, List<String> variables) {
+        this.source = source;
+        this.root = root;
+        this.variables = List.copyOf(variables);
+    }
+
+    /**
+     * Parses a formula such as {@code sin(x)^2 + log(y) mod 7}.
+     *
+     * @param source the formula text
+     * @return the parsed expression
+     * @throws IllegalArgumentException if the formula is malformed or nested too deeply
+     */
+    public static Expression parse(String source) {
+        return new ExpressionParser(source).parse();
+    }
+
+    /**
+     * Compiles this expression with the default tree compiler.
+     *
+     * @return a reusable evaluator
+     */
+    public CompiledExpression compile() {
+        return new TreeExpressionCompiler().compile(this);
+    }
+
+    public String getSource() { return source; }
+    public ExpressionNode getRoot() { return root; }
+    public List<String> getVariables() { return variables; }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,375 @@
+package com.calculator.core.expression;
+
+import com.calculator.core.CalculationStatus;
+import com.calculator.core.Operations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Emits the class file of a {@link GeneratedExpression} subclass whose {@code evaluate} method is
+ * the straight-line bytecode of one expression tree.
+ * <p>
+ * Class files are written at version 49 so that branches need no stack map frames. Operations
+ * call {@link Math} directly and the domain checks of {@code CalculatorEngine} are emitted inline,
+ * throwing the exception of the same {@link CalculationStatus}.
+ */
+final class ExpressionClassWriter {
+    static final String CLASS_NAME = "com/calculator/core/expression/GeneratedExpression$Compiled";
+
+    private static final String SUPER_NAME = "com/calculator/core/expression/GeneratedExpression";
+    private static final String STATUS_NAME = "com/calculator/core/CalculationStatus";
+    private static final int VERSION = 49;
+    private static final int ACC_FINAL_SUPER = 0x0030;
+    private static final int ACC_PUBLIC = 0x0001;
+
+    private static final int DCONST_0 = 0x0e, DCONST_1 = 0x0f, BIPUSH = 0x10, SIPUSH = 0x11;
+    private static final int LDC2_W = 0x14;
+    private static final int ALOAD_0 = 0x2a, ALOAD_1 = 0x2b, DALOAD = 0x31;
+    private static final int POP2 = 0x58, DUP2 = 0x5c;
+    private static final int DADD = 0x63, DSUB = 0x67, DMUL = 0x6b, DDIV = 0x6f, DREM = 0x73, DNEG = 0x77;
+    private static final int DCMPL = 0x97, DCMPG = 0x98, IFNE = 0x9a, IFGE = 0x9c, IFGT = 0x9d;
+    private static final int DRETURN = 0xaf, RETURN = 0xb1;
+    private static final int GETSTATIC = 0xb2, INVOKEVIRTUAL = 0xb6, INVOKESPECIAL = 0xb7, INVOKESTATIC = 0xb8;
+    private static final int ATHROW = 0xbf;
+
+    private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+    private final DataOutputStream poolOut = new DataOutputStream(pool);
+    private final Map<String, Integer> poolIndex = new HashMap<>();
+    private int poolCount = 1;
+
+    private byte[] code;
+    private int codeLength;
+    private int stack;
+    private int maxStack;
+
+    /**
+     * Generates the class file for an expression.
+     *
+     * @param expression the parsed expression
+     * @return the class file bytes
+     */
+    byte[] write(Expression expression) {
+        try {
+            int thisClass = classRef(CLASS_NAME);
+            int superClass = classRef(SUPER_NAME);
+            byte[] constructor = constructorCode(superClass);
+            int constructorStack = maxStack;
+            byte[] evaluate = evaluateCode(expression.getRoot());
+            int evaluateStack = maxStack;
+            int codeName = utf8("Code");
+            int initName = utf8("<init>");
+            int initDescriptor = utf8("(Ljava/util/List;)V");
+            int evaluateName = utf8("evaluate");
+            int evaluateDescriptor = utf8("([D)D");
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(VERSION);
+            out.writeShort(poolCount);
+            pool.writeTo(out);
+            out.writeShort(ACC_FINAL_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(2);
+            writeMethod(out, initName, initDescriptor, codeName, constructorStack, constructor);
+            writeMethod(out, evaluateName, evaluateDescriptor, codeName, evaluateStack, evaluate);
+            out.writeShort(0);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeMethod(DataOutputStream out, int name, int descriptor, int codeName,
+                                    int maxStack, byte[] code) throws IOException {
+        if (code.length > 0xFFFF) throw new IllegalStateException("Method too large");
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(codeName);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(2);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    private byte[] constructorCode(int superClass) throws IOException {
+        startCode();
+        op(ALOAD_0, 1);
+        op(ALOAD_1, 1);
+        op(INVOKESPECIAL, -2);
+        u2(methodRef(superClass, "<init>", "(Ljava/util/List;)V"));
+        op(RETURN, 0);
+        return Arrays.copyOf(code, codeLength);
+    }
+
+    private byte[] evaluateCode(ExpressionNode root) throws IOException {
+        startCode();
+        emit(root);
+        op(DRETURN, -2);
+        return Arrays.copyOf(code, codeLength);
+    }
+
+    private void emit(ExpressionNode node) throws IOException {
+        if (node instanceof ExpressionNode.Constant) {
+            pushDouble(((ExpressionNode.Constant) node).getValue());
+        } else if (node instanceof ExpressionNode.Variable) {
+            op(ALOAD_1, 1);
+            pushInt(((ExpressionNode.Variable) node).getIndex());
+            op(DALOAD, 0);
+        } else if (node instanceof ExpressionNode.Unary) {
+            ExpressionNode.Unary unary = (ExpressionNode.Unary) node;
+            emitUnary(unary.getOperation(), unary.getOperand());
+        } else {
+            ExpressionNode.Binary binary = (ExpressionNode.Binary) node;
+            emit(binary.getLeft());
+            emit(binary.getRight());
+            emitBinary(binary.getOperation());
+        }
+    }
+
+    private void emitBinary(Operations operation) throws IOException {
+        switch (operation) {
+            case ADD:
+                op(DADD, -2);
+                break;
+            case SUBTRACT:
+                op(DSUB, -2);
+                break;
+            case MULTIPLY:
+                op(DMUL, -2);
+                break;
+            case DIVIDE:
+                guard(DCMPL, IFNE, CalculationStatus.DIVISION_BY_ZERO);
+                op(DDIV, -2);
+                break;
+            case MODULUS:
+                guard(DCMPL, IFNE, CalculationStatus.MODULUS_BY_ZERO);
+                op(DREM, -2);
+                break;
+            case POWER:
+                invokeMath("pow", "(DD)D", -2);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + operation);
+        }
+    }
+
+    private void emitUnary(Operations operation, ExpressionNode operand) throws IOException {
+        switch (operation) {
+            case RECIPROCAL:
+                pushDouble(1);
+                emit(operand);
+                guard(DCMPL, IFNE, CalculationStatus.RECIPROCAL_OF_ZERO);
+                op(DDIV, -2);
+                return;
+            case TEN_POWER:
+                pushDouble(10);
+                emit(operand);
+                invokeMath("pow", "(DD)D", -2);
+                return;
+            default:
+                emit(operand);
+        }
+        switch (operation) {
+            case SIN:
+                invokeTrigonometry("sinDegrees");
+                break;
+            case COS:
+                invokeTrigonometry("cosDegrees");
+                break;
+            case TAN:
+                invokeTrigonometry("tanDegrees");
+                break;
+            case LOG:
+                guard(DCMPG, IFGT, CalculationStatus.LOGARITHM_OF_NON_POSITIVE);
+                invokeMath("log10", "(D)D", 0);
+                break;
+            case LN:
+                guard(DCMPG, IFGT, CalculationStatus.NATURAL_LOGARITHM_OF_NON_POSITIVE);
+                invokeMath("log", "(D)D", 0);
+                break;
+            case EXP:
+                invokeMath("exp", "(D)D", 0);
+                break;
+            case SQUARE:
+                op(DUP2, 2);
+                op(DMUL, -2);
+                break;
+            case SQRT:
+                guard(DCMPG, IFGE, CalculationStatus.SQUARE_ROOT_OF_NEGATIVE);
+                invokeMath("sqrt", "(D)D", 0);
+                break;
+            case NEGATE:
+                op(DNEG, 0);
+                break;
+            case FACTORIAL:
+                op(INVOKESTATIC, 0);
+                u2(methodRef(classRef(SUPER_NAME), "factorial", "(D)D"));
+                break;
+            case PI:
+                op(POP2, -2);
+                pushDouble(Math.PI);
+                break;
+            case ABSOLUTE:
+                invokeMath("abs", "(D)D", 0);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + operation);
+        }
+    }
+
+    /**
+     * Compares the value on top of the stack with zero and throws the exception of {@code status}
+     * unless {@code branch} is taken. The value itself is left on the stack.
+     */
+    private void guard(int compare, int branch, CalculationStatus status) throws IOException {
+        op(DUP2, 2);
+        op(DCONST_0, 2);
+        op(compare, -3);
+        int branchAt = codeLength;
+        op(branch, -1);
+        u2(0);
+        int statusClass = classRef(STATUS_NAME);
+        op(GETSTATIC, 1);
+        u2(fieldRef(statusClass, status.name(), "L" + STATUS_NAME + ";"));
+        op(INVOKEVIRTUAL, 0);
+        u2(methodRef(statusClass, "toException", "()Lcom/calculator/core/CalculationException;"));
+        op(ATHROW, -1);
+        int offset = codeLength - branchAt;
+        code[branchAt + 1] = (byte) (offset >> 8);
+        code[branchAt + 2] = (byte) offset;
+    }
+
+    private void invokeMath(String name, String descriptor, int stackDelta) throws IOException {
+        op(INVOKESTATIC, stackDelta);
+        u2(methodRef(classRef("java/lang/Math"), name, descriptor));
+    }
+
+    private void invokeTrigonometry(String name) throws IOException {
+        op(INVOKESTATIC, 0);
+        u2(methodRef(classRef("com/calculator/core/Trigonometry"), name, "(D)D"));
+    }
+
+    private void pushDouble(double value) throws IOException {
+        if (Double.doubleToRawLongBits(value) == 0L) {
+            op(DCONST_0, 2);
+        } else if (value == 1.0) {
+            op(DCONST_1, 2);
+        } else {
+            op(LDC2_W, 2);
+            u2(doubleConstant(value));
+        }
+    }
+
+    private void pushInt(int value) {
+        if (value >= -1 && value <= 5) {
+            op(0x03 + value, 1);
+        } else if (value <= Byte.MAX_VALUE) {
+            op(BIPUSH, 1);
+            u1(value);
+        } else {
+            op(SIPUSH, 1);
+            u2(value);
+        }
+    }
+
+    private void startCode() {
+        code = new byte[256];
+        codeLength = 0;
+        stack = 0;
+        maxStack = 0;
+    }
+
+    private void op(int opcode, int stackDelta) {
+        u1(opcode);
+        stack += stackDelta;
+        maxStack = Math.max(maxStack, stack);
+    }
+
+    private void u1(int value) {
+        if (codeLength == code.length) code = Arrays.copyOf(code, codeLength * 2);
+        code[codeLength++] = (byte) value;
+    }
+
+    private void u2(int value) {
+        u1(value >> 8);
+        u1(value);
+    }
+
+    private int utf8(String value) throws IOException {
+        Integer index = poolIndex.get("U" + value);
+        if (index != null) return index;
+        poolOut.writeByte(1);
+        poolOut.writeUTF(value);
+        return register("U" + value, 1);
+    }
+
+    private int classRef(String internalName) throws IOException {
+        Integer index = poolIndex.get("C" + internalName);
+        if (index != null) return index;
+        int name = utf8(internalName);
+        poolOut.writeByte(7);
+        poolOut.writeShort(name);
+        return register("C" + internalName, 1);
+    }
+
+    private int doubleConstant(double value) throws IOException {
+        String key = "D" + Double.doubleToRawLongBits(value);
+        Integer index = poolIndex.get(key);
+        if (index != null) return index;
+        poolOut.writeByte(6);
+        poolOut.writeDouble(value);
+        return register(key, 2);
+    }
+
+    private int methodRef(int owner, String name, String descriptor) throws IOException {
+        return memberRef(10, owner, name, descriptor);
+    }
+
+    private int fieldRef(int owner, String name, String descriptor) throws IOException {
+        return memberRef(9, owner, name, descriptor);
+    }
+
+    private int memberRef(int tag, int owner, String name, String descriptor) throws IOException {
+        String key = (tag == 9 ? "F" : "M") + owner + "." + name + descriptor;
+        Integer index = poolIndex.get(key);
+        if (index != null) return index;
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        String natKey = "N" + name + descriptor;
+        Integer nameAndType = poolIndex.get(natKey);
+        if (nameAndType == null) {
+            poolOut.writeByte(12);
+            poolOut.writeShort(nameIndex);
+            poolOut.writeShort(descriptorIndex);
+            nameAndType = register(natKey, 1);
+        }
+        poolOut.writeByte(tag);
+        poolOut.writeShort(owner);
+        poolOut.writeShort(nameAndType);
+        return register(key, 1);
+    }
+
+    private int register(String key, int slots) {
+        if (poolCount + slots > 0xFFFF) throw new IllegalStateException("Constant pool too large");
+        int index = poolCount;
+        poolIndex.put(key, index);
+        poolCount += slots;
+        return index;
+    }
+}
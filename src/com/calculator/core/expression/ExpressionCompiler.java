@@ -0,0 +1,26 @@
+package com.calculator.core.expression;
+
+/**
+ * Turns a parsed {@link Expression} into a {@link CompiledExpression}.
+ */
+public interface ExpressionCompiler {
+
+    /**
+     * Compiles an expression.
+     *
+     * @param expression the parsed expression
+     * @return a reusable evaluator
+     */
+    CompiledExpression compile(Expression expression);
+
+    /**
+     * Parses and compiles a formula.
+     *
+     * @param source the formula text
+     * @return a reusable evaluator
+     * @throws IllegalArgumentException if the formula is malformed
+     */
+    default CompiledExpression compile(String source) {
+        return compile(Expression.parse(source));
+    }
+}
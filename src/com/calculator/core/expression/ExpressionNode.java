@@ -0,0 +1,103 @@
+package com.calculator.core.expression;
+
+import com.calculator.core.Operations;
+
+/**
+ * Node of a parsed expression tree.
+ */
+public abstract class ExpressionNode {
+    /** The number of nodes on the longest path from this node to a leaf, this node included. */
+    final int depth;
+
+    ExpressionNode(int depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * A numeric literal or named constant.
+     */
+    public static final class Constant extends ExpressionNode {
+        private final double value;
+
+        Constant(double value) {
+            super(1);
+            this.value = value;
+        }
+
+        public double getValue() { return value; }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+    }
+
+    /**
+     * A reference to a variable, resolved to a slot in the evaluation array.
+     */
+    public static final class Variable extends ExpressionNode {
+        private final String name;
+        private final int index;
+
+        Variable(String name, int index) {
+            super(1);
+            this.name = name;
+            this.index = index;
+        }
+
+        public String getName() { return name; }
+        public int getIndex() { return index; }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * A unary operation applied to one operand.
+     */
+    public static final class Unary extends ExpressionNode {
+        private final Operations operation;
+        private final ExpressionNode operand;
+
+        Unary(Operations operation, ExpressionNode operand) {
+            super(operand.depth + 1);
+            this.operation = operation;
+            this.operand = operand;
+        }
+
+        public Operations getOperation() { return operation; }
+        public ExpressionNode getOperand() { return operand; }
+
+        @Override
+        public String toString() {
+            return operation + "(" + operand + ")";
+        }
+    }
+
+    /**
+     * A binary operation applied to two operands.
+     */
+    public static final class Binary extends ExpressionNode {
+        private final Operations operation;
+        private final ExpressionNode left;
+        private final ExpressionNode right;
+
+        Binary(Operations operation, ExpressionNode left, ExpressionNode right) {
+            super(Math.max(left.depth, right.depth) + 1);
+            this.operation = operation;
+            this.left = left;
+            this.right = right;
+        }
+
+        public Operations getOperation() { return operation; }
+        public ExpressionNode getLeft() { return left; }
+        public ExpressionNode getRight() { return right; }
+
+        @Override
+        public String toString() {
+            return operation + "(" + left + ", " + right + ")";
+        }
+    }
+}
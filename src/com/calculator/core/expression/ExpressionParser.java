@@ -0,0 +1,262 @@
+package com.calculator.core.expression;
+
+import com.calculator.core.Operations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Recursive-descent parser for calculator formulas.
+ * <p>
+ * Grammar, lowest precedence first:
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/' | '%' | 'mod') unary)*
+ * unary      := ('+' | '-') unary | power
+ * power      := postfix ('^' unary)?
+ * postfix    := primary ('!' | '²')*
+ * primary    := number | constant | variable | function '(' expression ')' | '√' postfix | '(' expression ')'
+ * </pre>
+ * Constants are {@code pi} (or {@code π}) and {@code e}; functions are the unary {@link Operations}
+ * by lower-case name (e.g. {@code sin}, {@code ten_power}) plus the aliases {@code sqr}, {@code recip},
+ * {@code abs} and {@code fact}.
+ * <p>
+ * Nesting is bounded, so that neither the parser nor the compilers and evaluators that walk the
+ * tree recursively can overflow the stack: parentheses, signs, roots and function calls may nest
+ * {@value #MAX_NESTING} levels deep, and the tree may be {@value #MAX_DEPTH} nodes deep, which
+ * also bounds chains such as {@code 1 + 1 + ... + 1}. Deeper input is rejected like any other
+ * malformed formula.
+ */
+final class ExpressionParser {
+    static final int MAX_NESTING = 256;
+    static final int MAX_DEPTH = 1024;
+
+    private static final Map<String, Operations> FUNCTIONS = new HashMap<>();
+
+    static {
+        for (Operations op : new Operations[] {
+                Operations.SIN, Operations.COS, Operations.TAN, Operations.LOG, Operations.LN, Operations.EXP,
+                Operations.SQUARE, Operations.RECIPROCAL, Operations.SQRT, Operations.NEGATE,
+                Operations.FACTORIAL, Operations.TEN_POWER, Operations.ABSOLUTE}) {
+            FUNCTIONS.put(op.name().toLowerCase(Locale.ROOT), op);
+        }
+        FUNCTIONS.put("sqr", Operations.SQUARE);
+        FUNCTIONS.put("recip", Operations.RECIPROCAL);
+        FUNCTIONS.put("abs", Operations.ABSOLUTE);
+        FUNCTIONS.put("fact", Operations.FACTORIAL);
+    }
+
+    private final String source;
+    private final List<String> variables;
+    private int pos;
+    private int nesting;
+
+    ExpressionParser(String source) {
+        this.source = source;
+        this.variables = new ArrayList<>();
+    }
+
+    Expression parse() {
+        ExpressionNode root = expression();
+        skipWhitespace();
+        if (pos < source.length()) throw error("Unexpected '" + source.charAt(pos) + "'");
+        return new Expression(source, root, variables);
+    }
+
+    private ExpressionNode expression() {
+        ExpressionNode node = term();
+        while (true) {
+            if (accept('+')) {
+                node = binary(Operations.ADD, node, term());
+            } else if (accept('-')) {
+                node = binary(Operations.SUBTRACT, node, term());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private ExpressionNode term() {
+        ExpressionNode node = unary();
+        while (true) {
+            if (accept('*')) {
+                node = binary(Operations.MULTIPLY, node, unary());
+            } else if (accept('/')) {
+                node = binary(Operations.DIVIDE, node, unary());
+            } else if (accept('%') || acceptKeyword("mod")) {
+                node = binary(Operations.MODULUS, node, unary());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private ExpressionNode unary() {
+        // Parentheses, signs, function arguments and exponents all recurse through here
+        enter();
+        try {
+            if (accept('-')) return unary(Operations.NEGATE, unary());
+            if (accept('+')) return unary();
+            return power();
+        } finally {
+            nesting--;
+        }
+    }
+
+    private ExpressionNode power() {
+        ExpressionNode base = postfix();
+        if (accept('^')) return binary(Operations.POWER, base, unary());
+        return base;
+    }
+
+    private ExpressionNode postfix() {
+        ExpressionNode node = primary();
+        while (true) {
+            if (accept('!')) {
+                node = unary(Operations.FACTORIAL, node);
+            } else if (accept('²')) {
+                node = unary(Operations.SQUARE, node);
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private ExpressionNode primary() {
+        skipWhitespace();
+        if (pos >= source.length()) throw error("Unexpected end of expression");
+        char c = source.charAt(pos);
+        if (c == '(') {
+            pos++;
+            ExpressionNode node = expression();
+            expect(')');
+            return node;
+        }
+        if (c == '√') {
+            pos++;
+            enter();
+            try {
+                return unary(Operations.SQRT, postfix());
+            } finally {
+                nesting--;
+            }
+        }
+        if (c == 'π') {
+            pos++;
+            return new ExpressionNode.Constant(Math.PI);
+        }
+        if (Character.isDigit(c) || c == '.') return number();
+        if (Character.isLetter(c) || c == '_') return identifier();
+        throw error("Unexpected '" + c + "'");
+    }
+
+    private ExpressionNode number() {
+        int start = pos;
+        while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) pos++;
+        if (pos < source.length() && (source.charAt(pos) == 'e' || source.charAt(pos) == 'E')) {
+            int exponent = pos + 1;
+            if (exponent < source.length() && (source.charAt(exponent) == '+' || source.charAt(exponent) == '-')) exponent++;
+            if (exponent < source.length() && Character.isDigit(source.charAt(exponent))) {
+                pos = exponent;
+                while (pos < source.length() && Character.isDigit(source.charAt(pos))) pos++;
+            }
+        }
+        try {
+            return new ExpressionNode.Constant(Double.parseDouble(source.substring(start, pos)));
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("Invalid number");
+        }
+    }
+
+    private ExpressionNode identifier() {
+        int start = pos;
+        String name = readIdentifier();
+        skipWhitespace();
+        if (pos < source.length() && source.charAt(pos) == '(') {
+            Operations function = FUNCTIONS.get(name.toLowerCase(Locale.ROOT));
+            if (function == null) {
+                pos = start;
+                throw error("Unknown function '" + name + "'");
+            }
+            pos++;
+            ExpressionNode argument = expression();
+            expect(')');
+            return unary(function, argument);
+        }
+        switch (name) {
+            case "pi":
+                return new ExpressionNode.Constant(Math.PI);
+            case "e":
+                return new ExpressionNode.Constant(Math.E);
+            case "mod":
+                pos = start;
+                throw error("Missing operand");
+            default:
+                int index = variables.indexOf(name);
+                if (index < 0) {
+                    index = variables.size();
+                    variables.add(name);
+                }
+                return new ExpressionNode.Variable(name, index);
+        }
+    }
+
+    private void enter() {
+        if (++nesting > MAX_NESTING) throw error("Expression nested too deeply");
+    }
+
+    private ExpressionNode unary(Operations operation, ExpressionNode operand) {
+        return checkDepth(new ExpressionNode.Unary(operation, operand));
+    }
+
+    private ExpressionNode binary(Operations operation, ExpressionNode left, ExpressionNode right) {
+        return checkDepth(new ExpressionNode.Binary(operation, left, right));
+    }
+
+    private ExpressionNode checkDepth(ExpressionNode node) {
+        if (node.depth > MAX_DEPTH) throw error("Expression nested too deeply");
+        return node;
+    }
+
+    private String readIdentifier() {
+        int start = pos;
+        while (pos < source.length() && (Character.isLetterOrDigit(source.charAt(pos)) || source.charAt(pos) == '_')) pos++;
+        return source.substring(start, pos);
+    }
+
+    private boolean accept(char expected) {
+        skipWhitespace();
+        if (pos < source.length() && source.charAt(pos) == expected) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        skipWhitespace();
+        int end = pos + keyword.length();
+        if (source.startsWith(keyword, pos)
+                && (end == source.length() || !Character.isLetterOrDigit(source.charAt(end)))) {
+            pos = end;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!accept(expected)) throw error("Expected '" + expected + "'");
+    }
+
+    private void skipWhitespace() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) pos++;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos + " in \"" + source + "\"");
+    }
+}
@@ -0,0 +1,32 @@
+package com.calculator.core.expression;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+
+import java.util.List;
+
+/**
+ * Base class of the hidden classes emitted by {@link BytecodeExpressionCompiler}.
+ * Generated subclasses only implement {@link #evaluate(double[])}.
+ */
+abstract class GeneratedExpression implements CompiledExpression {
+    private static final CalculatorEngine ENGINE = new CalculatorEngine();
+
+    private final List<String> variables;
+
+    GeneratedExpression(List<String> variables) {
+        this.variables = variables;
+    }
+
+    @Override
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Called by generated code for operations that are not emitted inline.
+     */
+    static double factorial(double number) {
+        return ENGINE.performUnaryOperation(number, Operations.FACTORIAL);
+    }
+}
@@ -0,0 +1,134 @@
+package com.calculator.core.expression;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+
+import java.util.List;
+
+/**
+ * Default compiler: turns the expression tree into a tree of small specialised evaluator objects.
+ * <p>
+ * All dispatch on node kind happens once at compile time and constant sub-expressions are folded,
+ * so evaluation neither re-parses nor allocates. Plain arithmetic is evaluated inline; every other
+ * operation goes through {@link CalculatorEngine} so results and error messages match the calculator.
+ */
+public class TreeExpressionCompiler implements ExpressionCompiler {
+    private final CalculatorEngine engine;
+
+    public TreeExpressionCompiler() {
+        this(new CalculatorEngine());
+    }
+
+    public TreeExpressionCompiler(CalculatorEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public CompiledExpression compile(Expression expression) {
+        return new TreeCompiledExpression(compileNode(expression.getRoot()), expression.getVariables());
+    }
+
+    /**
+     * Evaluation step of a compiled tree.
+     */
+    @FunctionalInterface
+    interface Evaluator {
+        double evaluate(double[] values);
+    }
+
+    private Evaluator compileNode(ExpressionNode node) {
+        if (node instanceof ExpressionNode.Constant) {
+            return new Constant(((ExpressionNode.Constant) node).getValue());
+        }
+        if (node instanceof ExpressionNode.Variable) {
+            int index = ((ExpressionNode.Variable) node).getIndex();
+            return values -> values[index];
+        }
+        if (node instanceof ExpressionNode.Unary) {
+            ExpressionNode.Unary unary = (ExpressionNode.Unary) node;
+            Evaluator operand = compileNode(unary.getOperand());
+            if (operand instanceof Constant) {
+                try {
+                    return new Constant(engine.performUnaryOperation(((Constant) operand).value, unary.getOperation()));
+                } catch (ArithmeticException e) {
+                    // leave the error to evaluation time
+                }
+            }
+            return compileUnary(unary.getOperation(), operand);
+        }
+        ExpressionNode.Binary binary = (ExpressionNode.Binary) node;
+        Evaluator left = compileNode(binary.getLeft());
+        Evaluator right = compileNode(binary.getRight());
+        if (left instanceof Constant && right instanceof Constant) {
+            try {
+                return new Constant(engine.performBinaryOperation(
+                        ((Constant) left).value, ((Constant) right).value, binary.getOperation()));
+            } catch (ArithmeticException e) {
+                // leave the error to evaluation time
+            }
+        }
+        return compileBinary(binary.getOperation(), left, right);
+    }
+
+    private Evaluator compileUnary(Operations operation, Evaluator operand) {
+        switch (operation) {
+            case NEGATE:
+                return values -> -operand.evaluate(values);
+            case SQUARE:
+                return values -> {
+                    double x = operand.evaluate(values);
+                    return x * x;
+                };
+            case ABSOLUTE:
+                return values -> Math.abs(operand.evaluate(values));
+            default:
+                return values -> engine.performUnaryOperation(operand.evaluate(values), operation);
+        }
+    }
+
+    private Evaluator compileBinary(Operations operation, Evaluator left, Evaluator right) {
+        switch (operation) {
+            case ADD:
+                return values -> left.evaluate(values) + right.evaluate(values);
+            case SUBTRACT:
+                return values -> left.evaluate(values) - right.evaluate(values);
+            case MULTIPLY:
+                return values -> left.evaluate(values) * right.evaluate(values);
+            default:
+                return values -> engine.performBinaryOperation(left.evaluate(values), right.evaluate(values), operation);
+        }
+    }
+
+    private static final class Constant implements Evaluator {
+        private final double value;
+
+        Constant(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double evaluate(double[] values) {
+            return value;
+        }
+    }
+
+    private static final class TreeCompiledExpression implements CompiledExpression {
+        private final Evaluator root;
+        private final List<String> variables;
+
+        TreeCompiledExpression(Evaluator root, List<String> variables) {
+            this.root = root;
+            this.variables = variables;
+        }
+
+        @Override
+        public double evaluate(double[] values) {
+            return root.evaluate(values);
+        }
+
+        @Override
+        public List<String> getVariables() {
+            return variables;
+        }
+    }
+}
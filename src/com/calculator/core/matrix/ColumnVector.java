@@ -0,0 +1,163 @@
+package com.calculator.core.matrix;
+
+import com.calculator.core.CalculationStatus;
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable column vector of doubles.
+ */
+public final class ColumnVector {
+    final double[] data;
+
+    ColumnVector(double[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Creates a vector from its elements.
+     *
+     * @param values the elements, copied
+     * @return the vector
+     * @throws IllegalArgumentException if there are no elements
+     */
+    public static ColumnVector of(double... values) {
+        if (values.length == 0) throw new IllegalArgumentException("A vector needs at least one element");
+        return new ColumnVector(values.clone());
+    }
+
+    public static ColumnVector zeros(int size) {
+        if (size < 1) throw new IllegalArgumentException("Invalid size: " + size);
+        return new ColumnVector(new double[size]);
+    }
+
+    public int size() { return data.length; }
+
+    public double get(int index) {
+        return data[Objects.checkIndex(index, data.length)];
+    }
+
+    /**
+     * Returns the elements.
+     *
+     * @return a copy of the elements
+     */
+    public double[] toArray() {
+        return data.clone();
+    }
+
+    /**
+     * Adds another vector element-wise.
+     *
+     * @param other a vector of the same size
+     * @return the sum
+     * @throws IllegalArgumentException if the sizes differ
+     */
+    public ColumnVector add(ColumnVector other) {
+        checkSize(other);
+        double[] result = new double[data.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = data[i] + other.data[i];
+        }
+        return new ColumnVector(result);
+    }
+
+    /**
+     * Subtracts another vector element-wise.
+     *
+     * @param other a vector of the same size
+     * @return the difference
+     * @throws IllegalArgumentException if the sizes differ
+     */
+    public ColumnVector subtract(ColumnVector other) {
+        checkSize(other);
+        double[] result = new double[data.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = data[i] - other.data[i];
+        }
+        return new ColumnVector(result);
+    }
+
+    public ColumnVector scale(double factor) {
+        double[] result = new double[data.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = data[i] * factor;
+        }
+        return new ColumnVector(result);
+    }
+
+    /**
+     * Returns the dot product with another vector.
+     *
+     * @param other a vector of the same size
+     * @return the dot product
+     * @throws IllegalArgumentException if the sizes differ
+     */
+    public double dot(ColumnVector other) {
+        checkSize(other);
+        double sum = 0;
+        for (int i = 0; i < data.length; i++) {
+            sum += data[i] * other.data[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the Euclidean length, scaled so that it neither overflows nor underflows for
+     * elements near the ends of the double range.
+     *
+     * @return the norm
+     */
+    public double norm() {
+        double largest = 0;
+        for (double value : data) {
+            largest = Math.max(largest, Math.abs(value));
+        }
+        if (largest == 0 || Double.isInfinite(largest)) return largest;
+        double sum = 0;
+        for (double value : data) {
+            double scaled = value / largest;
+            sum += scaled * scaled;
+        }
+        return largest * Math.sqrt(sum);
+    }
+
+    /**
+     * Applies a unary operation to every element through the engine's batch kernel, so the
+     * operation is resolved once rather than per element.
+     *
+     * @param engine    the engine
+     * @param operation a unary operation
+     * @return the results; invalid elements are status-boxed NaNs, see {@link CalculationStatus}
+     * @throws IllegalArgumentException if the operation is binary
+     */
+    public ColumnVector apply(CalculatorEngine engine, Operations operation) {
+        double[] result = new double[data.length];
+        engine.performUnaryOperation(data, 0, result, 0, data.length, operation, null);
+        return new ColumnVector(result);
+    }
+
+    private void checkSize(ColumnVector other) {
+        if (other.data.length != data.length) {
+            throw new IllegalArgumentException("Vector sizes differ: " + data.length + " and " + other.data.length);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ColumnVector && Arrays.equals(data, ((ColumnVector) o).data);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(data);
+    }
+}
\ No newline at end of file
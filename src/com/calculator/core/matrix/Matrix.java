@@ -0,0 +1,265 @@
+package com.calculator.core.matrix;
+
+import com.calculator.core.CalculationStatus;
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable matrix of doubles, stored row-major in one flat array.
+ * <p>
+ * Flat storage keeps every row contiguous, so the kernels stream through memory instead of
+ * chasing one array per row. {@link #multiply(Matrix)} is cache-blocked and runs on the common
+ * fork-join pool for large products; the determinant, inverse and solutions go through an
+ * {@link LUDecomposition}, which callers solving repeatedly with one matrix should keep.
+ */
+public final class Matrix {
+    private static final int TRANSPOSE_BLOCK = 32;
+
+    private final int rows;
+    private final int columns;
+    final double[] data;
+
+    Matrix(int rows, int columns, double[] data) {
+        this.rows = rows;
+        this.columns = columns;
+        this.data = data;
+    }
+
+    /**
+     * Creates a matrix from its elements in row-major order.
+     *
+     * @param rows    the number of rows
+     * @param columns the number of columns
+     * @param values  {@code rows × columns} elements, row by row, copied
+     * @return the matrix
+     * @throws IllegalArgumentException if a dimension is not positive or the number of values is wrong
+     */
+    public static Matrix of(int rows, int columns, double... values) {
+        checkDimensions(rows, columns);
+        if (values.length != rows * columns) {
+            throw new IllegalArgumentException("Expected " + rows * columns + " values, got " + values.length);
+        }
+        return new Matrix(rows, columns, values.clone());
+    }
+
+    public static Matrix zeros(int rows, int columns) {
+        checkDimensions(rows, columns);
+        return new Matrix(rows, columns, new double[rows * columns]);
+    }
+
+    public static Matrix identity(int size) {
+        checkDimensions(size, size);
+        double[] data = new double[size * size];
+        for (int i = 0; i < size; i++) {
+            data[i * size + i] = 1.0;
+        }
+        return new Matrix(size, size, data);
+    }
+
+    private static void checkDimensions(int rows, int columns) {
+        if (rows < 1 || columns < 1 || (long) rows * columns > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid dimensions: " + rows + "x" + columns);
+        }
+    }
+
+    public int getRows() { return rows; }
+
+    public int getColumns() { return columns; }
+
+    public boolean isSquare() { return rows == columns; }
+
+    public double get(int row, int column) {
+        Objects.checkIndex(row, rows);
+        Objects.checkIndex(column, columns);
+        return data[row * columns + column];
+    }
+
+    /**
+     * Returns the elements in row-major order.
+     *
+     * @return a copy of the elements
+     */
+    public double[] toArray() {
+        return data.clone();
+    }
+
+    /**
+     * Adds another matrix element-wise.
+     *
+     * @param other a matrix of the same dimensions
+     * @return the sum
+     * @throws IllegalArgumentException if the dimensions differ
+     */
+    public Matrix add(Matrix other) {
+        checkSameDimensions(other);
+        double[] result = new double[data.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = data[i] + other.data[i];
+        }
+        return new Matrix(rows, columns, result);
+    }
+
+    /**
+     * Subtracts another matrix element-wise.
+     *
+     * @param other a matrix of the same dimensions
+     * @return the difference
+     * @throws IllegalArgumentException if the dimensions differ
+     */
+    public Matrix subtract(Matrix other) {
+        checkSameDimensions(other);
+        double[] result = new double[data.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = data[i] - other.data[i];
+        }
+        return new Matrix(rows, columns, result);
+    }
+
+    public Matrix scale(double factor) {
+        double[] result = new double[data.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = data[i] * factor;
+        }
+        return new Matrix(rows, columns, result);
+    }
+
+    /**
+     * Multiplies by another matrix.
+     *
+     * @param other a matrix with as many rows as this one has columns
+     * @return the product
+     * @throws IllegalArgumentException if the dimensions do not match
+     */
+    public Matrix multiply(Matrix other) {
+        if (other.rows != columns) {
+            throw new IllegalArgumentException("Cannot multiply " + rows + "x" + columns + " by " + other.rows + "x" + other.columns);
+        }
+        return new Matrix(rows, other.columns, MatrixMultiplication.multiply(data, other.data, rows, columns, other.columns));
+    }
+
+    /**
+     * Multiplies by a column vector.
+     *
+     * @param vector a vector with as many elements as this matrix has columns
+     * @return the product
+     * @throws IllegalArgumentException if the sizes do not match
+     */
+    public ColumnVector multiply(ColumnVector vector) {
+        if (vector.size() != columns) {
+            throw new IllegalArgumentException("Cannot multiply " + rows + "x" + columns + " by a vector of size " + vector.size());
+        }
+        double[] x = vector.data;
+        double[] result = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            int row = i * columns;
+            double sum = 0;
+            for (int j = 0; j < columns; j++) {
+                sum += data[row + j] * x[j];
+            }
+            result[i] = sum;
+        }
+        return new ColumnVector(result);
+    }
+
+    /**
+     * Returns the transpose, copied in square tiles so that both the reads and the writes stay
+     * within a few cache lines at a time.
+     *
+     * @return the transpose
+     */
+    public Matrix transpose() {
+        double[] result = new double[data.length];
+        for (int rowBlock = 0; rowBlock < rows; rowBlock += TRANSPOSE_BLOCK) {
+            int rowEnd = Math.min(rowBlock + TRANSPOSE_BLOCK, rows);
+            for (int columnBlock = 0; columnBlock < columns; columnBlock += TRANSPOSE_BLOCK) {
+                int columnEnd = Math.min(columnBlock + TRANSPOSE_BLOCK, columns);
+                for (int i = rowBlock; i < rowEnd; i++) {
+                    for (int j = columnBlock; j < columnEnd; j++) {
+                        result[j * rows + i] = data[i * columns + j];
+                    }
+                }
+            }
+        }
+        return new Matrix(columns, rows, result);
+    }
+
+    /**
+     * Returns the determinant.
+     *
+     * @return the determinant
+     * @throws IllegalArgumentException if the matrix is not square
+     */
+    public double determinant() {
+        return new LUDecomposition(this).determinant();
+    }
+
+    /**
+     * Returns the inverse.
+     *
+     * @return the inverse
+     * @throws IllegalArgumentException if the matrix is not square
+     * @throws ArithmeticException      if the matrix is singular
+     */
+    public Matrix inverse() {
+        return new LUDecomposition(this).inverse();
+    }
+
+    /**
+     * Solves {@code Ax = b} for this matrix {@code A}.
+     *
+     * @param b the right-hand side
+     * @return {@code x}
+     * @throws IllegalArgumentException if the matrix is not square or the sizes do not match
+     * @throws ArithmeticException      if the matrix is singular
+     */
+    public ColumnVector solve(ColumnVector b) {
+        return new LUDecomposition(this).solve(b);
+    }
+
+    /**
+     * Applies a unary operation to every element through the engine's batch kernel, so the
+     * operation is resolved once rather than per element.
+     *
+     * @param engine    the engine
+     * @param operation a unary operation
+     * @return the results; invalid elements are status-boxed NaNs, see {@link CalculationStatus}
+     * @throws IllegalArgumentException if the operation is binary
+     */
+    public Matrix apply(CalculatorEngine engine, Operations operation) {
+        double[] result = new double[data.length];
+        engine.performUnaryOperation(data, 0, result, 0, data.length, operation, null);
+        return new Matrix(rows, columns, result);
+    }
+
+    private void checkSameDimensions(Matrix other) {
+        if (other.rows != rows || other.columns != columns) {
+            throw new IllegalArgumentException("Dimensions differ: " + rows + "x" + columns
+                    + " and " + other.rows + "x" + other.columns);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Matrix)) return false;
+        Matrix other = (Matrix) o;
+        return rows == other.rows && columns == other.columns && Arrays.equals(data, other.data);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + columns) + Arrays.hashCode(data);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) out.append(", ");
+            out.append(Arrays.toString(Arrays.copyOfRange(data, i * columns, (i + 1) * columns)));
+        }
+        return out.append(']').toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.calculator.core.matrix;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Cache-blocked multiplication of row-major matrices, split into row bands across the common
+ * fork-join pool when the product is large.
+ * <p>
+ * The loops run in {@code i-k-j} order, so the innermost loop adds a multiple of a row of the
+ * right operand to a row of the result: both are read sequentially and the JIT vectorizes it.
+ * The {@code k} and {@code j} ranges are cut into blocks so that the block of the right operand
+ * being reused by consecutive rows stays in cache. Each task owns a band of result rows, so
+ * tasks never write to the same memory.
+ */
+final class MatrixMultiplication {
+    static final int BLOCK = 64;
+    private static final long PARALLEL_THRESHOLD = 1L << 21;
+
+    private MatrixMultiplication() {
+    }
+
+    /**
+     * Multiplies an {@code n×k} matrix by a {@code k×m} matrix.
+     *
+     * @return the {@code n×m} product
+     */
+    static double[] multiply(double[] a, double[] b, int n, int k, int m) {
+        double[] c = new double[n * m];
+        if ((long) n * k * m < PARALLEL_THRESHOLD || n < 2 * BLOCK) {
+            multiplyRows(a, b, c, k, m, 0, n);
+        } else {
+            ForkJoinPool.commonPool().invoke(new BandTask(a, b, c, k, m, 0, n));
+        }
+        return c;
+    }
+
+    /**
+     * Computes the result rows {@code [from, to)}.
+     */
+    static void multiplyRows(double[] a, double[] b, double[] c, int k, int m, int from, int to) {
+        for (int rowBlock = from; rowBlock < to; rowBlock += BLOCK) {
+            int rowEnd = Math.min(rowBlock + BLOCK, to);
+            for (int innerBlock = 0; innerBlock < k; innerBlock += BLOCK) {
+                int innerEnd = Math.min(innerBlock + BLOCK, k);
+                for (int columnBlock = 0; columnBlock < m; columnBlock += BLOCK) {
+                    int columnEnd = Math.min(columnBlock + BLOCK, m);
+                    for (int i = rowBlock; i < rowEnd; i++) {
+                        int aRow = i * k;
+                        int cRow = i * m;
+                        for (int p = innerBlock; p < innerEnd; p++) {
+                            double factor = a[aRow + p];
+                            int bRow = p * m;
+                            for (int j = columnBlock; j < columnEnd; j++) {
+                                c[cRow + j] += factor * b[bRow + j];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits the result rows in halves, on block boundaries, down to one block of rows.
+     */
+    private static final class BandTask extends RecursiveAction {
+        private final double[] a;
+        private final double[] b;
+        private final double[] c;
+        private final int k;
+        private final int m;
+        private final int from;
+        private final int to;
+
+        BandTask(double[] a, double[] b, double[] c, int k, int m, int from, int to) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.k = k;
+            this.m = m;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BLOCK) {
+                multiplyRows(a, b, c, k, m, from, to);
+                return;
+            }
+            int middle = from + ((to - from) / 2 + BLOCK - 1) / BLOCK * BLOCK;
+            invokeAll(new BandTask(a, b, c, k, m, from, middle), new BandTask(a, b, c, k, m, middle, to));
+        }
+    }
+}
\ No newline at end of file
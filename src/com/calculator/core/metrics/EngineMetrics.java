@@ -0,0 +1,285 @@
+package com.calculator.core.metrics;
+
+import com.calculator.core.CalculationStatus;
+import com.calculator.core.Operations;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call counts, error counts and latency histograms for a {@link MeteredCalculatorEngine}.
+ * <p>
+ * Counters are {@link LongAdder}s, which stripe increments across cells under contention, and
+ * latencies go into one {@link LatencyHistogram} per operation. Reading the clock costs more than
+ * most operations, so only one call in {@link #getLatencySampleInterval()} is timed; counts are
+ * always exact. Recording can be switched on and off at runtime with {@link #setEnabled(boolean)},
+ * locally or over JMX; while it is off, a metered call costs one volatile read. Metrics start
+ * disabled.
+ */
+public class EngineMetrics implements EngineMetricsMXBean {
+    private static final Operations[] OPERATIONS = Operations.values();
+    private static final CalculationStatus[] STATUSES = CalculationStatus.values();
+
+    private volatile boolean enabled;
+    private volatile int latencySampleMask;
+    private final LongAdder[] calls = new LongAdder[OPERATIONS.length];
+    private final LongAdder[] errors = new LongAdder[OPERATIONS.length];
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+    private final LongAdder[] errorsByStatus = new LongAdder[STATUSES.length];
+    private final LongAdder formatCalls = new LongAdder();
+    private final LatencyHistogram formatLatency = new LatencyHistogram();
+
+    public EngineMetrics() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            calls[i] = new LongAdder();
+            errors[i] = new LongAdder();
+            latencies[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < STATUSES.length; i++) {
+            errorsByStatus[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() { return enabled; }
+
+    @Override
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    @Override
+    public int getLatencySampleInterval() { return latencySampleMask + 1; }
+
+    /**
+     * Sets how often calls are timed: 1 times every call, 16 every 16th call.
+     *
+     * @param interval a power of two between 1 and 2<sup>20</sup>
+     * @throws IllegalArgumentException if the interval is not such a power of two
+     */
+    @Override
+    public void setLatencySampleInterval(int interval) {
+        if (interval < 1 || interval > 1 << 20 || Integer.bitCount(interval) != 1) {
+            throw new IllegalArgumentException("Sample interval must be a power of two up to 2^20: " + interval);
+        }
+        this.latencySampleMask = interval - 1;
+    }
+
+    /**
+     * Returns whether the call with the given sequence number should be timed.
+     *
+     * @param sequence a per-caller counter, incremented on every call
+     * @return whether to time the call
+     */
+    public boolean shouldSample(int sequence) {
+        return (sequence & latencySampleMask) == 0;
+    }
+
+    /**
+     * Records a successful scalar operation.
+     *
+     * @param operation the operation
+     */
+    public void recordCall(Operations operation) {
+        calls[operation.ordinal()].increment();
+    }
+
+    /**
+     * Records a scalar operation that failed.
+     *
+     * @param operation the operation
+     * @param status    the error status
+     */
+    public void recordError(Operations operation, CalculationStatus status) {
+        calls[operation.ordinal()].increment();
+        errors[operation.ordinal()].increment();
+        errorsByStatus[status.ordinal()].increment();
+    }
+
+    /**
+     * Records the duration of a sampled scalar call, successful or not.
+     *
+     * @param operation the operation
+     * @param nanos     how long it took
+     */
+    public void recordLatency(Operations operation, long nanos) {
+        latencies[operation.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records a batch operation. Batches count every element as a call but do not feed the
+     * latency histograms, whose values would not be comparable with scalar calls.
+     *
+     * @param operation the operation
+     * @param length    the number of elements
+     * @param failures  the number of invalid elements
+     */
+    public void recordBatch(Operations operation, int length, int failures) {
+        calls[operation.ordinal()].add(length);
+        if (failures != 0) errors[operation.ordinal()].add(failures);
+    }
+
+    /** Records a call to {@code formatResult}. */
+    public void recordFormat() {
+        formatCalls.increment();
+    }
+
+    /**
+     * Records the duration of a sampled call to {@code formatResult}.
+     *
+     * @param nanos how long it took
+     */
+    public void recordFormatLatency(long nanos) {
+        formatLatency.record(nanos);
+    }
+
+    /**
+     * Returns the number of calls of an operation, including failed ones.
+     *
+     * @param operation the operation
+     * @return the call count
+     */
+    public long getCalls(Operations operation) { return calls[operation.ordinal()].sum(); }
+
+    /**
+     * Returns the number of failed calls of an operation.
+     *
+     * @param operation the operation
+     * @return the error count
+     */
+    public long getErrors(Operations operation) { return errors[operation.ordinal()].sum(); }
+
+    /**
+     * Returns a copy of an operation's latency histogram.
+     *
+     * @param operation the operation
+     * @return the histogram snapshot
+     */
+    public LatencyHistogram.Snapshot getLatency(Operations operation) {
+        return latencies[operation.ordinal()].snapshot();
+    }
+
+    /** Returns a copy of the {@code formatResult} latency histogram. */
+    public LatencyHistogram.Snapshot getFormatLatency() {
+        return formatLatency.snapshot();
+    }
+
+    @Override
+    public long getTotalCalls() {
+        long total = 0;
+        for (LongAdder counter : calls) total += counter.sum();
+        return total;
+    }
+
+    @Override
+    public long getTotalErrors() {
+        long total = 0;
+        for (LongAdder counter : errors) total += counter.sum();
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getCallCounts() { return byOperation(calls); }
+
+    @Override
+    public Map<String, Long> getErrorCounts() { return byOperation(errors); }
+
+    /**
+     * Returns the number of scalar calls that failed with a status.
+     *
+     * @param status the error status
+     * @return the error count
+     */
+    public long getErrors(CalculationStatus status) { return errorsByStatus[status.ordinal()].sum(); }
+
+    @Override
+    public Map<String, Long> getErrorsByMessage() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (CalculationStatus status : STATUSES) {
+            long count = errorsByStatus[status.ordinal()].sum();
+            if (count != 0) counts.put(status.getMessage(), count);
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public Map<String, Long> getMedianLatencies() { return latencyQuantile(0.5); }
+
+    @Override
+    public Map<String, Long> getP99Latencies() { return latencyQuantile(0.99); }
+
+    @Override
+    public Map<String, Long> getMaxLatencies() { return latencyQuantile(1.0); }
+
+    @Override
+    public long getFormatCount() { return formatCalls.sum(); }
+
+    @Override
+    public long getFormatMedianLatency() { return formatLatency.snapshot().getValueAtQuantile(0.5); }
+
+    @Override
+    public long getFormatP99Latency() { return formatLatency.snapshot().getValueAtQuantile(0.99); }
+
+    /**
+     * Returns the latency snapshots of every operation that has been called.
+     *
+     * @return the snapshots in operation order
+     */
+    public Map<Operations, LatencyHistogram.Snapshot> getLatencies() {
+        Map<Operations, LatencyHistogram.Snapshot> snapshots = new EnumMap<>(Operations.class);
+        for (Operations operation : OPERATIONS) {
+            LatencyHistogram.Snapshot snapshot = latencies[operation.ordinal()].snapshot();
+            if (snapshot.getCount() != 0) snapshots.put(operation, snapshot);
+        }
+        return snapshots;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            calls[i].reset();
+            errors[i].reset();
+            latencies[i].reset();
+        }
+        for (LongAdder counter : errorsByStatus) counter.reset();
+        formatCalls.reset();
+        formatLatency.reset();
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server under
+     * {@code com.calculator:type=EngineMetrics,name=<name>}.
+     *
+     * @param name the value of the {@code name} key
+     * @return the object name the metrics were registered under
+     * @throws IllegalStateException if registration fails, e.g. because the name is taken
+     */
+    public ObjectName register(String name) {
+        try {
+            ObjectName objectName = new ObjectName("com.calculator:type=EngineMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register engine metrics: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Long> byOperation(LongAdder[] counters) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Operations operation : OPERATIONS) {
+            long count = counters[operation.ordinal()].sum();
+            if (count != 0) counts.put(operation.name(), count);
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    private Map<String, Long> latencyQuantile(double quantile) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        getLatencies().forEach((operation, snapshot) -> values.put(operation.name(), snapshot.getValueAtQuantile(quantile)));
+        return Collections.unmodifiableMap(values);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.calculator.core.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link EngineMetrics}. Maps are keyed by operation name, or by error message for
+ * {@link #getErrorsByMessage()}; latencies are in nanoseconds.
+ */
+public interface EngineMetricsMXBean {
+    boolean isEnabled();
+    void setEnabled(boolean enabled);
+
+    int getLatencySampleInterval();
+    void setLatencySampleInterval(int interval);
+
+    long getTotalCalls();
+    long getTotalErrors();
+    Map<String, Long> getCallCounts();
+    Map<String, Long> getErrorCounts();
+    Map<String, Long> getErrorsByMessage();
+
+    Map<String, Long> getMedianLatencies();
+    Map<String, Long> getP99Latencies();
+    Map<String, Long> getMaxLatencies();
+
+    long getFormatCount();
+    long getFormatMedianLatency();
+    long getFormatP99Latency();
+
+    /** Sets every counter and histogram to zero. */
+    void reset();
+}
\ No newline at end of file
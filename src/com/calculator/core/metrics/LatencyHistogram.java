@@ -0,0 +1,125 @@
+package com.calculator.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent histogram of durations in nanoseconds with log-linear buckets, in the style of
+ * HdrHistogram.
+ * <p>
+ * Values below 64 ns get one bucket each. Above that, every power of two is split into 32 equal
+ * buckets, so any recorded value is reported within about 3% of its true value, with a fixed
+ * footprint of under 2,000 counters up to the maximum of about 2<sup>40</sup> ns (18 minutes).
+ * Larger values are clamped. Recording is a bucket computation plus one atomic increment.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+    /** Values below {@code 2 * SUB_BUCKETS} are stored exactly, one bucket each. */
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration; negative values count as 0
+     */
+    public void record(long nanos) {
+        counts.getAndIncrement(bucket(nanos));
+    }
+
+    /** Returns a consistent-enough copy of the counts for computing statistics. */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy);
+    }
+
+    /** Sets every count to zero. */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < LINEAR_LIMIT) return nanos < 0 ? 0 : (int) nanos;
+        long value = Math.min(nanos, MAX_VALUE);
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /** Returns the largest value that falls into the bucket. */
+    static long highestValue(int bucket) {
+        if (bucket < LINEAR_LIMIT) return bucket;
+        int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        int subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Immutable copy of a histogram.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long total;
+
+        Snapshot(long[] counts) {
+            this.counts = counts;
+            long sum = 0;
+            for (long count : counts) {
+                sum += count;
+            }
+            this.total = sum;
+        }
+
+        /** Returns the number of recorded values. */
+        public long getCount() { return total; }
+
+        /**
+         * Returns the value below which the given fraction of recorded values fall, rounded up
+         * to its bucket's upper bound.
+         *
+         * @param quantile the fraction, between 0 and 1
+         * @return the value in nanoseconds, or 0 if nothing was recorded
+         */
+        public long getValueAtQuantile(double quantile) {
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return highestValue(i);
+            }
+            return highestValue(counts.length - 1);
+        }
+
+        /** Returns the upper bound of the highest non-empty bucket, or 0 if nothing was recorded. */
+        public long getMax() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] != 0) return highestValue(i);
+            }
+            return 0;
+        }
+
+        /** Returns the mean, using each bucket's midpoint. */
+        public double getMean() {
+            if (total == 0) return 0;
+            double sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    long low = i == 0 ? 0 : highestValue(i - 1) + 1;
+                    sum += counts[i] * (low + highestValue(i)) / 2.0;
+                }
+            }
+            return sum / total;
+        }
+    }
+}
\ No newline at end of file
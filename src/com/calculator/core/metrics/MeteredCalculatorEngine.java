@@ -0,0 +1,123 @@
+package com.calculator.core.metrics;
+
+import com.calculator.core.CalculationStatus;
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * {@link CalculatorEngine} that records calls, errors and latencies in {@link EngineMetrics}
+ * before delegating to another engine.
+ * <p>
+ * Every method first checks {@link EngineMetrics#isEnabled()}; while metrics are off it delegates
+ * straight away. When they are on, every call is counted and sampled calls are also timed.
+ * Scalar calls are metered in the status-returning {@code evaluate} methods, which the throwing
+ * methods build on, so errors are counted without catching exceptions. The
+ * sampling counter is a plain field, so concurrent callers may occasionally time a call more or
+ * less than the interval asks for.
+ */
+public class MeteredCalculatorEngine extends CalculatorEngine {
+    private final CalculatorEngine delegate;
+    private final EngineMetrics metrics;
+    private int sequence;
+
+    public MeteredCalculatorEngine(EngineMetrics metrics) {
+        this(new CalculatorEngine(), metrics);
+    }
+
+    public MeteredCalculatorEngine(CalculatorEngine delegate, EngineMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    public EngineMetrics getMetrics() { return metrics; }
+
+    @Override
+    public double evaluateBinaryOperation(double first, double second, Operations operator) {
+        if (!metrics.isEnabled()) return delegate.evaluateBinaryOperation(first, second, operator);
+        boolean timed = metrics.shouldSample(sequence++);
+        long start = timed ? System.nanoTime() : 0;
+        double result = delegate.evaluateBinaryOperation(first, second, operator);
+        if (timed) metrics.recordLatency(operator, System.nanoTime() - start);
+        CalculationStatus status = CalculationStatus.of(result);
+        if (status == CalculationStatus.OK) {
+            metrics.recordCall(operator);
+        } else {
+            metrics.recordError(operator, status);
+        }
+        return result;
+    }
+
+    @Override
+    public double evaluateUnaryOperation(double number, Operations operator) {
+        if (!metrics.isEnabled()) return delegate.evaluateUnaryOperation(number, operator);
+        boolean timed = metrics.shouldSample(sequence++);
+        long start = timed ? System.nanoTime() : 0;
+        double result = delegate.evaluateUnaryOperation(number, operator);
+        if (timed) metrics.recordLatency(operator, System.nanoTime() - start);
+        CalculationStatus status = CalculationStatus.of(result);
+        if (status == CalculationStatus.OK) {
+            metrics.recordCall(operator);
+        } else {
+            metrics.recordError(operator, status);
+        }
+        return result;
+    }
+
+    @Override
+    public int performBinaryOperation(double[] first, int firstOffset, double[] second, int secondOffset,
+                                      double[] result, int resultOffset, int length, Operations operator, long[] errors) {
+        int failures = delegate.performBinaryOperation(first, firstOffset, second, secondOffset,
+                result, resultOffset, length, operator, errors);
+        if (metrics.isEnabled()) metrics.recordBatch(operator, length, failures);
+        return failures;
+    }
+
+    @Override
+    public int performBinaryOperation(DoubleBuffer first, DoubleBuffer second, DoubleBuffer result,
+                                      Operations operator, long[] errors) {
+        int length = first.remaining();
+        int failures = delegate.performBinaryOperation(first, second, result, operator, errors);
+        if (metrics.isEnabled()) metrics.recordBatch(operator, length, failures);
+        return failures;
+    }
+
+    @Override
+    public int performUnaryOperation(double[] numbers, int offset, double[] result, int resultOffset,
+                                     int length, Operations operator, long[] errors) {
+        int failures = delegate.performUnaryOperation(numbers, offset, result, resultOffset, length, operator, errors);
+        if (metrics.isEnabled()) metrics.recordBatch(operator, length, failures);
+        return failures;
+    }
+
+    @Override
+    public int performUnaryOperation(DoubleBuffer numbers, DoubleBuffer result, Operations operator, long[] errors) {
+        int length = numbers.remaining();
+        int failures = delegate.performUnaryOperation(numbers, result, operator, errors);
+        if (metrics.isEnabled()) metrics.recordBatch(operator, length, failures);
+        return failures;
+    }
+
+    @Override
+    public String formatResult(double result) {
+        if (!metrics.isEnabled()) return delegate.formatResult(result);
+        metrics.recordFormat();
+        if (!metrics.shouldSample(sequence++)) return delegate.formatResult(result);
+        long start = System.nanoTime();
+        String formatted = delegate.formatResult(result);
+        metrics.recordFormatLatency(System.nanoTime() - start);
+        return formatted;
+    }
+
+    @Override
+    public StringBuilder formatResult(double result, StringBuilder out) {
+        if (!metrics.isEnabled()) return delegate.formatResult(result, out);
+        metrics.recordFormat();
+        if (!metrics.shouldSample(sequence++)) return delegate.formatResult(result, out);
+        long start = System.nanoTime();
+        delegate.formatResult(result, out);
+        metrics.recordFormatLatency(System.nanoTime() - start);
+        return out;
+    }
+}
\ No newline at end of file
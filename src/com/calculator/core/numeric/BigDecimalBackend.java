@@ -0,0 +1,200 @@
+package com.calculator.core.numeric;
+
+import com.calculator.core.CalculationStatus;
+import com.calculator.core.Gamma;
+import com.calculator.core.Operations;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * {@link NumericBackend} over {@link BigDecimal} for results that must be exact in decimal,
+ * such as {@code 0.1 + 0.2 = 0.3}.
+ * <p>
+ * Every result is rounded to the backend's {@link MathContext}. Trigonometric arguments are
+ * reduced modulo 360 degrees exactly, and angles whose sine, cosine or tangent is 0, ±1/2 or ±1
+ * give exact results. Factorials of non-integers are {@code Γ(n + 1)} at {@code double} precision,
+ * as in the {@code double} engine, and are rounded to the 13 digits that are accurate. Results the
+ * {@code double} engine would round to infinity raise {@link CalculationStatus#RESULT_TOO_LARGE}.
+ */
+public class BigDecimalBackend implements NumericBackend<BigDecimal> {
+    private static final BigDecimal FULL_TURN = BigDecimal.valueOf(360);
+    private static final BigDecimal HALF_TURN = BigDecimal.valueOf(180);
+    private static final BigDecimal QUARTER_TURN = BigDecimal.valueOf(90);
+    private static final BigDecimal THREE_QUARTER_TURN = BigDecimal.valueOf(270);
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+    private static final int MAX_FACTORIAL = 1_000_000;
+    private static final BigDecimal MAX_EXPONENT = BigDecimal.valueOf(999_999_999);
+    /** Significant digits of {@link Gamma#gamma}, to which non-integral factorials are rounded. */
+    private static final int GAMMA_DIGITS = 13;
+
+    private final MathContext mathContext;
+
+    /**
+     * Creates a backend with 34 significant digits ({@link MathContext#DECIMAL128}).
+     */
+    public BigDecimalBackend() {
+        this(MathContext.DECIMAL128);
+    }
+
+    /**
+     * Creates a backend with the given precision and rounding.
+     *
+     * @param mathContext the precision of every result; must not be unlimited
+     */
+    public BigDecimalBackend(MathContext mathContext) {
+        if (mathContext.getPrecision() <= 0) throw new IllegalArgumentException("Precision must be positive");
+        this.mathContext = mathContext;
+    }
+
+    public MathContext getMathContext() { return mathContext; }
+
+    @Override
+    public BigDecimal performBinaryOperation(BigDecimal first, BigDecimal second, Operations operator) {
+        switch (operator) {
+            case ADD:
+                return first.add(second, mathContext);
+            case SUBTRACT:
+                return first.subtract(second, mathContext);
+            case MULTIPLY:
+                return first.multiply(second, mathContext);
+            case DIVIDE:
+                if (second.signum() == 0) throw CalculationStatus.DIVISION_BY_ZERO.toException();
+                return first.divide(second, mathContext);
+            case MODULUS:
+                if (second.signum() == 0) throw CalculationStatus.MODULUS_BY_ZERO.toException();
+                return first.remainder(second, mathContext);
+            case POWER:
+                return BigDecimalMath.pow(first, second, mathContext);
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + operator);
+        }
+    }
+
+    @Override
+    public BigDecimal performUnaryOperation(BigDecimal number, Operations operator) {
+        switch (operator) {
+            case SIN:
+                return sinDegrees(number);
+            case COS:
+                return sinDegrees(number.add(QUARTER_TURN));
+            case TAN:
+                return tanDegrees(number);
+            case LOG:
+                if (number.signum() <= 0) throw CalculationStatus.LOGARITHM_OF_NON_POSITIVE.toException();
+                return BigDecimalMath.log10(number, mathContext);
+            case LN:
+                if (number.signum() <= 0) throw CalculationStatus.NATURAL_LOGARITHM_OF_NON_POSITIVE.toException();
+                return BigDecimalMath.ln(number, mathContext);
+            case EXP:
+                return BigDecimalMath.exp(number, mathContext);
+            case SQUARE:
+                return number.multiply(number, mathContext);
+            case RECIPROCAL:
+                if (number.signum() == 0) throw CalculationStatus.RECIPROCAL_OF_ZERO.toException();
+                return BigDecimal.ONE.divide(number, mathContext);
+            case SQRT:
+                if (number.signum() < 0) throw CalculationStatus.SQUARE_ROOT_OF_NEGATIVE.toException();
+                return number.sqrt(mathContext);
+            case NEGATE:
+                return number.negate(mathContext);
+            case FACTORIAL:
+                return factorial(number);
+            case PI:
+                return BigDecimalMath.pi(mathContext);
+            case TEN_POWER:
+                if (BigDecimalMath.isInteger(number)) {
+                    if (number.abs().compareTo(MAX_EXPONENT) > 0) {
+                        // The double engine returns infinity and zero here
+                        if (number.signum() > 0) throw CalculationStatus.RESULT_TOO_LARGE.toException();
+                        return BigDecimal.ZERO;
+                    }
+                    return BigDecimal.ONE.scaleByPowerOfTen(number.intValueExact()).round(mathContext);
+                }
+                return BigDecimalMath.pow(BigDecimal.TEN, number, mathContext);
+            case ABSOLUTE:
+                return number.abs(mathContext);
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + operator);
+        }
+    }
+
+    @Override
+    public BigDecimal parse(String text) {
+        return new BigDecimal(text.trim());
+    }
+
+    /**
+     * Formats a result without trailing zeros; plain notation is used unless the decimal exponent
+     * exceeds the precision, where scientific notation avoids long runs of zeros.
+     *
+     * @param result the number to format
+     * @return formatted string
+     */
+    @Override
+    public String formatResult(BigDecimal result) {
+        BigDecimal stripped = result.round(mathContext).stripTrailingZeros();
+        int exponent = stripped.precision() - stripped.scale() - 1;
+        return Math.abs(exponent) <= mathContext.getPrecision() ? stripped.toPlainString() : stripped.toString();
+    }
+
+    private BigDecimal sinDegrees(BigDecimal degrees) {
+        BigDecimal angle = degrees.remainder(FULL_TURN);
+        if (angle.signum() < 0) angle = angle.add(FULL_TURN);
+        // sin(180 - a) = sin(a) and sin(a - 360) = sin(a) map every angle to [-90, 90]
+        if (angle.compareTo(QUARTER_TURN) > 0) {
+            angle = angle.compareTo(THREE_QUARTER_TURN) < 0 ? HALF_TURN.subtract(angle) : angle.subtract(FULL_TURN);
+        }
+        BigDecimal magnitude = angle.abs();
+        BigDecimal exact = null;
+        if (magnitude.signum() == 0) {
+            exact = BigDecimal.ZERO;
+        } else if (magnitude.compareTo(BigDecimal.valueOf(30)) == 0) {
+            exact = HALF;
+        } else if (magnitude.compareTo(QUARTER_TURN) == 0) {
+            exact = BigDecimal.ONE;
+        }
+        if (exact != null) return angle.signum() < 0 ? exact.negate() : exact;
+        MathContext wc = new MathContext(mathContext.getPrecision() + 5);
+        BigDecimal radians = angle.multiply(BigDecimalMath.pi(wc), wc).divide(HALF_TURN, wc);
+        return BigDecimalMath.sin(radians, mathContext);
+    }
+
+    private BigDecimal tanDegrees(BigDecimal degrees) {
+        BigDecimal angle = degrees.remainder(HALF_TURN);
+        if (angle.signum() < 0) angle = angle.add(HALF_TURN);
+        if (angle.compareTo(QUARTER_TURN) == 0) throw CalculationStatus.TANGENT_OF_ODD_RIGHT_ANGLE.toException();
+        if (angle.signum() == 0) return BigDecimal.ZERO;
+        if (angle.compareTo(BigDecimal.valueOf(45)) == 0) return BigDecimal.ONE;
+        if (angle.compareTo(BigDecimal.valueOf(135)) == 0) return BigDecimal.ONE.negate();
+        MathContext wc = new MathContext(mathContext.getPrecision() + 5);
+        BigDecimal radians = angle.multiply(BigDecimalMath.pi(wc), wc).divide(HALF_TURN, wc);
+        return BigDecimalMath.tan(radians, mathContext);
+    }
+
+    /**
+     * Computes integral factorials exactly and others as {@code Γ(n + 1)} at {@code double}
+     * precision, as the {@code double} engine does.
+     */
+    private BigDecimal factorial(BigDecimal number) {
+        if (!BigDecimalMath.isInteger(number)) {
+            double gamma = Gamma.gamma(number.doubleValue() + 1);
+            if (Double.isInfinite(gamma)) throw CalculationStatus.RESULT_TOO_LARGE.toException();
+            // Far below zero the argument rounds to a pole as a double, where Γ is vanishingly small anyway
+            if (Double.isNaN(gamma)) return BigDecimal.ZERO;
+            int digits = Math.min(GAMMA_DIGITS, mathContext.getPrecision());
+            return new BigDecimal(gamma).round(new MathContext(digits));
+        }
+        if (number.signum() < 0) throw CalculationStatus.FACTORIAL_OF_NEGATIVE_INTEGER.toException();
+        if (number.compareTo(BigDecimal.valueOf(MAX_FACTORIAL)) > 0) {
+            throw CalculationStatus.RESULT_TOO_LARGE.toException();
+        }
+        int n = number.intValueExact();
+        MathContext wc = new MathContext(mathContext.getPrecision() + 5);
+        BigDecimal result = BigDecimal.ONE;
+        for (int i = 2; i <= n; i++) {
+            result = result.multiply(BigDecimal.valueOf(i), wc);
+        }
+        return result.round(mathContext);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,281 @@
+package com.calculator.core.numeric;
+
+import com.calculator.core.CalculationStatus;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Elementary functions on {@link BigDecimal} to a requested precision.
+ * <p>
+ * Each function works with a few guard digits beyond the requested precision and rounds once at
+ * the end. Angles are in radians. The constants π and ln 10 are cached at the highest precision
+ * requested so far.
+ */
+public final class BigDecimalMath {
+    private static final int GUARD_DIGITS = 10;
+    private static final int MAX_ITERATIONS = 100;
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    private static final BigDecimal TEN = BigDecimal.TEN;
+
+    private static volatile BigDecimal pi = BigDecimal.ZERO;
+    private static volatile BigDecimal ln10 = BigDecimal.ZERO;
+
+    private BigDecimalMath() {
+    }
+
+    /**
+     * Returns π.
+     *
+     * @param mc the precision of the result
+     * @return π rounded to {@code mc}
+     */
+    public static BigDecimal pi(MathContext mc) {
+        BigDecimal cached = pi;
+        if (cached.precision() < mc.getPrecision() + GUARD_DIGITS) {
+            MathContext wc = working(mc);
+            // Machin: π = 16 atan(1/5) - 4 atan(1/239)
+            cached = arctanOfInverse(5, wc).multiply(BigDecimal.valueOf(16))
+                    .subtract(arctanOfInverse(239, wc).multiply(BigDecimal.valueOf(4)), wc);
+            pi = cached;
+        }
+        return cached.round(mc);
+    }
+
+    /**
+     * Returns the sine of an angle in radians.
+     *
+     * @param x  the angle in radians
+     * @param mc the precision of the result
+     * @return sin(x)
+     */
+    public static BigDecimal sin(BigDecimal x, MathContext mc) {
+        MathContext wc = working(mc, integerDigits(x));
+        return series(reduceAngle(x, wc), wc, 1, true).round(mc);
+    }
+
+    /**
+     * Returns the cosine of an angle in radians.
+     *
+     * @param x  the angle in radians
+     * @param mc the precision of the result
+     * @return cos(x)
+     */
+    public static BigDecimal cos(BigDecimal x, MathContext mc) {
+        MathContext wc = working(mc, integerDigits(x));
+        return series(reduceAngle(x, wc), wc, 0, true).round(mc);
+    }
+
+    /**
+     * Returns the tangent of an angle in radians.
+     *
+     * @param x  the angle in radians
+     * @param mc the precision of the result
+     * @return tan(x)
+     */
+    public static BigDecimal tan(BigDecimal x, MathContext mc) {
+        MathContext wc = working(mc);
+        return sin(x, wc).divide(cos(x, wc), mc);
+    }
+
+    /**
+     * Returns e raised to a power.
+     *
+     * @param x  the exponent
+     * @param mc the precision of the result
+     * @return e<sup>x</sup>
+     */
+    public static BigDecimal exp(BigDecimal x, MathContext mc) {
+        if (x.signum() == 0) return BigDecimal.ONE;
+        // evaluate e^(x / 2^k) with |x / 2^k| <= 1, then square k times
+        int k = x.abs().setScale(0, RoundingMode.CEILING).toBigInteger().bitLength();
+        MathContext wc = working(mc, k / 3 + 1);
+        BigDecimal sum = series(x.divide(TWO.pow(k), wc), wc, 0, false);
+        for (int i = 0; i < k; i++) {
+            sum = sum.multiply(sum, wc);
+        }
+        return sum.round(mc);
+    }
+
+    /**
+     * Returns the natural logarithm.
+     *
+     * @param x  a positive number
+     * @param mc the precision of the result
+     * @return ln(x)
+     * @throws ArithmeticException if {@code x} is not positive
+     */
+    public static BigDecimal ln(BigDecimal x, MathContext mc) {
+        if (x.signum() <= 0) throw CalculationStatus.NATURAL_LOGARITHM_OF_NON_POSITIVE.toException();
+        MathContext wc = working(mc);
+        // x = m * 10^e with 1 <= m < 10
+        int e = x.precision() - x.scale() - 1;
+        BigDecimal m = x.movePointLeft(e);
+        BigDecimal result = lnNear(m, wc);
+        if (e != 0) result = result.add(ln10(wc).multiply(BigDecimal.valueOf(e), wc), wc);
+        return result.round(mc);
+    }
+
+    /**
+     * Returns the base 10 logarithm. Exact powers of ten give exact integers.
+     *
+     * @param x  a positive number
+     * @param mc the precision of the result
+     * @return log<sub>10</sub>(x)
+     * @throws ArithmeticException if {@code x} is not positive
+     */
+    public static BigDecimal log10(BigDecimal x, MathContext mc) {
+        if (x.signum() <= 0) throw CalculationStatus.LOGARITHM_OF_NON_POSITIVE.toException();
+        BigDecimal stripped = x.stripTrailingZeros();
+        if (stripped.unscaledValue().equals(BigInteger.ONE)) {
+            return BigDecimal.valueOf(-(long) stripped.scale());
+        }
+        MathContext wc = working(mc);
+        return ln(x, wc).divide(ln10(wc), mc);
+    }
+
+    /**
+     * Returns the square root.
+     *
+     * @param x  a non-negative number
+     * @param mc the precision of the result
+     * @return √x
+     * @throws ArithmeticException if {@code x} is negative
+     */
+    public static BigDecimal sqrt(BigDecimal x, MathContext mc) {
+        if (x.signum() < 0) throw CalculationStatus.SQUARE_ROOT_OF_NEGATIVE.toException();
+        return x.sqrt(mc);
+    }
+
+    /**
+     * Raises a number to a power. Integral exponents are computed by repeated multiplication,
+     * others as e<sup>y ln x</sup>.
+     *
+     * @param x  the base
+     * @param y  the exponent
+     * @param mc the precision of the result
+     * @return x<sup>y</sup>
+     * @throws ArithmeticException if {@code x} is zero and {@code y} negative, or {@code x} is
+     *                             negative and {@code y} not an integer
+     */
+    public static BigDecimal pow(BigDecimal x, BigDecimal y, MathContext mc) {
+        if (x.signum() == 0) {
+            if (y.signum() < 0) throw CalculationStatus.DIVISION_BY_ZERO.toException();
+            return y.signum() == 0 ? BigDecimal.ONE : BigDecimal.ZERO;
+        }
+        if (isInteger(y) && y.abs().compareTo(BigDecimal.valueOf(999_999_999)) <= 0) {
+            return x.pow(y.intValueExact(), mc);
+        }
+        if (x.signum() < 0) throw new ArithmeticException("Negative base with non-integer exponent");
+        MathContext wc = working(mc);
+        BigDecimal exponent = y.multiply(ln(x, wc), wc);
+        return exp(exponent, working(mc, integerDigits(exponent))).round(mc);
+    }
+
+    /**
+     * Returns whether a number has no fractional part.
+     *
+     * @param x the number
+     * @return true if {@code x} is an integer
+     */
+    public static boolean isInteger(BigDecimal x) {
+        return x.signum() == 0 || x.stripTrailingZeros().scale() <= 0;
+    }
+
+    private static BigDecimal ln10(MathContext mc) {
+        BigDecimal cached = ln10;
+        if (cached.precision() < mc.getPrecision()) {
+            cached = lnNear(TEN, working(mc));
+            ln10 = cached;
+        }
+        return cached.round(mc);
+    }
+
+    /**
+     * Natural logarithm of a number within double range, by Halley's iteration
+     * y += 2 (x - e^y) / (x + e^y) starting from the double approximation.
+     */
+    private static BigDecimal lnNear(BigDecimal x, MathContext mc) {
+        BigDecimal y = new BigDecimal(Math.log(x.doubleValue()));
+        BigDecimal epsilon = epsilon(mc);
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            BigDecimal ey = exp(y, mc);
+            BigDecimal correction = TWO.multiply(x.subtract(ey, mc)).divide(x.add(ey, mc), mc);
+            y = y.add(correction, mc);
+            if (correction.abs().compareTo(epsilon) <= 0) break;
+        }
+        return y;
+    }
+
+    /**
+     * Sum of the series atan(1/n) = Σ (-1)^k / ((2k + 1) n^(2k + 1)).
+     */
+    private static BigDecimal arctanOfInverse(int n, MathContext mc) {
+        BigDecimal nSquared = BigDecimal.valueOf((long) n * n);
+        BigDecimal power = BigDecimal.ONE.divide(BigDecimal.valueOf(n), mc);
+        BigDecimal sum = power;
+        BigDecimal epsilon = epsilon(mc);
+        for (int k = 1; ; k++) {
+            power = power.divide(nSquared, mc);
+            BigDecimal term = power.divide(BigDecimal.valueOf(2L * k + 1), mc);
+            if (term.compareTo(epsilon) < 0) return sum;
+            sum = (k % 2 == 0) ? sum.add(term, mc) : sum.subtract(term, mc);
+        }
+    }
+
+    /**
+     * Sums a Taylor series in fixed-point {@link BigInteger} arithmetic, which is much cheaper than
+     * rounding a {@code BigDecimal} at every step. Starting from the term x<sup>first</sup>/first!,
+     * each term is the previous one times x (or -x² when {@code trigonometric}) divided by the next
+     * one or two factorial factors; this gives sin (first = 1), cos (first = 0) and exp (first = 0).
+     *
+     * @param x a small argument, |x| at most about π
+     */
+    private static BigDecimal series(BigDecimal x, MathContext mc, int first, boolean trigonometric) {
+        // enough fractional digits for mc significant digits even when the result is tiny
+        int scale = mc.getPrecision() + 2 + Math.max(0, x.scale() - x.precision());
+        BigInteger one = BigInteger.TEN.pow(scale);
+        BigInteger fixed = x.setScale(scale, RoundingMode.HALF_EVEN).unscaledValue();
+        BigInteger factor = trigonometric ? fixed.multiply(fixed).divide(one).negate() : fixed;
+        BigInteger term = first == 1 ? fixed : one;
+        BigInteger sum = term;
+        int step = trigonometric ? 2 : 1;
+        for (long n = first + 1; term.signum() != 0; n += step) {
+            long divisor = trigonometric ? n * (n + 1) : n;
+            term = term.multiply(factor).divide(one).divide(BigInteger.valueOf(divisor));
+            sum = sum.add(term);
+        }
+        return new BigDecimal(sum, scale);
+    }
+
+    /**
+     * Reduces an angle in radians to [-π, π].
+     */
+    private static BigDecimal reduceAngle(BigDecimal x, MathContext mc) {
+        BigDecimal halfTurn = pi(mc);
+        if (x.abs().compareTo(halfTurn) <= 0) return x;
+        BigDecimal fullTurn = halfTurn.multiply(TWO);
+        BigDecimal r = x.remainder(fullTurn, mc);
+        if (r.compareTo(halfTurn) > 0) r = r.subtract(fullTurn, mc);
+        if (r.compareTo(halfTurn.negate()) < 0) r = r.add(fullTurn, mc);
+        return r;
+    }
+
+    private static int integerDigits(BigDecimal x) {
+        return Math.max(0, x.precision() - x.scale());
+    }
+
+    private static MathContext working(MathContext mc) {
+        return working(mc, 0);
+    }
+
+    private static MathContext working(MathContext mc, int extraDigits) {
+        return new MathContext(mc.getPrecision() + GUARD_DIGITS + extraDigits, RoundingMode.HALF_EVEN);
+    }
+
+    private static BigDecimal epsilon(MathContext mc) {
+        return BigDecimal.ONE.movePointLeft(mc.getPrecision() + 1);
+    }
+}
@@ -0,0 +1,39 @@
+package com.calculator.core.numeric;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+
+/**
+ * {@link NumericBackend} over {@code double}, delegating to {@link CalculatorEngine}.
+ */
+public class DoubleBackend implements NumericBackend<Double> {
+    private final CalculatorEngine engine;
+
+    public DoubleBackend() {
+        this(new CalculatorEngine());
+    }
+
+    public DoubleBackend(CalculatorEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public Double performBinaryOperation(Double first, Double second, Operations operator) {
+        return engine.performBinaryOperation(first, second, operator);
+    }
+
+    @Override
+    public Double performUnaryOperation(Double number, Operations operator) {
+        return engine.performUnaryOperation(number, operator);
+    }
+
+    @Override
+    public Double parse(String text) {
+        return Double.parseDouble(text);
+    }
+
+    @Override
+    public String formatResult(Double result) {
+        return engine.formatResult(result);
+    }
+}
@@ -0,0 +1,55 @@
+package com.calculator.core.numeric;
+
+import com.calculator.core.Operations;
+
+/**
+ * Calculator arithmetic over a particular number representation.
+ * <p>
+ * Backends follow the conventions of {@link com.calculator.core.CalculatorEngine}: angles are in
+ * degrees, and invalid operations throw the engine's {@link com.calculator.core.CalculationException}.
+ * Representations without infinity raise {@code RESULT_TOO_LARGE} where the engine overflows.
+ * The {@code double} hot path should keep using {@code CalculatorEngine} directly; this interface
+ * boxes and exists to select a representation, not to replace the primitive API.
+ *
+ * @param <T> the number type
+ */
+public interface NumericBackend<T> {
+
+    /**
+     * Performs a binary operation on two numbers.
+     *
+     * @param first    the first number
+     * @param second   the second number
+     * @param operator the operation to perform
+     * @return the result of the operation
+     * @throws ArithmeticException if the operation is invalid (e.g., division by zero)
+     */
+    T performBinaryOperation(T first, T second, Operations operator);
+
+    /**
+     * Performs a unary operation on a single number.
+     *
+     * @param number   the input number
+     * @param operator the operation to perform
+     * @return the result of the operation
+     * @throws ArithmeticException if the operation is invalid
+     */
+    T performUnaryOperation(T number, Operations operator);
+
+    /**
+     * Parses a number as typed into the calculator.
+     *
+     * @param text the number text
+     * @return the number
+     * @throws NumberFormatException if the text is not a number
+     */
+    T parse(String text);
+
+    /**
+     * Formats a result for display.
+     *
+     * @param result the number to format
+     * @return formatted string
+     */
+    String formatResult(T result);
+}
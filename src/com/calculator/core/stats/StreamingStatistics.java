@@ -0,0 +1,229 @@
+package com.calculator.core.stats;
+
+import java.util.Objects;
+
+/**
+ * Count, sum, mean, variance, minimum and maximum of a stream of numbers, in one pass and
+ * constant memory.
+ * <p>
+ * The sum is compensated with Neumaier's algorithm, so adding many values of mixed magnitude
+ * loses no more than a couple of ulps of the result. The mean and variance are updated with
+ * Welford's method, which does not cancel catastrophically the way the sum of squares does when
+ * the mean is large compared to the spread. Two instances fed with different parts of a dataset
+ * can be {@linkplain #merge merged} into the statistics of the whole, so partitions can be
+ * summarized in parallel.
+ * <p>
+ * NaN values, which include the status-boxed results of failed batch operations, are counted
+ * separately and otherwise ignored. Instances are not thread-safe.
+ */
+public final class StreamingStatistics {
+    private static final int CHUNK = 1024;
+
+    private long count;
+    private long nanCount;
+    private double sum;
+    private double compensation;
+    private double mean;
+    private double squaredDeviations;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Adds one value.
+     *
+     * @param value the value; NaN is counted by {@link #getNaNCount()} only
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            nanCount++;
+            return;
+        }
+        count++;
+        accumulate(value);
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Adds a slice of an array.
+     * <p>
+     * The slice is summarized in chunks small enough to stay in cache, two passes each: the
+     * compensated sum and extremes, then the squared deviations from the chunk's mean. Each chunk
+     * is then merged in, which avoids the division per value of Welford's update.
+     *
+     * @param values the values
+     * @param offset index of the first value
+     * @param length the number of values
+     */
+    public void add(double[] values, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, values.length);
+        for (int from = offset, end = offset + length; from < end; from += CHUNK) {
+            addChunk(values, from, Math.min(CHUNK, end - from));
+        }
+    }
+
+    private void addChunk(double[] values, int from, int length) {
+        int n = 0;
+        double chunkSum = 0;
+        double chunkCompensation = 0;
+        double chunkMin = Double.POSITIVE_INFINITY;
+        double chunkMax = Double.NEGATIVE_INFINITY;
+        for (int i = from, end = from + length; i < end; i++) {
+            double value = values[i];
+            if (Double.isNaN(value)) continue;
+            n++;
+            double t = chunkSum + value;
+            if (Math.abs(chunkSum) >= Math.abs(value)) {
+                chunkCompensation += (chunkSum - t) + value;
+            } else {
+                chunkCompensation += (value - t) + chunkSum;
+            }
+            chunkSum = t;
+            if (value < chunkMin) chunkMin = value;
+            if (value > chunkMax) chunkMax = value;
+        }
+        nanCount += length - n;
+        if (n == 0) return;
+        double total = chunkSum + chunkCompensation;
+        double chunkMean = (Double.isNaN(total) ? chunkSum : total) / n;
+        double chunkDeviations = 0;
+        for (int i = from, end = from + length; i < end; i++) {
+            double value = values[i];
+            if (Double.isNaN(value)) continue;
+            double delta = value - chunkMean;
+            chunkDeviations += delta * delta;
+        }
+        combine(n, chunkMean, chunkDeviations, chunkSum, chunkCompensation, chunkMin, chunkMax);
+    }
+
+    /**
+     * Adds the values summarized by another instance, as if they had been added here. The other
+     * instance is not changed.
+     *
+     * @param other statistics of another part of the dataset
+     */
+    public void merge(StreamingStatistics other) {
+        nanCount += other.nanCount;
+        combine(other.count, other.mean, other.squaredDeviations, other.sum, other.compensation,
+                other.min, other.max);
+    }
+
+    private void combine(long otherCount, double otherMean, double otherDeviations, double otherSum,
+                         double otherCompensation, double otherMin, double otherMax) {
+        if (otherCount == 0) return;
+        long total = count + otherCount;
+        double delta = otherMean - mean;
+        // Chan et al.: the deviations of each part are taken from its own mean, then corrected
+        squaredDeviations += otherDeviations + delta * delta * ((double) count * otherCount / total);
+        mean = count == 0 ? otherMean : mean + delta * otherCount / total;
+        count = total;
+        accumulate(otherSum);
+        accumulate(otherCompensation);
+        min = Math.min(min, otherMin);
+        max = Math.max(max, otherMax);
+    }
+
+    /**
+     * Adds to the running sum, keeping the low-order bits lost by the addition.
+     */
+    private void accumulate(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;
+        } else {
+            compensation += (value - t) + sum;
+        }
+        sum = t;
+    }
+
+    /**
+     * Forgets every value added so far.
+     */
+    public void clear() {
+        count = 0;
+        nanCount = 0;
+        sum = 0;
+        compensation = 0;
+        mean = 0;
+        squaredDeviations = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Returns the number of values added, not counting NaNs.
+     *
+     * @return the count
+     */
+    public long getCount() { return count; }
+
+    public long getNaNCount() { return nanCount; }
+
+    /**
+     * Returns the compensated sum of the values.
+     *
+     * @return the sum, or 0 if there are none
+     */
+    public double getSum() {
+        double total = sum + compensation;
+        // An infinite value leaves the compensation NaN
+        return Double.isNaN(total) ? sum : total;
+    }
+
+    /**
+     * Returns the arithmetic mean of the values.
+     *
+     * @return the mean, or NaN if there are none
+     */
+    public double getMean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    /**
+     * Returns the population variance, the mean squared deviation from the mean.
+     *
+     * @return the variance, or NaN if there are no values
+     */
+    public double getVariance() {
+        return count > 0 ? squaredDeviations / count : Double.NaN;
+    }
+
+    /**
+     * Returns the sample variance, with Bessel's correction.
+     *
+     * @return the variance, or NaN if there are fewer than two values
+     */
+    public double getSampleVariance() {
+        return count > 1 ? squaredDeviations / (count - 1) : Double.NaN;
+    }
+
+    /**
+     * Returns the sample standard deviation.
+     *
+     * @return the standard deviation, or NaN if there are fewer than two values
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getSampleVariance());
+    }
+
+    /**
+     * Returns the smallest value.
+     *
+     * @return the minimum, or NaN if there are no values
+     */
+    public double getMin() {
+        return count > 0 ? min : Double.NaN;
+    }
+
+    /**
+     * Returns the largest value.
+     *
+     * @return the maximum, or NaN if there are no values
+     */
+    public double getMax() {
+        return count > 0 ? max : Double.NaN;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,270 @@
+package com.calculator.core.stats;
+
+import java.util.Arrays;
+
+/**
+ * Approximate quantiles of a stream of numbers in constant memory: a merging t-digest.
+ * <p>
+ * The digest summarizes the data as a sorted list of centroids, each a mean and a weight.
+ * Centroids near the median may hold many values, while those near the extremes hold few, so
+ * tail quantiles such as the 99.9th percentile stay accurate. The size limit comes from the
+ * {@code k1} scale function {@code k(q) = compression / 2π · asin(2q - 1)}: a centroid may span
+ * at most one unit of {@code k}, which bounds the number of centroids to about
+ * {@code compression}. New values are collected in a buffer, sorted, and merged into the
+ * centroids in one pass when it fills, so adding a value costs amortized {@code O(log b)} for a
+ * buffer of {@code b} values.
+ * <p>
+ * Digests of different parts of a dataset can be {@linkplain #merge merged}. The minimum and
+ * maximum are exact, and the quantiles interpolate between centroid means. NaN values are
+ * ignored. Instances are not thread-safe.
+ */
+public final class TDigest {
+    public static final double DEFAULT_COMPRESSION = 100;
+    private static final int BUFFER_FACTOR = 10;
+
+    private final double compression;
+    private double[] means;
+    private double[] weights;
+    private double[] mergedMeans;
+    private double[] mergedWeights;
+    private int centroidCount;
+    private double totalWeight;
+    private final double[] buffer;
+    private int bufferCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates an empty digest.
+     *
+     * @param compression the accuracy/size trade-off: about the maximum number of centroids;
+     *                    100 keeps quantile errors well under 1% of rank
+     * @throws IllegalArgumentException if the compression is outside {@code [10, 10000]}
+     */
+    public TDigest(double compression) {
+        if (!(compression >= 10 && compression <= 10_000)) {
+            throw new IllegalArgumentException("Invalid compression: " + compression);
+        }
+        this.compression = compression;
+        // At most two adjacent centroids share one unit of k, and k spans compression / 2
+        int capacity = (int) Math.ceil(compression) + 4;
+        means = new double[capacity];
+        weights = new double[capacity];
+        mergedMeans = new double[capacity];
+        mergedWeights = new double[capacity];
+        buffer = new double[BUFFER_FACTOR * capacity];
+    }
+
+    /**
+     * Adds one value.
+     *
+     * @param value the value; NaN is ignored
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) return;
+        if (bufferCount == buffer.length) flush();
+        buffer[bufferCount++] = value;
+        count++;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Adds a slice of an array.
+     *
+     * @param values the values
+     * @param offset index of the first value
+     * @param length the number of values
+     */
+    public void add(double[] values, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * Adds the values summarized by another digest. The other digest is not changed.
+     *
+     * @param other a digest of another part of the dataset
+     */
+    public void merge(TDigest other) {
+        if (other.count == 0) return;
+        flush();
+        double[] pending = Arrays.copyOf(other.buffer, other.bufferCount);
+        Arrays.sort(pending);
+        compress(other.means, other.weights, other.centroidCount);
+        compress(pending, null, pending.length);
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Forgets every value added so far.
+     */
+    public void clear() {
+        centroidCount = 0;
+        totalWeight = 0;
+        bufferCount = 0;
+        count = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Estimates a quantile.
+     *
+     * @param q the quantile, from 0 (the minimum) to 1 (the maximum); 0.5 is the median
+     * @return the estimated value, or NaN if the digest is empty
+     * @throws IllegalArgumentException if {@code q} is outside {@code [0, 1]}
+     */
+    public double quantile(double q) {
+        if (!(q >= 0 && q <= 1)) throw new IllegalArgumentException("Invalid quantile: " + q);
+        flush();
+        int n = centroidCount;
+        if (n == 0) return Double.NaN;
+        if (n == 1) return min + q * (max - min);
+
+        // A centroid's mean sits at the middle of its share of the ranks; interpolate between
+        // neighbouring middles, and between the outer middles and the exact extremes
+        double rank = q * totalWeight;
+        double firstMiddle = weights[0] / 2;
+        if (rank <= firstMiddle) return min + (means[0] - min) * (rank / firstMiddle);
+        double lastMiddle = totalWeight - weights[n - 1] / 2;
+        if (rank >= lastMiddle) {
+            return means[n - 1] + (max - means[n - 1]) * ((rank - lastMiddle) / (weights[n - 1] / 2));
+        }
+        double middle = firstMiddle;
+        for (int i = 0; i < n - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (rank <= middle + gap) return means[i] + (means[i + 1] - means[i]) * ((rank - middle) / gap);
+            middle += gap;
+        }
+        return means[n - 1];
+    }
+
+    /**
+     * Returns the number of values added, not counting NaNs.
+     *
+     * @return the count
+     */
+    public long getCount() { return count; }
+
+    public double getCompression() { return compression; }
+
+    /**
+     * Returns the smallest value.
+     *
+     * @return the minimum, or NaN if the digest is empty
+     */
+    public double getMin() {
+        return count > 0 ? min : Double.NaN;
+    }
+
+    /**
+     * Returns the largest value.
+     *
+     * @return the maximum, or NaN if the digest is empty
+     */
+    public double getMax() {
+        return count > 0 ? max : Double.NaN;
+    }
+
+    /**
+     * Returns the number of centroids the data is summarized by, after merging buffered values.
+     *
+     * @return the centroid count
+     */
+    public int getCentroidCount() {
+        flush();
+        return centroidCount;
+    }
+
+    private void flush() {
+        if (bufferCount == 0) return;
+        Arrays.sort(buffer, 0, bufferCount);
+        compress(buffer, null, bufferCount);
+        bufferCount = 0;
+    }
+
+    /**
+     * Merges the centroids with another list sorted by mean, combining neighbours as long as the
+     * combined centroid spans at most one unit of {@code k}.
+     *
+     * @param otherWeights the weights of the other list, or null if every weight is 1
+     */
+    private void compress(double[] otherMeans, double[] otherWeights, int otherCount) {
+        double total = totalWeight;
+        if (otherWeights == null) {
+            total += otherCount;
+        } else {
+            for (int j = 0; j < otherCount; j++) {
+                total += otherWeights[j];
+            }
+        }
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        double emitted = 0;
+        double mean = 0;
+        double weight = 0;
+        double limit = 0;
+        while (i < centroidCount || j < otherCount) {
+            double m;
+            double w;
+            if (j == otherCount || (i < centroidCount && means[i] <= otherMeans[j])) {
+                m = means[i];
+                w = weights[i];
+                i++;
+            } else {
+                m = otherMeans[j];
+                w = otherWeights == null ? 1 : otherWeights[j];
+                j++;
+            }
+            if (weight == 0) {
+                mean = m;
+                weight = w;
+                limit = total * upperQuantile(emitted / total);
+            } else if (emitted + weight + w <= limit) {
+                weight += w;
+                mean += (m - mean) * (w / weight);
+            } else {
+                mergedMeans[n] = mean;
+                mergedWeights[n] = weight;
+                n++;
+                emitted += weight;
+                mean = m;
+                weight = w;
+                limit = total * upperQuantile(emitted / total);
+            }
+        }
+        if (weight > 0) {
+            mergedMeans[n] = mean;
+            mergedWeights[n] = weight;
+            n++;
+        }
+
+        double[] swap = means;
+        means = mergedMeans;
+        mergedMeans = swap;
+        swap = weights;
+        weights = mergedWeights;
+        mergedWeights = swap;
+        centroidCount = n;
+        totalWeight = total;
+    }
+
+    /**
+     * Returns the quantile one unit of {@code k} above {@code q}, so that {@code asin} and
+     * {@code sin} are computed once per centroid rather than once per value.
+     */
+    private double upperQuantile(double q) {
+        double angle = Math.asin(2 * q - 1) + 2 * Math.PI / compression;
+        return angle >= Math.PI / 2 ? Double.POSITIVE_INFINITY : (Math.sin(angle) + 1) / 2;
+    }
+}
\ No newline at end of file
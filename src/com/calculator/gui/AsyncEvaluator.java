@@ -0,0 +1,133 @@
+package com.calculator.gui;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs calculations on a background thread and publishes their results on the event dispatch
+ * thread.
+ * <p>
+ * Only the latest submission can publish. Every call to {@link #submit} or {@link #cancel} starts
+ * a new generation and cancels the calculation in flight, and a result whose generation is no
+ * longer current is dropped on arrival, so stale results never repaint the display however fast
+ * keys are pressed. The busy listener is told when a calculation has been running for longer than
+ * {@value #PROGRESS_DELAY_MS} ms and again when it finishes, so quick calculations do not flash a
+ * progress indicator. A calculation that throws reports to the failure callback instead, and
+ * clears the busy and pending state like one that returns.
+ * <p>
+ * All methods must be called on the event dispatch thread.
+ */
+final class AsyncEvaluator {
+    static final int PROGRESS_DELAY_MS = 150;
+
+    /**
+     * Receives busy-state changes on the event dispatch thread.
+     */
+    interface BusyListener {
+        void busyChanged(boolean busy);
+    }
+
+    private final ExecutorService executor;
+    private final BusyListener listener;
+    private final Timer progressTimer;
+    private long generation;
+    private Future<?> current;
+    private boolean busy;
+
+    AsyncEvaluator(BusyListener listener) {
+        this("calculator-evaluator", listener);
+    }
+
+    AsyncEvaluator(String threadName, BusyListener listener) {
+        this.listener = listener;
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.progressTimer = new Timer(PROGRESS_DELAY_MS, e -> setBusy(true));
+        this.progressTimer.setRepeats(false);
+    }
+
+    /**
+     * Starts a calculation, superseding the one in flight.
+     *
+     * @param calculation the calculation; runs on the background thread and must not touch Swing
+     *                    components or state owned by the event dispatch thread
+     * @param onResult    receives the result on the event dispatch thread, unless the calculation
+     *                    is cancelled or superseded first
+     * @param onFailure   receives whatever the calculation threw, on the same terms as
+     *                    {@code onResult}
+     * @param <T>         the result type
+     */
+    <T> void submit(Supplier<T> calculation, Consumer<T> onResult, Consumer<Throwable> onFailure) {
+        cancel();
+        long ticket = generation;
+        current = executor.submit(() -> {
+            try {
+                T result = calculation.get();
+                SwingUtilities.invokeLater(() -> {
+                    if (finish(ticket)) onResult.accept(result);
+                });
+            } catch (Throwable e) {
+                // Caught here rather than left in the Future, so the pending state is always cleared
+                SwingUtilities.invokeLater(() -> {
+                    if (finish(ticket)) onFailure.accept(e);
+                });
+            }
+        });
+        progressTimer.restart();
+    }
+
+    /**
+     * Discards the calculation in flight, if any. The background thread is interrupted, but the
+     * engine's operations do not poll for interrupts, so a calculation that has already started
+     * runs to completion and its result is dropped.
+     */
+    void cancel() {
+        generation++;
+        if (current != null) {
+            current.cancel(true);
+            current = null;
+        }
+        progressTimer.stop();
+        setBusy(false);
+    }
+
+    /**
+     * Returns whether a calculation is in flight.
+     *
+     * @return {@code true} if a submitted calculation has not yet published or been cancelled
+     */
+    boolean isPending() {
+        return current != null;
+    }
+
+    /**
+     * Cancels the calculation in flight and stops the background thread.
+     */
+    void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    private boolean finish(long ticket) {
+        if (ticket != generation) return false;
+        current = null;
+        progressTimer.stop();
+        setBusy(false);
+        return true;
+    }
+
+    private void setBusy(boolean busy) {
+        if (this.busy != busy) {
+            this.busy = busy;
+            listener.busyChanged(busy);
+        }
+    }
+}
\ No newline at end of file
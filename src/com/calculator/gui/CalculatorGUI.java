@@ -1,49 +1,141 @@
 package com.calculator.gui;
 
+import com.calculator.core.CalculationHistory;
+import com.calculator.core.CalculationStatus;
 import com.calculator.core.CalculatorEngine;
+import com.calculator.core.CalculatorSession;
 import com.calculator.core.Operations;
+import com.calculator.core.SessionStore;
+import com.calculator.core.stats.StreamingStatistics;
+import com.calculator.core.stats.TDigest;
 
 import javax.swing.*;
+import javax.swing.text.BadLocationException;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages the GUI for the scientific calculator.
+ * <p>
+ * Calculations run on a background thread through {@link AsyncEvaluator}, so the window keeps
+ * repainting while a slow operation is computed. The session is only touched on the event
+ * dispatch thread: operands are read before a calculation is submitted, and the result is
+ * recorded when it is published. Keys pressed while a calculation runs are held and applied in
+ * order once its result is shown, so they act on the result as if it had been instant. {@code C},
+ * {@code OFF} and {@code Cancel} abandon the calculation instead.
+ * <p>
+ * The session is kept in a {@link SessionStore} in {@code ~/.scientific-calculator} (or the
+ * directory named by the {@code calculator.session.dir} system property), so memory, history and
+ * a pending operation are restored at the next start. If the store cannot be opened, the
+ * calculator runs with an in-memory session.
+ * <p>
+ * {@code Σ+} adds the input to a dataset whose sum, mean, standard deviation and median the
+ * statistics buttons show. The dataset is summarized as it grows, in constant memory, and is not
+ * saved with the session.
+ * <p>
+ * To shorten the time to the first frame, the session is read from disk on a background thread
+ * while the components are built, and what is not on screen yet (the plot window, the statistics
+ * accumulators) is only created when first used.
  */
 public class CalculatorGUI extends JFrame implements ActionListener {
     private static final int FRAME_WIDTH = 510;
-    private static final int FRAME_HEIGHT = 850;
+    private static final int FRAME_HEIGHT = 900;
+    private static final int HISTORY_LINES = 5;
+    private static final Path SESSION_DIRECTORY = Paths.get(System.getProperty("calculator.session.dir",
+            Paths.get(System.getProperty("user.home"), ".scientific-calculator").toString()));
 
     private final CalculatorEngine engine;
+    private final CalculatorSession session;
+    private final SessionStore store;
     private final JTextField textField;
     private final JLabel label;
     private final JRadioButton onRadioButton;
     private final JRadioButton offRadioButton;
     private final JTextArea historyArea;
     private final Map<String, JButton> buttons;
-    private double number;
-    private double memory;
-    private Operations currentOperation;
-    private final List<String> history;
+    private final JProgressBar progressBar;
+    private final JButton cancelButton;
+    private final AsyncEvaluator evaluator;
+    private StreamingStatistics statistics;
+    private TDigest quantiles;
+    private PlotWindow plotWindow;
+    private int historyLines;
+    private final Deque<ActionEvent> heldKeys;
+    private Runnable paintListener;
+    private Runnable resultListener;
 
     public CalculatorGUI() {
+        this(SESSION_DIRECTORY);
+    }
+
+    /**
+     * Creates the calculator with its session kept in the given directory.
+     *
+     * @param sessionDirectory the directory of the session store
+     */
+    public CalculatorGUI(Path sessionDirectory) {
         engine = new CalculatorEngine();
+        CompletableFuture<SessionStore> opening = CompletableFuture.supplyAsync(() -> openStore(sessionDirectory));
+        CompletableFuture<CalculatorSession> restoring = opening.thenApply(this::restoreSession);
         buttons = new HashMap<>();
+        heldKeys = new ArrayDeque<>();
         textField = new JTextField();
         label = new JLabel();
         onRadioButton = new JRadioButton("ON");
         offRadioButton = new JRadioButton("OFF");
         historyArea = new JTextArea();
-        history = new ArrayList<>();
-        memory = 0.0;
+        progressBar = new JProgressBar();
+        cancelButton = new JButton("Cancel");
+        evaluator = new AsyncEvaluator(this::setBusy);
         prepareGUI();
         addComponents();
         addActionEvents();
+        store = opening.join();
+        session = restoring.join();
+        showSessionState();
+    }
+
+    private static SessionStore openStore(Path directory) {
+        try {
+            return new SessionStore(directory);
+        } catch (IOException e) {
+            System.err.println("Session will not be saved: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private CalculatorSession restoreSession(SessionStore store) {
+        if (store != null) {
+            try {
+                return store.restore(engine);
+            } catch (IOException e) {
+                System.err.println("Session not restored: " + e.getMessage());
+            }
+        }
+        return new CalculatorSession(engine);
+    }
+
+    /**
+     * Shows the restored history and pending operation.
+     */
+    private void showSessionState() {
+        historyLines = 0;
+        historyArea.setText("");
+        updateHistory();
+        if (session.hasPendingOperation()) {
+            label.setText(session.getPendingOperand() + " " + getSymbol(session.getPendingOperation()));
+        }
     }
 
     private void prepareGUI() {
@@ -53,6 +145,12 @@ public class CalculatorGUI extends JFrame implements ActionListener {
         setResizable(false);
         setLocationRelativeTo(null);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeStore();
+            }
+        });
     }
 
     private void addComponents() {
@@ -99,6 +197,17 @@ public class CalculatorGUI extends JFrame implements ActionListener {
         buttonGroup.add(onRadioButton);
         buttonGroup.add(offRadioButton);
 
+        // Progress Indicator
+        gbc.gridx = 2;
+        gbc.gridwidth = 2;
+        add(progressBar, gbc);
+
+        gbc.gridx = 4;
+        gbc.gridwidth = 1;
+        cancelButton.setFont(ButtonConfig.SMALL_BUTTON_FONT);
+        cancelButton.setEnabled(false);
+        add(cancelButton, gbc);
+
         // Button Configurations
         ButtonConfig[] configs = {
             new ButtonConfig("C", 0, 4, ButtonConfig.SMALL_BUTTON_FONT, Color.RED, Color.WHITE),
@@ -138,7 +247,14 @@ public class CalculatorGUI extends JFrame implements ActionListener {
             new ButtonConfig("=", 4, 10, ButtonConfig.BUTTON_FONT),
             new ButtonConfig("M-", 0, 11, ButtonConfig.SMALL_BUTTON_FONT, Color.BLUE, Color.WHITE),
             new ButtonConfig("MR", 1, 11, ButtonConfig.SMALL_BUTTON_FONT, Color.BLUE, Color.WHITE),
-            new ButtonConfig("MC", 2, 11, ButtonConfig.SMALL_BUTTON_FONT, Color.BLUE, Color.WHITE)
+            new ButtonConfig("MC", 2, 11, ButtonConfig.SMALL_BUTTON_FONT, Color.BLUE, Color.WHITE),
+            new ButtonConfig("Plot", 3, 11, ButtonConfig.SMALL_BUTTON_FONT),
+            new ButtonConfig("Σ+", 4, 11, ButtonConfig.SMALL_BUTTON_FONT),
+            new ButtonConfig("Σx", 0, 12, ButtonConfig.SMALL_BUTTON_FONT),
+            new ButtonConfig("mean", 1, 12, ButtonConfig.SMALL_BUTTON_FONT),
+            new ButtonConfig("sd", 2, 12, ButtonConfig.SMALL_BUTTON_FONT),
+            new ButtonConfig("med", 3, 12, ButtonConfig.SMALL_BUTTON_FONT),
+            new ButtonConfig("ΣC", 4, 12, ButtonConfig.SMALL_BUTTON_FONT)
         };
 
         for (ButtonConfig config : configs) {
@@ -162,11 +278,42 @@ public class CalculatorGUI extends JFrame implements ActionListener {
     private void addActionEvents() {
         onRadioButton.addActionListener(this);
         offRadioButton.addActionListener(this);
+        cancelButton.addActionListener(this);
         buttons.values().forEach(button -> button.addActionListener(this));
     }
 
     @Override
     public void actionPerformed(ActionEvent e) {
+        Object source = e.getSource();
+        if (source == cancelButton) {
+            evaluator.cancel();
+            label.setText("Cancelled");
+            applyHeldKeys();
+            return;
+        }
+        if (source == offRadioButton || source == buttons.get("C")) {
+            // Input that resets the display abandons the calculation and the keys waiting for it
+            evaluator.cancel();
+            heldKeys.clear();
+        } else if (evaluator.isPending() || !heldKeys.isEmpty()) {
+            // The key must see the result of the calculation in flight, so it waits for it
+            heldKeys.add(e);
+            applyHeldKeys();
+            return;
+        }
+        handleKey(e);
+    }
+
+    /**
+     * Applies the held keys in order, until one of them starts another calculation.
+     */
+    private void applyHeldKeys() {
+        while (!evaluator.isPending() && !heldKeys.isEmpty()) {
+            handleKey(heldKeys.poll());
+        }
+    }
+
+    private void handleKey(ActionEvent e) {
         Object source = e.getSource();
         try {
             if (source == onRadioButton) {
@@ -176,12 +323,14 @@ public class CalculatorGUI extends JFrame implements ActionListener {
                 label.setEnabled(true);
                 historyArea.setEnabled(true);
                 buttons.values().forEach(button -> button.setEnabled(true));
+                showSessionState();
             } else if (source == offRadioButton) {
                 onRadioButton.setEnabled(true);
                 offRadioButton.setEnabled(false);
                 textField.setText("");
                 label.setText("");
                 historyArea.setText("");
+                historyLines = 0;
                 buttons.values().forEach(button -> button.setEnabled(false));
             } else if (source == buttons.get("C")) {
                 textField.setText("");
@@ -201,71 +350,239 @@ public class CalculatorGUI extends JFrame implements ActionListener {
                 }
             } else if (isBinaryOperator(source)) {
                 if (!textField.getText().isEmpty()) {
-                    number = Double.parseDouble(textField.getText());
+                    double number = Double.parseDouble(textField.getText());
                     String symbol = ((JButton) source).getText();
                     textField.setText("");
                     label.setText(number + " " + symbol);
-                    currentOperation = getOperation(symbol);
+                    session.setPendingOperation(number, getOperation(symbol));
                 }
             } else if (source == buttons.get("=")) {
-                if (!textField.getText().isEmpty() && currentOperation != null) {
+                if (!textField.getText().isEmpty() && session.hasPendingOperation()) {
+                    double firstNumber = session.getPendingOperand();
+                    Operations op = session.getPendingOperation();
                     double secondNumber = Double.parseDouble(textField.getText());
-                    double result = engine.performBinaryOperation(number, secondNumber, currentOperation);
-                    String resultStr = engine.formatResult(result);
-                    textField.setText(resultStr);
-                    history.add(number + " " + currentOperation + " " + secondNumber + " = " + resultStr);
-                    updateHistory();
-                    label.setText("");
-                    currentOperation = null;
+                    evaluator.submit(() -> engine.evaluateBinaryOperation(firstNumber, secondNumber, op), result -> {
+                        if (!showError(result)) {
+                            session.recordPendingOperation(secondNumber, result);
+                            textField.setText(engine.formatResult(result));
+                            updateHistory();
+                            label.setText("");
+                        }
+                        resultShown();
+                    }, this::calculationFailed);
                 }
             } else if (isUnaryOperator(source)) {
                 if (!textField.getText().isEmpty()) {
                     String opText = ((JButton) source).getText();
                     Operations op = getOperation(opText);
                     double number = Double.parseDouble(textField.getText());
-                    double result = engine.performUnaryOperation(number, op);
-                    String resultStr = engine.formatResult(result);
-                    textField.setText(resultStr);
-                    String labelText = getOperationLabel(op, number);
-                    label.setText(labelText);
-                    history.add(labelText + " = " + resultStr);
-                    updateHistory();
+                    evaluator.submit(() -> engine.evaluateUnaryOperation(number, op), result -> {
+                        if (!showError(result)) {
+                            session.recordUnaryOperation(number, op, result);
+                            textField.setText(engine.formatResult(result));
+                            label.setText(CalculatorSession.describeUnary(op, number));
+                            updateHistory();
+                        }
+                        resultShown();
+                    }, this::calculationFailed);
                 }
             } else if (source == buttons.get("M+")) {
                 if (!textField.getText().isEmpty()) {
-                    memory += Double.parseDouble(textField.getText());
+                    double memory = session.memoryAdd(Double.parseDouble(textField.getText()));
                     label.setText("M+ (" + engine.formatResult(memory) + ")");
                 }
             } else if (source == buttons.get("M-")) {
                 if (!textField.getText().isEmpty()) {
-                    memory -= Double.parseDouble(textField.getText());
+                    double memory = session.memorySubtract(Double.parseDouble(textField.getText()));
                     label.setText("M- (" + engine.formatResult(memory) + ")");
                 }
             } else if (source == buttons.get("MR")) {
-                textField.setText(engine.formatResult(memory));
-                label.setText("MR (" + engine.formatResult(memory) + ")");
+                textField.setText(engine.formatResult(session.getMemory()));
+                label.setText("MR (" + engine.formatResult(session.getMemory()) + ")");
             } else if (source == buttons.get("MC")) {
-                memory = 0.0;
+                session.memoryClear();
                 label.setText("MC (0)");
+            } else if (source == buttons.get("Plot")) {
+                showPlotWindow();
+            } else if (isStatisticsButton(source)) {
+                handleStatistics(((JButton) source).getText());
             }
         } catch (NumberFormatException ex) {
             textField.setText("Error");
             label.setText("Invalid Input");
-        } catch (ArithmeticException ex) {
+        }
+    }
+
+    /**
+     * Shows the error a calculation reported, if any. A failed binary operation stays pending.
+     *
+     * @param result a status-boxed result
+     * @return {@code true} if the result was an error
+     */
+    private boolean showError(double result) {
+        CalculationStatus status = CalculationStatus.of(result);
+        if (!status.isError()) return false;
+        textField.setText("Error");
+        label.setText(status.getMessage());
+        return true;
+    }
+
+    /**
+     * Shows a calculation that threw as an error and goes on with the keys held meanwhile.
+     *
+     * @param failure what the calculation threw
+     */
+    private void calculationFailed(Throwable failure) {
+        textField.setText("Error");
+        label.setText(failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName());
+        resultShown();
+    }
+
+    /**
+     * Adds the input to the dataset, clears the dataset, or shows one of its statistics.
+     *
+     * @param text the text of the statistics button
+     */
+    private void handleStatistics(String text) {
+        if (text.equals("Σ+")) {
+            if (textField.getText().isEmpty()) return;
+            double value = Double.parseDouble(textField.getText());
+            if (statistics == null) {
+                statistics = new StreamingStatistics();
+                quantiles = new TDigest();
+            }
+            statistics.add(value);
+            quantiles.add(value);
+            textField.setText("");
+            label.setText("n = " + statistics.getCount());
+            return;
+        }
+        if (text.equals("ΣC")) {
+            statistics = null;
+            quantiles = null;
+            label.setText("n = 0");
+            return;
+        }
+        if (statistics == null) {
             textField.setText("Error");
-            label.setText(ex.getMessage());
+            label.setText("No data");
+            return;
         }
+        long count = statistics.getCount();
+        double result;
+        switch (text) {
+            case "Σx": result = statistics.getSum(); break;
+            case "mean": result = statistics.getMean(); break;
+            case "sd": result = statistics.getStandardDeviation(); break;
+            default: result = quantiles.quantile(0.5); break;
+        }
+        if (Double.isNaN(result)) {
+            textField.setText("Error");
+            label.setText(count == 0 ? "No data" : "Needs two values");
+            return;
+        }
+        textField.setText(engine.formatResult(result));
+        label.setText(text + " (n = " + count + ")");
+    }
+
+    /**
+     * Opens the plot window beside the calculator, creating it on first use.
+     */
+    private void showPlotWindow() {
+        if (plotWindow == null) {
+            plotWindow = new PlotWindow();
+            plotWindow.setLocation(getX() + getWidth(), getY());
+            plotWindow.plot("sin(x)");
+        }
+        plotWindow.setVisible(true);
+    }
+
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        if (paintListener != null) {
+            Runnable listener = paintListener;
+            paintListener = null;
+            listener.run();
+        }
+    }
+
+    /**
+     * Runs an action once, right after the frame is first painted.
+     *
+     * @param listener the action, run on the event dispatch thread
+     */
+    void setPaintListener(Runnable listener) {
+        paintListener = listener;
     }
 
+    /**
+     * Runs an action after each calculation result or error is shown.
+     *
+     * @param listener the action, run on the event dispatch thread, or {@code null}
+     */
+    void setResultListener(Runnable listener) {
+        resultListener = listener;
+    }
+
+    private void resultShown() {
+        if (resultListener != null) resultListener.run();
+        applyHeldKeys();
+    }
+
+    /**
+     * Clicks buttons as if the user pressed them.
+     *
+     * @param texts the texts of the buttons
+     */
+    void press(String... texts) {
+        for (String text : texts) {
+            buttons.get(text).doClick(0);
+        }
+    }
+
+    private void closeStore() {
+        if (store == null) return;
+        try {
+            store.close();
+        } catch (IOException e) {
+            System.err.println("Session not saved: " + e.getMessage());
+        }
+    }
+
+    private void setBusy(boolean busy) {
+        progressBar.setIndeterminate(busy);
+        cancelButton.setEnabled(busy);
+    }
+
+    /**
+     * Shows the newest history entry, dropping the oldest line once {@value #HISTORY_LINES} are
+     * shown. Only the changed lines are touched, so the cost does not depend on the history size.
+     */
     private void updateHistory() {
-        StringBuilder historyText = new StringBuilder();
-        for (int i = Math.max(0, history.size() - 5); i < history.size(); i++) {
-            historyText.append(history.get(i)).append("\n");
+        CalculationHistory history = session.getHistory();
+        if (historyLines == 0) {
+            for (int i = Math.max(0, history.size() - HISTORY_LINES); i < history.size(); i++) {
+                appendHistoryLine(history.describe(i));
+            }
+        } else {
+            appendHistoryLine(history.describe(history.size() - 1));
         }
-        historyArea.setText(historyText.toString());
         historyArea.setCaretPosition(historyArea.getDocument().getLength());
     }
 
+    private void appendHistoryLine(String line) {
+        historyArea.append(line + "\n");
+        if (++historyLines > HISTORY_LINES) {
+            try {
+                historyArea.replaceRange(null, 0, historyArea.getLineEndOffset(0));
+            } catch (BadLocationException e) {
+                throw new IllegalStateException(e);
+            }
+            historyLines--;
+        }
+    }
+
     private boolean isNumericButton(Object source) {
         String[] numericButtons = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "π"};
         for (String btn : numericButtons) {
@@ -290,6 +607,26 @@ public class CalculatorGUI extends JFrame implements ActionListener {
         return false;
     }
 
+    private boolean isStatisticsButton(Object source) {
+        String[] statisticsButtons = {"Σ+", "Σx", "mean", "sd", "med", "ΣC"};
+        for (String btn : statisticsButtons) {
+            if (source == buttons.get(btn)) return true;
+        }
+        return false;
+    }
+
+    private String getSymbol(Operations operation) {
+        switch (operation) {
+            case ADD: return "+";
+            case SUBTRACT: return "-";
+            case MULTIPLY: return "x";
+            case DIVIDE: return "/";
+            case MODULUS: return "mod";
+            case POWER: return "x^y";
+            default: throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
     private Operations getOperation(String text) {
         switch (text) {
             case "+": return Operations.ADD;
@@ -315,24 +652,4 @@ public class CalculatorGUI extends JFrame implements ActionListener {
             default: throw new IllegalArgumentException("Unknown operation: " + text);
         }
     }
-
-    private String getOperationLabel(Operations op, double number) {
-        switch (op) {
-            case SIN: return "sin(" + number + ")";
-            case COS: return "cos(" + number + ")";
-            case TAN: return "tan(" + number + ")";
-            case LOG: return "log(" + number + ")";
-            case LN: return "ln(" + number + ")";
-            case EXP: return "e^" + number;
-            case SQUARE: return "(" + number + ")²";
-            case RECIPROCAL: return "1/" + number;
-            case SQRT: return "√" + number;
-            case NEGATE: return "(-" + number + ")";
-            case FACTORIAL: return number + "!";
-            case PI: return "π";
-            case TEN_POWER: return "10^" + number;
-            case ABSOLUTE: return "|" + number + "|";
-            default: return "";
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,332 @@
+package com.calculator.gui;
+
+import com.calculator.core.ResultFormatter;
+import com.calculator.plot.SampledCurve;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Draws a {@link SampledCurve} with pan (drag) and zoom (mouse wheel; shift zooms x only).
+ * <p>
+ * The plot is rendered into an off-screen image, which is only redrawn when the curve or the view
+ * changes; painting the cursor readout just copies the image. Rendering reduces the points in each
+ * pixel column to one vertical span between their minimum and maximum, joined to the neighbouring
+ * columns by their first and last points, and takes whole gap-free blocks from the curve's
+ * min/max pyramid, so its cost grows with the width of the panel rather than the number of points.
+ */
+public class PlotPanel extends JPanel {
+    private static final Color BACKGROUND = Color.WHITE;
+    private static final Color GRID = new Color(232, 232, 232);
+    private static final Color AXIS = Color.GRAY;
+    private static final Color LABEL = Color.DARK_GRAY;
+    private static final Color CURVE = new Color(0, 90, 200);
+    private static final Font LABEL_FONT = new Font("Arial", Font.PLAIN, 11);
+    private static final double ZOOM_STEP = 1.15;
+    private static final int PIXEL_LIMIT = 1 << 20;
+    private static final double MIN_RESOLUTION = 4096;
+
+    /**
+     * Receives view changes on the event dispatch thread.
+     */
+    public interface ViewListener {
+        void viewChanged(PlotPanel panel);
+    }
+
+    private final List<ViewListener> listeners = new ArrayList<>();
+    private SampledCurve curve;
+    private double xMin = -1;
+    private double xMax = 1;
+    private double yMin = -1;
+    private double yMax = 1;
+    private BufferedImage buffer;
+    private boolean dirty = true;
+    private Point dragStart;
+    private Point cursor;
+
+    public PlotPanel() {
+        setPreferredSize(new Dimension(640, 480));
+        setBackground(BACKGROUND);
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragStart = e.getPoint();
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragStart = null;
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (dragStart == null) return;
+                double dx = (e.getX() - dragStart.x) * (xMax - xMin) / getWidth();
+                double dy = (e.getY() - dragStart.y) * (yMax - yMin) / getHeight();
+                dragStart = e.getPoint();
+                cursor = e.getPoint();
+                setView(xMin - dx, xMax - dx, yMin + dy, yMax + dy);
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                cursor = e.getPoint();
+                repaint();
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                cursor = null;
+                repaint();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                double factor = Math.pow(ZOOM_STEP, e.getPreciseWheelRotation());
+                double x = toX(e.getX());
+                double y = toY(e.getY());
+                if (e.isShiftDown()) {
+                    setView(x - (x - xMin) * factor, x + (xMax - x) * factor, yMin, yMax);
+                } else {
+                    setView(x - (x - xMin) * factor, x + (xMax - x) * factor,
+                            y - (y - yMin) * factor, y + (yMax - y) * factor);
+                }
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    public void addViewListener(ViewListener listener) {
+        listeners.add(listener);
+    }
+
+    public SampledCurve getCurve() { return curve; }
+    public double getXMin() { return xMin; }
+    public double getXMax() { return xMax; }
+    public double getYMin() { return yMin; }
+    public double getYMax() { return yMax; }
+
+    /**
+     * Replaces the curve without changing the view.
+     *
+     * @param curve the curve, or null to clear the plot
+     */
+    public void setCurve(SampledCurve curve) {
+        this.curve = curve;
+        dirty = true;
+        repaint();
+    }
+
+    /**
+     * Changes the visible ranges. Empty, inverted or non-finite ranges are ignored, as are ranges
+     * too narrow to hold a few thousand distinct doubles.
+     *
+     * @param xMin the left edge
+     * @param xMax the right edge
+     * @param yMin the bottom edge
+     * @param yMax the top edge
+     */
+    public void setView(double xMin, double xMax, double yMin, double yMax) {
+        if (!isUsable(xMin, xMax) || !isUsable(yMin, yMax)) return;
+        this.xMin = xMin;
+        this.xMax = xMax;
+        this.yMin = yMin;
+        this.yMax = yMax;
+        dirty = true;
+        repaint();
+        for (ViewListener listener : listeners) {
+            listener.viewChanged(this);
+        }
+    }
+
+    /**
+     * Fits the y range to the curve's values in the visible x range, ignoring the extreme
+     * five percent at either end so poles do not flatten the rest of the curve.
+     */
+    public void fitY() {
+        if (curve == null) return;
+        int from = curve.lowerBound(xMin);
+        int to = curve.lowerBound(xMax);
+        int stride = Math.max(1, (to - from) / 4096);
+        double[] values = new double[(to - from) / stride + 1];
+        int count = 0;
+        for (int i = from; i < to; i += stride) {
+            double y = curve.getY(i);
+            if (Double.isFinite(y)) values[count++] = y;
+        }
+        if (count == 0) return;
+        Arrays.sort(values, 0, count);
+        double low = values[(int) (0.05 * (count - 1))];
+        double high = values[(int) (0.95 * (count - 1))];
+        double margin = high > low ? 0.1 * (high - low) : Math.max(1.0, Math.abs(low));
+        setView(xMin, xMax, low - margin, high + margin);
+    }
+
+    private static boolean isUsable(double min, double max) {
+        double range = max - min;
+        return Double.isFinite(range) && range > MIN_RESOLUTION * Math.ulp(Math.max(Math.abs(min), Math.abs(max)));
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) return;
+        if (buffer == null || buffer.getWidth() != width || buffer.getHeight() != height) {
+            buffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            dirty = true;
+        }
+        if (dirty) {
+            Graphics2D g2 = buffer.createGraphics();
+            try {
+                render(g2, width, height);
+            } finally {
+                g2.dispose();
+            }
+            dirty = false;
+        }
+        g.drawImage(buffer, 0, 0, null);
+        if (cursor != null) {
+            String text = "x = " + ResultFormatter.format(toX(cursor.x)) + ", y = " + ResultFormatter.format(toY(cursor.y));
+            g.setFont(LABEL_FONT);
+            g.setColor(LABEL);
+            g.drawString(text, 8, height - 8);
+        }
+    }
+
+    /**
+     * Draws the grid, axes and curve for the current view.
+     *
+     * @param g      the target
+     * @param width  the width in pixels
+     * @param height the height in pixels
+     */
+    public void render(Graphics2D g, int width, int height) {
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, width, height);
+        drawGrid(g, width, height);
+        if (curve != null && curve.size() > 0) {
+            g.setColor(CURVE);
+            drawCurve(g, width, height);
+        }
+    }
+
+    private void drawGrid(Graphics2D g, int width, int height) {
+        g.setFont(LABEL_FONT);
+        double xStep = tickStep(xMax - xMin, width / 80);
+        for (double tick = Math.ceil(xMin / xStep); tick * xStep <= xMax; tick++) {
+            double x = tick * xStep;
+            int px = (int) Math.round((x - xMin) * width / (xMax - xMin));
+            g.setColor(x == 0 ? AXIS : GRID);
+            g.drawLine(px, 0, px, height);
+            g.setColor(LABEL);
+            g.drawString(ResultFormatter.format(x), px + 2, 12);
+        }
+        double yStep = tickStep(yMax - yMin, height / 60);
+        for (double tick = Math.ceil(yMin / yStep); tick * yStep <= yMax; tick++) {
+            double y = tick * yStep;
+            int py = (int) Math.round((yMax - y) * height / (yMax - yMin));
+            g.setColor(y == 0 ? AXIS : GRID);
+            g.drawLine(0, py, width, py);
+            g.setColor(LABEL);
+            g.drawString(ResultFormatter.format(y), 2, py - 2);
+        }
+    }
+
+    /**
+     * Returns a step of 1, 2 or 5 times a power of ten that gives at most the given tick count.
+     */
+    private static double tickStep(double range, int ticks) {
+        double raw = range / Math.max(1, ticks);
+        double magnitude = Math.pow(10, Math.floor(Math.log10(raw)));
+        double fraction = raw / magnitude;
+        return (fraction <= 1 ? 1 : fraction <= 2 ? 2 : fraction <= 5 ? 5 : 10) * magnitude;
+    }
+
+    private void drawCurve(Graphics2D g, int width, int height) {
+        SampledCurve c = curve;
+        double xScale = width / (xMax - xMin);
+        double yScale = height / (yMax - yMin);
+        int start = Math.max(0, c.lowerBound(xMin) - 1);
+        int end = Math.min(c.size(), c.lowerBound(xMax) + 1);
+        int levels = c.getLevels();
+
+        int column = 0;
+        int top = 0;
+        int bottom = 0;
+        int lastY = 0;
+        boolean open = false;
+        int i = start;
+        while (i < end) {
+            int col = column(c.getX(i), xScale, width);
+            // Widen to the largest aligned, gap-free block that stays in this column
+            int level = 0;
+            while (level + 1 < levels) {
+                int size = 1 << (level + 1);
+                if ((i & (size - 1)) != 0 || i + size > end
+                        || c.hasGap(level + 1, i >> (level + 1))
+                        || column(c.getX(i + size - 1), xScale, width) != col) {
+                    break;
+                }
+                level++;
+            }
+            int count = 1 << level;
+            double first = c.getY(i);
+            double last = c.getY(i + count - 1);
+            double low = level == 0 ? first : c.getMinimum(level, i >> level);
+            double high = level == 0 ? first : c.getMaximum(level, i >> level);
+            i += count;
+
+            if (!Double.isFinite(first)) {
+                if (open) g.drawLine(column, top, column, bottom);
+                open = false;
+                continue;
+            }
+            int firstY = row(first, yScale, height);
+            int highY = row(high, yScale, height);
+            int lowY = row(low, yScale, height);
+            if (!open || col != column) {
+                if (open) {
+                    g.drawLine(column, top, column, bottom);
+                    g.drawLine(column, lastY, col, firstY);
+                }
+                column = col;
+                top = highY;
+                bottom = lowY;
+                open = true;
+            } else {
+                top = Math.min(top, highY);
+                bottom = Math.max(bottom, lowY);
+            }
+            lastY = row(last, yScale, height);
+        }
+        if (open) g.drawLine(column, top, column, bottom);
+    }
+
+    private int column(double x, double xScale, int width) {
+        double px = Math.floor((x - xMin) * xScale);
+        return (int) Math.max(-PIXEL_LIMIT, Math.min(width + PIXEL_LIMIT, px));
+    }
+
+    private int row(double y, double yScale, int height) {
+        double py = Math.floor((yMax - y) * yScale);
+        return (int) Math.max(-PIXEL_LIMIT, Math.min(height + PIXEL_LIMIT, py));
+    }
+
+    private double toX(int px) {
+        return xMin + px * (xMax - xMin) / getWidth();
+    }
+
+    private double toY(int py) {
+        return yMax - py * (yMax - yMin) / getHeight();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.calculator.gui;
+
+import com.calculator.core.expression.Expression;
+import com.calculator.plot.FunctionSampler;
+import com.calculator.plot.PlotFunction;
+import com.calculator.plot.SampledCurve;
+import com.calculator.plot.TableExporter;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Plots a formula of one variable and exports it as a CSV table.
+ * <p>
+ * Sampling runs in the background and is redone, debounced, when the view moves outside the
+ * sampled range or zooms in far enough that the samples would look coarse. The old curve keeps
+ * being drawn until the new one arrives, and a stale sampling run never replaces a newer one.
+ * Trigonometric functions take degrees, as on the calculator.
+ */
+public class PlotWindow extends JFrame {
+    private static final int RESAMPLE_DELAY_MS = 100;
+    private static final double SAMPLE_MARGIN = 0.5;
+    private static final double DEFAULT_RANGE = 360;
+
+    private final JTextField formulaField;
+    private final JSpinner rowsSpinner;
+    private final JLabel statusLabel;
+    private final PlotPanel plotPanel;
+    private final AsyncEvaluator sampler;
+    private final AsyncEvaluator exporter;
+    private final Timer resampleTimer;
+    private Expression expression;
+    private double sampledFrom;
+    private double sampledTo;
+    private double sampledTolerance;
+    private boolean fitAfterSampling;
+
+    public PlotWindow() {
+        setTitle("Plot");
+        setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+        formulaField = new JTextField("sin(x)", 20);
+        rowsSpinner = new JSpinner(new SpinnerNumberModel(1000, 1, 100_000_000, 1000));
+        statusLabel = new JLabel(" ");
+        plotPanel = new PlotPanel();
+        sampler = new AsyncEvaluator("plot-sampler", busy -> statusLabel.setText(busy ? "Sampling..." : " "));
+        exporter = new AsyncEvaluator("plot-exporter", busy -> statusLabel.setText(busy ? "Exporting..." : " "));
+        resampleTimer = new Timer(RESAMPLE_DELAY_MS, e -> resampleIfNeeded());
+        resampleTimer.setRepeats(false);
+        addComponents();
+        pack();
+    }
+
+    private void addComponents() {
+        JButton plotButton = new JButton("Plot");
+        JButton fitButton = new JButton("Fit Y");
+        JButton exportButton = new JButton("Export CSV");
+        plotButton.addActionListener(e -> plot(formulaField.getText()));
+        formulaField.addActionListener(e -> plot(formulaField.getText()));
+        fitButton.addActionListener(e -> plotPanel.fitY());
+        exportButton.addActionListener(e -> export());
+        plotPanel.addViewListener(panel -> resampleTimer.restart());
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        controls.add(new JLabel("f(x) ="));
+        controls.add(formulaField);
+        controls.add(plotButton);
+        controls.add(fitButton);
+        controls.add(new JLabel("Rows"));
+        controls.add(rowsSpinner);
+        controls.add(exportButton);
+
+        setLayout(new BorderLayout());
+        add(controls, BorderLayout.NORTH);
+        add(plotPanel, BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Plots a formula over the default range, fitting the y range to it.
+     *
+     * @param formula a formula with at most one variable, e.g. {@code tan(x)}
+     */
+    public void plot(String formula) {
+        Expression parsed;
+        try {
+            parsed = Expression.parse(formula);
+            PlotFunction.of(parsed);
+        } catch (IllegalArgumentException ex) {
+            statusLabel.setText(ex.getMessage());
+            return;
+        }
+        formulaField.setText(formula);
+        expression = parsed;
+        fitAfterSampling = true;
+        plotPanel.setCurve(null);
+        plotPanel.setView(-DEFAULT_RANGE, DEFAULT_RANGE, -1.5, 1.5);
+        resampleTimer.stop();
+        resample();
+    }
+
+    /**
+     * Samples again if the view has left the sampled range, or if a pixel has become much
+     * smaller than the tolerance the curve was sampled with.
+     */
+    private void resampleIfNeeded() {
+        if (expression == null) return;
+        double pixelHeight = (plotPanel.getYMax() - plotPanel.getYMin()) / Math.max(1, plotPanel.getHeight());
+        double width = plotPanel.getXMax() - plotPanel.getXMin();
+        if (plotPanel.getXMin() < sampledFrom || plotPanel.getXMax() > sampledTo
+                || pixelHeight < 0.5 * sampledTolerance || width < 0.25 * (sampledTo - sampledFrom)) {
+            resample();
+        }
+    }
+
+    private void resample() {
+        Expression target = expression;
+        double width = plotPanel.getXMax() - plotPanel.getXMin();
+        double from = plotPanel.getXMin() - SAMPLE_MARGIN * width;
+        double to = plotPanel.getXMax() + SAMPLE_MARGIN * width;
+        double tolerance = fitAfterSampling ? Double.NaN
+                : (plotPanel.getYMax() - plotPanel.getYMin()) / Math.max(1, plotPanel.getHeight());
+        sampledFrom = from;
+        sampledTo = to;
+        sampledTolerance = tolerance;
+        sampler.submit(() -> new FunctionSampler(PlotFunction.of(target)).sample(from, to, tolerance), curve -> {
+            plotPanel.setCurve(curve);
+            if (fitAfterSampling) {
+                fitAfterSampling = false;
+                plotPanel.fitY();
+            }
+            statusLabel.setText(curve.size() + " points");
+        }, failure -> statusLabel.setText("Sampling failed: " + failure));
+    }
+
+    private void export() {
+        if (expression == null) return;
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("plot.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path file = chooser.getSelectedFile().toPath();
+        Expression target = expression;
+        double from = plotPanel.getXMin();
+        double to = plotPanel.getXMax();
+        long steps = Math.max(1, ((Number) rowsSpinner.getValue()).longValue() - 1);
+        exporter.submit(() -> {
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                long rows = new TableExporter(PlotFunction.of(target)).export(from, to, steps, out);
+                return rows + " rows written to " + file.getFileName();
+            } catch (IOException ex) {
+                return "Export failed: " + ex.getMessage();
+            }
+        }, statusLabel::setText, failure -> statusLabel.setText("Export failed: " + failure));
+    }
+
+    @Override
+    public void dispose() {
+        sampler.shutdown();
+        exporter.shutdown();
+        super.dispose();
+    }
+
+    /**
+     * Returns the curve currently drawn, for callers that want its points.
+     *
+     * @return the curve, or null before the first sampling run completes
+     */
+    public SampledCurve getCurve() {
+        return plotPanel.getCurve();
+    }
+}
\ No newline at end of file
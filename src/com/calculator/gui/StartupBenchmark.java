@@ -0,0 +1,120 @@
+package com.calculator.gui;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.EngineWarmup;
+import com.calculator.core.Operations;
+
+import javax.swing.SwingUtilities;
+import java.awt.GraphicsEnvironment;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Measures a cold start of the calculator: the time from JVM start to the first paint of the
+ * frame, and to the first result computed through the buttons.
+ * <p>
+ * The calculator is started as it is for a user, with the engine warm-up unless
+ * {@code --no-warmup} is given, but on a session in a temporary directory, so the user's saved
+ * session is neither read nor changed. Once the first result is shown, the times are printed and
+ * the application exits. Without a display, only the first result of a new engine is timed.
+ * <p>
+ * A run exits after the same work as a short session, which makes it suitable as the training
+ * run of a class-data-sharing archive.
+ */
+public final class StartupBenchmark {
+    private final PrintStream out;
+    private final long mainNanos = System.nanoTime();
+    private long firstPaintNanos;
+    private long firstResultNanos;
+
+    private StartupBenchmark(PrintStream out) {
+        this.out = out;
+    }
+
+    public static void main(String[] args) {
+        boolean warmUp = true;
+        for (String arg : args) {
+            if (arg.equals("--no-warmup")) {
+                warmUp = false;
+            } else {
+                System.err.println("Unknown option: " + arg);
+                System.err.println("Usage: --startup-benchmark [--no-warmup]");
+                System.exit(2);
+            }
+        }
+        StartupBenchmark benchmark = new StartupBenchmark(System.out);
+        if (GraphicsEnvironment.isHeadless()) {
+            benchmark.runHeadless();
+        } else {
+            benchmark.run(warmUp);
+        }
+    }
+
+    private void runHeadless() {
+        CalculatorEngine engine = new CalculatorEngine();
+        engine.formatResult(engine.evaluateUnaryOperation(2, Operations.SQUARE));
+        firstResultNanos = System.nanoTime();
+        out.println("No display; first paint not measured");
+        report();
+    }
+
+    private void run(boolean warmUp) {
+        if (warmUp) EngineWarmup.start();
+        Path directory;
+        try {
+            directory = Files.createTempDirectory("calculator-startup");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> delete(directory)));
+        SwingUtilities.invokeLater(() -> {
+            CalculatorGUI gui = new CalculatorGUI(directory);
+            gui.setPaintListener(() -> {
+                firstPaintNanos = System.nanoTime();
+                gui.setResultListener(() -> {
+                    firstResultNanos = System.nanoTime();
+                    gui.setResultListener(null);
+                    report();
+                    // Closes the session store and exits, as closing the window does
+                    gui.dispatchEvent(new WindowEvent(gui, WindowEvent.WINDOW_CLOSING));
+                });
+                gui.press("2", "x²");
+            });
+            gui.setVisible(true);
+        });
+    }
+
+    /**
+     * Prints the times since JVM start. The uptime is read only now, so that loading the
+     * management classes is not part of the measurement.
+     */
+    private void report() {
+        long now = System.nanoTime();
+        double uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        out.printf("main:         %6.0f ms%n", uptime - millis(now - mainNanos));
+        if (firstPaintNanos != 0) {
+            out.printf("first paint:  %6.0f ms%n", uptime - millis(now - firstPaintNanos));
+        }
+        out.printf("first result: %6.0f ms%n", uptime - millis(now - firstResultNanos));
+        out.flush();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static void delete(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Could not delete " + directory + ": " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.calculator.plot;
+
+import java.util.Arrays;
+
+/**
+ * Samples a function adaptively: densely where the curve bends, sparsely where it is straight.
+ * <p>
+ * The range is first cut into a uniform grid, evaluated in one batch. Each grid interval is then
+ * bisected while its midpoint lies further than the tolerance from the chord between its ends,
+ * up to a maximum depth, so features wider than one grid interval are always resolved. Intervals
+ * reaching an undefined point are bisected down to the maximum depth to locate the edge of the
+ * domain. An interval that is still bent at the maximum depth, and either turns back or has
+ * almost all of its change in one half, is a jump or a pole rather than a steep slope: a gap is
+ * inserted there so the curve is not drawn across it, which is how the asymptotes of {@code tan}
+ * are detected.
+ * <p>
+ * A sampler is not thread-safe.
+ */
+public final class FunctionSampler {
+    public static final int DEFAULT_INITIAL_INTERVALS = 256;
+    public static final int DEFAULT_MAX_DEPTH = 16;
+    public static final int DEFAULT_MAX_POINTS = 1 << 22;
+    private static final double SINGULAR_SHARE = 0.9;
+    private static final double DEFAULT_TOLERANCE_FRACTION = 1e-3;
+
+    private final PlotFunction function;
+    private final int initialIntervals;
+    private final int maxDepth;
+    private final int maxPoints;
+    private SampledCurve curve;
+    private double tolerance;
+
+    public FunctionSampler(PlotFunction function) {
+        this(function, DEFAULT_INITIAL_INTERVALS, DEFAULT_MAX_DEPTH, DEFAULT_MAX_POINTS);
+    }
+
+    /**
+     * Creates a sampler.
+     *
+     * @param function         the function to sample
+     * @param initialIntervals the number of intervals in the uniform grid
+     * @param maxDepth         how many times a grid interval may be bisected
+     * @param maxPoints        the point budget; refinement stops once it is reached
+     * @throws IllegalArgumentException if a limit is not positive
+     */
+    public FunctionSampler(PlotFunction function, int initialIntervals, int maxDepth, int maxPoints) {
+        if (initialIntervals < 1 || maxDepth < 0 || maxPoints <= initialIntervals) {
+            throw new IllegalArgumentException("Invalid sampling limits");
+        }
+        this.function = function;
+        this.initialIntervals = initialIntervals;
+        this.maxDepth = maxDepth;
+        this.maxPoints = maxPoints;
+    }
+
+    /**
+     * Samples a range with a tolerance of a thousandth of the function's typical spread there.
+     *
+     * @param from the lower end of the range
+     * @param to   the upper end of the range
+     * @return the sampled curve
+     * @throws IllegalArgumentException if the range is empty or not finite
+     */
+    public SampledCurve sample(double from, double to) {
+        return sample(from, to, Double.NaN);
+    }
+
+    /**
+     * Samples a range.
+     *
+     * @param from      the lower end of the range
+     * @param to        the upper end of the range
+     * @param tolerance how far the curve may stray from a straight segment, in y units, before the
+     *                  segment is bisected; a plot passes the height of one pixel. NaN or a
+     *                  non-positive value picks a thousandth of the function's typical spread
+     * @return the sampled curve
+     * @throws IllegalArgumentException if the range is empty or not finite
+     */
+    public SampledCurve sample(double from, double to, double tolerance) {
+        if (!(from < to) || !Double.isFinite(from) || !Double.isFinite(to)) {
+            throw new IllegalArgumentException("Invalid range: " + from + " to " + to);
+        }
+        int n = initialIntervals;
+        double[] xs = new double[n + 1];
+        double[] ys = new double[n + 1];
+        double step = (to - from) / n;
+        for (int i = 0; i < n; i++) {
+            xs[i] = from + i * step;
+        }
+        xs[n] = to;
+        function.evaluate(xs, ys, n + 1);
+
+        this.tolerance = tolerance > 0 ? tolerance : defaultTolerance(ys);
+        this.curve = new SampledCurve(4 * n);
+        try {
+            curve.add(xs[0], ys[0]);
+            for (int i = 0; i < n; i++) {
+                refine(xs[i], ys[i], xs[i + 1], ys[i + 1], 0);
+                curve.add(xs[i + 1], ys[i + 1]);
+            }
+            curve.seal();
+            return curve;
+        } finally {
+            curve = null;
+        }
+    }
+
+    /**
+     * Adds the points strictly between two samples.
+     */
+    private void refine(double x0, double y0, double x1, double y1, int depth) {
+        double xm = x0 + 0.5 * (x1 - x0);
+        if (xm <= x0 || xm >= x1) return;
+        boolean finite0 = Double.isFinite(y0);
+        boolean finite1 = Double.isFinite(y1);
+        double ym = function.evaluate(xm);
+        boolean finiteMid = Double.isFinite(ym);
+        boolean canRefine = depth + 1 < maxDepth && curve.size() < maxPoints;
+
+        if (finite0 && finiteMid && finite1) {
+            if (Math.abs(ym - 0.5 * (y0 + y1)) <= tolerance) {
+                curve.add(xm, ym);
+            } else if (canRefine) {
+                refine(x0, y0, xm, ym, depth + 1);
+                curve.add(xm, ym);
+                refine(xm, ym, x1, y1, depth + 1);
+            } else {
+                // A smooth function cannot turn this sharply in so short an interval
+                double left = Math.abs(ym - y0);
+                double right = Math.abs(y1 - ym);
+                boolean singular = (ym - y0) * (y1 - ym) < 0 || Math.max(left, right) > SINGULAR_SHARE * (left + right);
+                if (singular && left >= right) curve.add(x0 + 0.5 * (xm - x0), Double.NaN);
+                curve.add(xm, ym);
+                if (singular && left < right) curve.add(xm + 0.5 * (x1 - xm), Double.NaN);
+            }
+        } else if (finite0 || finiteMid || finite1) {
+            if (canRefine) refine(x0, y0, xm, ym, depth + 1);
+            curve.add(xm, ym);
+            if (canRefine) refine(xm, ym, x1, y1, depth + 1);
+        }
+    }
+
+    private static double defaultTolerance(double[] ys) {
+        double[] finite = new double[ys.length];
+        int count = 0;
+        for (double y : ys) {
+            if (Double.isFinite(y)) finite[count++] = y;
+        }
+        if (count == 0) return Double.MIN_NORMAL;
+        Arrays.sort(finite, 0, count);
+        // Percentiles keep the poles of tan or 1/x from swamping the spread
+        double spread = finite[(int) (0.95 * (count - 1))] - finite[(int) (0.05 * (count - 1))];
+        if (!(spread > 0)) spread = Math.max(Math.abs(finite[count / 2]), 1.0);
+        return spread * DEFAULT_TOLERANCE_FRACTION;
+    }
+}
\ No newline at end of file
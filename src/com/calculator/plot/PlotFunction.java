@@ -0,0 +1,130 @@
+package com.calculator.plot;
+
+import com.calculator.core.CalculationStatus;
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import com.calculator.core.expression.CompiledExpression;
+import com.calculator.core.expression.Expression;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A function of one variable that can be sampled and exported.
+ * <p>
+ * Invalid points evaluate to NaN instead of throwing, so a plot or table can show where a function
+ * is undefined. NaN results may be status-boxed; {@link CalculationStatus#of} tells them apart.
+ */
+public interface PlotFunction {
+
+    /**
+     * Evaluates the function at one point.
+     *
+     * @param x the argument
+     * @return the value, or NaN where the function is undefined
+     */
+    double evaluate(double x);
+
+    /**
+     * Evaluates the function at many points.
+     *
+     * @param xs     the arguments
+     * @param ys     receives the values; may be the same array as {@code xs}
+     * @param length the number of points to evaluate
+     */
+    default void evaluate(double[] xs, double[] ys, int length) {
+        for (int i = 0; i < length; i++) {
+            ys[i] = evaluate(xs[i]);
+        }
+    }
+
+    /**
+     * Returns a short description of the function, e.g. {@code sin(x)}.
+     *
+     * @return the label
+     */
+    String getLabel();
+
+    /**
+     * Wraps a unary operation. Batches go through the engine's batch kernels.
+     *
+     * @param engine    the engine to evaluate with
+     * @param operation a unary operation
+     * @return the function
+     * @throws IllegalArgumentException if the operation is binary
+     */
+    static PlotFunction of(CalculatorEngine engine, Operations operation) {
+        switch (operation) {
+            case ADD: case SUBTRACT: case MULTIPLY: case DIVIDE: case MODULUS: case POWER:
+                throw new IllegalArgumentException("Not a unary operation: " + operation);
+            default:
+                break;
+        }
+        return new PlotFunction() {
+            @Override
+            public double evaluate(double x) {
+                return engine.evaluateUnaryOperation(x, operation);
+            }
+
+            @Override
+            public void evaluate(double[] xs, double[] ys, int length) {
+                engine.performUnaryOperation(xs, 0, ys, 0, length, operation, null);
+            }
+
+            @Override
+            public String getLabel() {
+                return operation.name().toLowerCase(Locale.ROOT) + "(x)";
+            }
+        };
+    }
+
+    /**
+     * Wraps a compiled expression with at most one variable. Points where the expression throws
+     * evaluate to NaN. The returned function reuses an argument array and must be confined to one
+     * thread.
+     *
+     * @param expression the expression
+     * @return the function
+     * @throws IllegalArgumentException if the expression has more than one variable
+     */
+    static PlotFunction of(CompiledExpression expression) {
+        List<String> variables = expression.getVariables();
+        return of(expression, variables.size() == 1 ? "f(" + variables.get(0) + ")" : "f");
+    }
+
+    /**
+     * Compiles an expression with at most one variable, labelled with its source text. Points where
+     * the expression throws evaluate to NaN. The returned function must be confined to one thread.
+     *
+     * @param expression the expression
+     * @return the function
+     * @throws IllegalArgumentException if the expression has more than one variable
+     */
+    static PlotFunction of(Expression expression) {
+        return of(expression.compile(), expression.getSource());
+    }
+
+    private static PlotFunction of(CompiledExpression expression, String label) {
+        List<String> variables = expression.getVariables();
+        if (variables.size() > 1) {
+            throw new IllegalArgumentException("Expected at most one variable, got: " + variables);
+        }
+        double[] values = new double[variables.size()];
+        return new PlotFunction() {
+            @Override
+            public double evaluate(double x) {
+                if (values.length > 0) values[0] = x;
+                try {
+                    return expression.evaluate(values);
+                } catch (ArithmeticException e) {
+                    return Double.NaN;
+                }
+            }
+
+            @Override
+            public String getLabel() {
+                return label;
+            }
+        };
+    }
+}
\ No newline at end of file
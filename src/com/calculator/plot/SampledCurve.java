@@ -0,0 +1,164 @@
+package com.calculator.plot;
+
+import java.util.Arrays;
+
+/**
+ * Points of a sampled function in increasing x order, with a min/max pyramid for rendering.
+ * <p>
+ * A point whose y is not finite marks a gap: the function is undefined there, or a singularity
+ * lies between its neighbours, and the curve is not connected across it. Level {@code k} of the
+ * pyramid holds the minimum and maximum finite y of each aligned block of {@code 2^k} points, and
+ * whether the block contains a gap, so a renderer can reduce any range of points to one vertical
+ * span per pixel column in time proportional to the width instead of the number of points.
+ * <p>
+ * A curve is built by {@link FunctionSampler} and is immutable afterwards.
+ */
+public final class SampledCurve {
+    private double[] xs;
+    private double[] ys;
+    private int size;
+    private double[][] minimums;
+    private double[][] maximums;
+    private boolean[][] gaps;
+
+    SampledCurve(int initialCapacity) {
+        xs = new double[Math.max(16, initialCapacity)];
+        ys = new double[xs.length];
+    }
+
+    void add(double x, double y) {
+        if (size == xs.length) {
+            xs = Arrays.copyOf(xs, size * 2);
+            ys = Arrays.copyOf(ys, size * 2);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    /**
+     * Trims the storage and builds the pyramid. Called once sampling has finished.
+     */
+    void seal() {
+        xs = Arrays.copyOf(xs, size);
+        ys = Arrays.copyOf(ys, size);
+        int levels = 1;
+        while ((1 << levels) < size) levels++;
+        minimums = new double[levels][];
+        maximums = new double[levels][];
+        gaps = new boolean[levels][];
+        for (int level = 1; level < levels; level++) {
+            int blocks = (size + (1 << level) - 1) >> level;
+            double[] min = new double[blocks];
+            double[] max = new double[blocks];
+            boolean[] gap = new boolean[blocks];
+            for (int b = 0; b < blocks; b++) {
+                int left = 2 * b;
+                int right = left + 1;
+                if (level == 1) {
+                    double y0 = ys[left];
+                    double y1 = right < size ? ys[right] : y0;
+                    boolean finite0 = Double.isFinite(y0);
+                    boolean finite1 = Double.isFinite(y1);
+                    min[b] = finite0 ? (finite1 ? Math.min(y0, y1) : y0) : (finite1 ? y1 : Double.NaN);
+                    max[b] = finite0 ? (finite1 ? Math.max(y0, y1) : y0) : (finite1 ? y1 : Double.NaN);
+                    gap[b] = !finite0 || !finite1;
+                } else {
+                    double[] childMin = minimums[level - 1];
+                    double[] childMax = maximums[level - 1];
+                    boolean[] childGap = gaps[level - 1];
+                    if (right >= childMin.length) right = left;
+                    min[b] = minOf(childMin[left], childMin[right]);
+                    max[b] = maxOf(childMax[left], childMax[right]);
+                    gap[b] = childGap[left] || childGap[right];
+                }
+            }
+            minimums[level] = min;
+            maximums[level] = max;
+            gaps[level] = gap;
+        }
+    }
+
+    private static double minOf(double a, double b) {
+        return a != a ? b : (b != b ? a : Math.min(a, b));
+    }
+
+    private static double maxOf(double a, double b) {
+        return a != a ? b : (b != b ? a : Math.max(a, b));
+    }
+
+    public int size() { return size; }
+    public double getX(int index) { return xs[index]; }
+    public double getY(int index) { return ys[index]; }
+
+    /**
+     * Returns the number of pyramid levels; level 0 is the points themselves.
+     *
+     * @return the level count
+     */
+    public int getLevels() {
+        return minimums.length;
+    }
+
+    /**
+     * Returns the smallest finite y in an aligned block.
+     *
+     * @param level the level, at least 1
+     * @param block the block index, i.e. the first point's index shifted right by {@code level}
+     * @return the minimum, or NaN if the block has no finite y
+     */
+    public double getMinimum(int level, int block) { return minimums[level][block]; }
+
+    /**
+     * Returns the largest finite y in an aligned block.
+     *
+     * @param level the level, at least 1
+     * @param block the block index
+     * @return the maximum, or NaN if the block has no finite y
+     */
+    public double getMaximum(int level, int block) { return maximums[level][block]; }
+
+    /**
+     * Returns whether an aligned block contains a gap.
+     *
+     * @param level the level, at least 1
+     * @param block the block index
+     * @return {@code true} if some y in the block is not finite
+     */
+    public boolean hasGap(int level, int block) { return gaps[level][block]; }
+
+    /**
+     * Returns the index of the first point whose x is not less than the given value.
+     *
+     * @param x the value to search for
+     * @return an index from 0 to {@link #size()}
+     */
+    public int lowerBound(double x) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (xs[mid] < x) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Returns the first x of the curve.
+     *
+     * @return the lower end of the sampled range
+     */
+    public double getFrom() {
+        return size == 0 ? Double.NaN : xs[0];
+    }
+
+    /**
+     * Returns the last x of the curve.
+     *
+     * @return the upper end of the sampled range
+     */
+    public double getTo() {
+        return size == 0 ? Double.NaN : xs[size - 1];
+    }
+}
\ No newline at end of file
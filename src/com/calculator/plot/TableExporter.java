@@ -0,0 +1,65 @@
+package com.calculator.plot;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes a table of function values as CSV, one row per point of a uniform grid.
+ * <p>
+ * Points are evaluated and written in chunks of {@value #CHUNK} rows, so memory use does not depend
+ * on the number of rows and a table of any length streams straight to the writer. Grid points are
+ * computed as {@code from + i * step} rather than by repeated addition, so the last rows do not
+ * drift. Undefined points leave the value column empty, which spreadsheets and data frames read as
+ * missing.
+ * <p>
+ * Numbers are written with {@link Double#toString(double)} rather than the display format: it
+ * keeps every significant digit, so values read back unchanged, and it does not depend on the
+ * default locale, whose decimal comma would split a row into extra columns.
+ */
+public final class TableExporter {
+    static final int CHUNK = 4096;
+
+    private final PlotFunction function;
+
+    public TableExporter(PlotFunction function) {
+        this.function = function;
+    }
+
+    /**
+     * Writes the header and rows. The writer is flushed but not closed.
+     *
+     * @param from  the first x
+     * @param to    the last x
+     * @param steps the number of intervals; {@code steps + 1} rows are written
+     * @param out   the destination
+     * @return the number of rows written
+     * @throws IOException              if writing fails
+     * @throws IllegalArgumentException if the range or step count is invalid
+     */
+    public long export(double from, double to, long steps, Writer out) throws IOException {
+        if (!(from <= to) || !Double.isFinite(from) || !Double.isFinite(to) || steps < 1) {
+            throw new IllegalArgumentException("Invalid table: " + from + " to " + to + " in " + steps + " steps");
+        }
+        double step = (to - from) / steps;
+        double[] xs = new double[(int) Math.min(CHUNK, steps + 1)];
+        double[] ys = new double[xs.length];
+        StringBuilder line = new StringBuilder(64);
+        out.write("x," + function.getLabel().replace(",", ";") + "\n");
+        for (long start = 0; start <= steps; start += xs.length) {
+            int length = (int) Math.min(xs.length, steps + 1 - start);
+            for (int i = 0; i < length; i++) {
+                long index = start + i;
+                xs[i] = index == steps ? to : from + index * step;
+            }
+            function.evaluate(xs, ys, length);
+            for (int i = 0; i < length; i++) {
+                line.setLength(0);
+                line.append(xs[i]).append(',');
+                if (Double.isFinite(ys[i])) line.append(ys[i]);
+                out.append(line).append('\n');
+            }
+        }
+        out.flush();
+        return steps + 1;
+    }
+}
\ No newline at end of file
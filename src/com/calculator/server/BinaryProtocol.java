@@ -0,0 +1,62 @@
+package com.calculator.server;
+
+import com.calculator.core.Operations;
+
+/**
+ * Constants of the binary protocol spoken by {@link CalculatorServer} and {@link CalculatorClient}.
+ * <p>
+ * A binary connection starts with {@link #MAGIC} and {@link #VERSION}. {@code 0xFF} never occurs
+ * in UTF-8, so a server tells binary clients from text clients by the first byte. After that the
+ * client sends requests and the server answers each one, in order, without waiting for the
+ * client to read earlier answers. All numbers are big-endian.
+ * <pre>
+ * request  := OPERATION op:u8 operand:f64{0..2}      operand count follows the operation
+ *           | EXPRESSION length:u16 source:utf8
+ * response := VALUE result:f64                       errors are status-boxed NaNs
+ *           | ARITHMETIC_ERROR length:u16 message:utf8
+ *           | INVALID_REQUEST length:u16 message:utf8
+ * </pre>
+ * {@code op} is the ordinal of {@link Operations}. A request the server cannot decode closes
+ * the connection, after the requests before it are answered.
+ */
+final class BinaryProtocol {
+    static final byte MAGIC = (byte) 0xFF;
+    static final byte VERSION = 1;
+
+    static final byte OPERATION = 1;
+    static final byte EXPRESSION = 2;
+
+    static final byte VALUE = 1;
+    static final byte ARITHMETIC_ERROR = 2;
+    static final byte INVALID_REQUEST = 3;
+
+    static final int MAX_EXPRESSION_LENGTH = 4096;
+    static final int MAX_MESSAGE_LENGTH = 255;
+    static final int VALUE_LENGTH = 1 + Double.BYTES;
+    static final int MAX_RESPONSE_LENGTH = 3 + MAX_MESSAGE_LENGTH;
+
+    private BinaryProtocol() {
+    }
+
+    /**
+     * Returns how many operands follow an operation in a request.
+     *
+     * @param operation the operation
+     * @return 2 for binary operations, 0 for {@code PI} and 1 otherwise
+     */
+    static int operandCount(Operations operation) {
+        switch (operation) {
+            case ADD:
+            case SUBTRACT:
+            case MULTIPLY:
+            case DIVIDE:
+            case MODULUS:
+            case POWER:
+                return 2;
+            case PI:
+                return 0;
+            default:
+                return 1;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,232 @@
+package com.calculator.server;
+
+import com.calculator.core.CalculationStatus;
+import com.calculator.core.Operations;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Blocking client for the binary protocol of {@link CalculatorServer}.
+ * <p>
+ * The {@code evaluate} methods send one request and wait for its answer. To pipeline, call the
+ * {@code send} methods any number of times, then {@link #receive()} once per request: requests
+ * are buffered and written together, and the answers arrive in request order. Keep the number of
+ * unanswered requests to a few thousand, so that the server never has to wait for the client to
+ * read while the client is still writing.
+ * <p>
+ * Operation results are status-boxed the same way as
+ * {@link com.calculator.core.CalculatorEngine#evaluateUnaryOperation}: an invalid operation
+ * returns a NaN that {@link CalculationStatus#of} decodes. A client is not thread-safe.
+ */
+public final class CalculatorClient implements Closeable {
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer requests = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer responses = ByteBuffer.allocate(BUFFER_SIZE);
+    private int pending;
+
+    /**
+     * Connects to a server on the loopback interface.
+     *
+     * @param port the server's port
+     * @return the connected client
+     * @throws IOException if the connection fails
+     */
+    public static CalculatorClient connect(int port) throws IOException {
+        return new CalculatorClient(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Connects to a server.
+     *
+     * @param address the server's address
+     * @throws IOException if the connection fails
+     */
+    public CalculatorClient(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        try {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        requests.put(BinaryProtocol.MAGIC).put(BinaryProtocol.VERSION);
+        responses.flip();
+    }
+
+    /**
+     * Evaluates a unary operation on the server.
+     *
+     * @param operation a unary operation
+     * @param operand   the operand; ignored by {@code PI}
+     * @return the result, or a status-boxed NaN if the operation is invalid for the operand
+     * @throws IOException              if the connection fails
+     * @throws IllegalArgumentException if the operation is binary
+     */
+    public double evaluate(Operations operation, double operand) throws IOException {
+        send(operation, operand);
+        return receive();
+    }
+
+    /**
+     * Evaluates a binary operation on the server.
+     *
+     * @param operation a binary operation
+     * @param first     the first operand
+     * @param second    the second operand
+     * @return the result, or a status-boxed NaN if the operation is invalid for the operands
+     * @throws IOException              if the connection fails
+     * @throws IllegalArgumentException if the operation is unary
+     */
+    public double evaluate(Operations operation, double first, double second) throws IOException {
+        send(operation, first, second);
+        return receive();
+    }
+
+    /**
+     * Evaluates an expression without variables on the server.
+     *
+     * @param expression the expression, e.g. {@code 2 * (3 + sqrt(16))}
+     * @return the result
+     * @throws IOException              if the connection fails
+     * @throws ArithmeticException      if an operation in the expression is invalid
+     * @throws IllegalArgumentException if the expression is malformed or has variables
+     */
+    public double evaluate(String expression) throws IOException {
+        send(expression);
+        return receive();
+    }
+
+    /**
+     * Queues a unary operation.
+     *
+     * @param operation a unary operation
+     * @param operand   the operand; ignored by {@code PI}
+     * @throws IOException              if a full buffer cannot be written
+     * @throws IllegalArgumentException if the operation is binary
+     */
+    public void send(Operations operation, double operand) throws IOException {
+        int operands = BinaryProtocol.operandCount(operation);
+        if (operands == 2) throw new IllegalArgumentException(operation + " expects 2 operands");
+        reserve(2 + operands * Double.BYTES);
+        requests.put(BinaryProtocol.OPERATION).put((byte) operation.ordinal());
+        if (operands == 1) requests.putDouble(operand);
+        pending++;
+    }
+
+    /**
+     * Queues a binary operation.
+     *
+     * @param operation a binary operation
+     * @param first     the first operand
+     * @param second    the second operand
+     * @throws IOException              if a full buffer cannot be written
+     * @throws IllegalArgumentException if the operation is unary
+     */
+    public void send(Operations operation, double first, double second) throws IOException {
+        if (BinaryProtocol.operandCount(operation) != 2) {
+            throw new IllegalArgumentException(operation + " is not a binary operation");
+        }
+        reserve(2 + 2 * Double.BYTES);
+        requests.put(BinaryProtocol.OPERATION).put((byte) operation.ordinal())
+                .putDouble(first).putDouble(second);
+        pending++;
+    }
+
+    /**
+     * Queues an expression without variables.
+     *
+     * @param expression the expression
+     * @throws IOException              if a full buffer cannot be written
+     * @throws IllegalArgumentException if the expression is longer than 4096 bytes in UTF-8
+     */
+    public void send(String expression) throws IOException {
+        byte[] source = expression.getBytes(StandardCharsets.UTF_8);
+        if (source.length > BinaryProtocol.MAX_EXPRESSION_LENGTH) {
+            throw new IllegalArgumentException("Expression too long: " + source.length + " bytes");
+        }
+        reserve(3 + source.length);
+        requests.put(BinaryProtocol.EXPRESSION).putShort((short) source.length).put(source);
+        pending++;
+    }
+
+    /**
+     * Writes the queued requests.
+     *
+     * @throws IOException if the connection fails
+     */
+    public void flush() throws IOException {
+        requests.flip();
+        while (requests.hasRemaining()) {
+            channel.write(requests);
+        }
+        requests.clear();
+    }
+
+    /**
+     * Waits for the answer to the oldest unanswered request, writing queued requests first.
+     *
+     * @return the result; operation results may be status-boxed NaNs
+     * @throws IOException              if the connection fails
+     * @throws ArithmeticException      if the request was an expression containing an invalid operation
+     * @throws IllegalArgumentException if the request was an invalid expression
+     * @throws IllegalStateException    if no request is unanswered
+     */
+    public double receive() throws IOException {
+        if (pending == 0) throw new IllegalStateException("No request pending");
+        if (requests.position() > 0) flush();
+        fill(1);
+        byte response = responses.get();
+        pending--;
+        if (response == BinaryProtocol.VALUE) {
+            fill(Double.BYTES);
+            return responses.getDouble();
+        }
+        fill(2);
+        int length = responses.getShort() & 0xFFFF;
+        fill(length);
+        String message = new String(responses.array(), responses.position(), length, StandardCharsets.UTF_8);
+        responses.position(responses.position() + length);
+        if (response == BinaryProtocol.ARITHMETIC_ERROR) throw new ArithmeticException(message);
+        throw new IllegalArgumentException(message);
+    }
+
+    /**
+     * Returns how many requests have been sent, or queued, and not yet received.
+     *
+     * @return the number of unanswered requests
+     */
+    public int getPendingCount() {
+        return pending;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void reserve(int length) throws IOException {
+        if (requests.remaining() < length) flush();
+    }
+
+    /**
+     * Reads until at least {@code length} response bytes are buffered.
+     */
+    private void fill(int length) throws IOException {
+        while (responses.remaining() < length) {
+            responses.compact();
+            int read = channel.read(responses);
+            responses.flip();
+            if (read < 0) throw new EOFException("Server closed the connection");
+        }
+    }
+}
\ No newline at end of file
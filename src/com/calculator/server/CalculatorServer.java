@@ -0,0 +1,349 @@
+package com.calculator.server;
+
+import com.calculator.cli.LineEvaluator;
+import com.calculator.core.CalculatorEngine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Serves calculations over TCP so that many short-lived client processes can share one warmed-up
+ * engine instead of each paying for JVM startup and JIT compilation.
+ * <p>
+ * Clients pipeline requests: they send as many as they like without waiting, and the answers
+ * come back in request order. Each connection speaks one of two protocols, told apart by its
+ * first byte: the compact binary protocol of {@link CalculatorClient}, or lines of text
+ * evaluated exactly like the command-line mode ({@code sin 30}, {@code + 2 3} or an expression,
+ * one result or {@code Error: <message>} line back per line), which any tool such as {@code nc}
+ * can speak.
+ * <p>
+ * One acceptor thread hands new connections round-robin to a fixed set of worker threads, each
+ * multiplexing its connections over an NIO selector. A worker evaluates all complete requests
+ * that have arrived on a connection in one go, passing runs of the same operation through the
+ * engine's batch kernels. The engine must therefore be safe to share between threads, as
+ * {@link CalculatorEngine} is.
+ */
+public final class CalculatorServer implements Closeable {
+    public static final int DEFAULT_PORT = 5757;
+
+    private static final long ACCEPT_RETRY_DELAY_MS = 50;
+
+    /**
+     * Notified on a worker thread when a connection closes, e.g. to log its throughput.
+     */
+    public interface ConnectionListener {
+        void connectionClosed(ConnectionStats stats);
+    }
+
+    private final CalculatorEngine engine;
+    private final ServerSocketChannel serverChannel;
+    private final Worker[] workers;
+    private final Thread acceptor;
+    private final ConnectionListener listener;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Binds a server to the loopback interface.
+     *
+     * @param engine the engine shared by all connections
+     * @param port   the port, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public CalculatorServer(CalculatorEngine engine, int port) throws IOException {
+        this(engine, new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    /**
+     * Binds a server. It accepts no connections until {@link #start()} is called.
+     *
+     * @param engine   the engine shared by all connections
+     * @param address  the address to listen on
+     * @param workers  the number of worker threads
+     * @param listener notified when a connection closes, or null
+     * @throws IOException              if the address cannot be bound
+     * @throws IllegalArgumentException if {@code workers} is not positive
+     */
+    public CalculatorServer(CalculatorEngine engine, InetSocketAddress address, int workers,
+                            ConnectionListener listener) throws IOException {
+        if (workers < 1) throw new IllegalArgumentException("Invalid worker count: " + workers);
+        this.engine = engine;
+        this.listener = listener;
+        this.serverChannel = ServerSocketChannel.open();
+        this.workers = new Worker[workers];
+        try {
+            serverChannel.bind(address);
+            for (int i = 0; i < workers; i++) {
+                this.workers[i] = new Worker("calculator-server-" + i);
+            }
+        } catch (IOException e) {
+            serverChannel.close();
+            for (Worker worker : this.workers) {
+                if (worker != null) worker.selector.close();
+            }
+            throw e;
+        }
+        this.acceptor = new Thread(this::accept, "calculator-server-acceptor");
+    }
+
+    /**
+     * Starts accepting connections.
+     */
+    public void start() {
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+        acceptor.start();
+    }
+
+    /**
+     * Returns the address the server listens on, with the actual port if it was bound to port 0.
+     *
+     * @return the address
+     * @throws IOException if the server is closed
+     */
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Returns the counters of the currently open connections.
+     *
+     * @return one entry per open connection
+     */
+    public List<ConnectionStats> getConnectionStats() {
+        List<ConnectionStats> stats = new ArrayList<>(connections.size());
+        for (Connection connection : connections) {
+            stats.add(connection.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Blocks until the server has been closed and every worker has stopped.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void awaitClose() throws InterruptedException {
+        acceptor.join();
+        for (Worker worker : workers) {
+            worker.thread.join();
+        }
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones. Responses not yet written are lost.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverChannel.close();
+        for (Worker worker : workers) {
+            if (worker.thread.getState() == Thread.State.NEW) {
+                worker.selector.close();
+            } else {
+                worker.selector.wakeup();
+            }
+        }
+    }
+
+    private void accept() {
+        int next = 0;
+        while (!closed) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                // e.g. out of file descriptors; keep serving the open connections, and wait for
+                // some to close rather than spinning on an accept that fails at once
+                pause(ACCEPT_RETRY_DELAY_MS);
+                continue;
+            }
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            } catch (IOException e) {
+                closeQuietly(channel);
+                continue;
+            }
+            workers[next].add(channel);
+            next = (next + 1) % workers.length;
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing left to do for this client
+        }
+    }
+
+    /**
+     * A thread serving its share of the connections. The request batch and line evaluator keep
+     * scratch state, so each worker has its own.
+     */
+    private final class Worker implements Runnable {
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<SocketChannel> accepted = new ConcurrentLinkedQueue<>();
+        private final RequestBatch batch = new RequestBatch(engine);
+        private final LineEvaluator lines = new LineEvaluator(engine);
+
+        Worker(String name) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, name);
+        }
+
+        void add(SocketChannel channel) {
+            accepted.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closed) {
+                    selector.select(this::handle);
+                    SocketChannel channel;
+                    while ((channel = accepted.poll()) != null) {
+                        register(channel);
+                    }
+                }
+            } catch (IOException e) {
+                // The selector failed; its connections are closed below
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    close((Connection) key.attachment());
+                }
+                SocketChannel channel;
+                while ((channel = accepted.poll()) != null) {
+                    closeQuietly(channel);
+                }
+                try {
+                    selector.close();
+                } catch (IOException ignored) {
+                    // Already shutting down
+                }
+            }
+        }
+
+        private void register(SocketChannel channel) {
+            if (closed) {
+                closeQuietly(channel);
+                return;
+            }
+            try {
+                connections.add(new Connection(channel, selector));
+            } catch (IOException e) {
+                closeQuietly(channel);
+            }
+        }
+
+        private void handle(SelectionKey key) {
+            Connection connection = (Connection) key.attachment();
+            try {
+                if (!connection.handle(batch, lines)) close(connection);
+            } catch (IOException | RuntimeException e) {
+                // A broken or misbehaving client only loses its own connection, and still gets
+                // the responses to its earlier requests
+                connection.flushPending();
+                close(connection);
+            }
+        }
+
+        private void close(Connection connection) {
+            connection.close();
+            if (connections.remove(connection) && listener != null) {
+                listener.connectionClosed(connection.getStats());
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.err));
+    }
+
+    /**
+     * Runs a server until the process is stopped, printing each connection's throughput when it
+     * closes.
+     *
+     * @param args    {@code [--port <port>] [--bind <address>] [--workers <count>]}
+     * @param console where usage errors and connection reports are printed
+     * @return the process exit code
+     */
+    public static int run(String[] args, PrintStream console) {
+        int port = DEFAULT_PORT;
+        String bind = null;
+        int workers = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.equals("--port") && i + 1 < args.length) {
+                    port = Integer.parseInt(args[++i]);
+                } else if (arg.equals("--bind") && i + 1 < args.length) {
+                    bind = args[++i];
+                } else if (arg.equals("--workers") && i + 1 < args.length) {
+                    workers = Integer.parseInt(args[++i]);
+                } else {
+                    throw new IllegalArgumentException(arg);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            console.println("Usage: --server [--port <port>] [--bind <address>] [--workers <count>]");
+            return 2;
+        }
+
+        CalculatorServer server;
+        try {
+            InetSocketAddress address = bind == null
+                    ? new InetSocketAddress(InetAddress.getLoopbackAddress(), port)
+                    : new InetSocketAddress(bind, port);
+            server = new CalculatorServer(new CalculatorEngine(), address, workers, console::println);
+            server.start();
+            console.println("Listening on " + server.getAddress() + " with " + workers + " workers");
+        } catch (IOException | IllegalArgumentException e) {
+            console.println("Cannot start server: " + e.getMessage());
+            return 1;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException ignored) {
+                // Exiting anyway
+            }
+        }));
+        try {
+            server.awaitClose();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+}
\ No newline at end of file
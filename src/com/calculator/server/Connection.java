@@ -0,0 +1,216 @@
+package com.calculator.server;
+
+import com.calculator.cli.LineEvaluator;
+
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * One client connection of a {@link CalculatorServer}, served by a single worker thread.
+ * <p>
+ * Requests are evaluated straight out of the read buffer and the responses collected in the
+ * write buffer. While the client is not reading its responses fast enough to drain the write
+ * buffer, the connection stops reading, so a client that pipelines without reading cannot make
+ * the server buffer without bound. The counters are written by the worker only and read by any
+ * thread through {@link #getStats()}.
+ */
+final class Connection {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LINE_LENGTH = 1 << 20;
+
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final String remoteAddress;
+    private final long openedAt = System.nanoTime();
+    private final ByteBuffer output = ByteBuffer.allocate(BUFFER_SIZE);
+    private ByteBuffer input = ByteBuffer.allocate(BUFFER_SIZE);
+    private boolean inputClosed;
+    private volatile long closedAt;
+    private volatile ConnectionStats.Protocol protocol;
+    private volatile long requests;
+    private volatile long errors;
+    private volatile long bytesRead;
+    private volatile long bytesWritten;
+
+    Connection(SocketChannel channel, Selector selector) throws IOException {
+        this.channel = channel;
+        this.remoteAddress = String.valueOf(channel.getRemoteAddress());
+        this.key = channel.register(selector, SelectionKey.OP_READ, this);
+    }
+
+    /**
+     * Reads what has arrived, evaluates every complete request and writes as many responses as
+     * the socket accepts.
+     *
+     * @param batch the worker's binary request batch
+     * @param lines the worker's text line evaluator
+     * @return false once the client has closed its side and every response has been written
+     * @throws IOException if the socket fails or the client breaks the protocol
+     */
+    boolean handle(RequestBatch batch, LineEvaluator lines) throws IOException {
+        if (key.isReadable()) {
+            if (!input.hasRemaining()) grow();
+            int read = channel.read(input);
+            if (read < 0) {
+                inputClosed = true;
+            } else {
+                bytesRead += read;
+            }
+        }
+        boolean progressed;
+        do {
+            progressed = process(batch, lines);
+            if (output.position() > 0) {
+                output.flip();
+                bytesWritten += channel.write(output);
+                output.compact();
+                if (output.position() > 0) {
+                    key.interestOps(SelectionKey.OP_WRITE);
+                    return true;
+                }
+            }
+        } while (progressed);
+        if (inputClosed) return false;
+        key.interestOps(SelectionKey.OP_READ);
+        return true;
+    }
+
+    /**
+     * Evaluates the requests that are complete in the input and have room in the output.
+     *
+     * @return whether any input was consumed
+     */
+    private boolean process(RequestBatch batch, LineEvaluator lines) throws ProtocolException {
+        input.flip();
+        try {
+            int start = input.position();
+            if (protocol == null) detectProtocol();
+            if (protocol == ConnectionStats.Protocol.BINARY) {
+                processBinary(batch);
+            } else if (protocol == ConnectionStats.Protocol.TEXT) {
+                processText(lines);
+            }
+            return input.position() > start;
+        } finally {
+            input.compact();
+        }
+    }
+
+    private void detectProtocol() throws ProtocolException {
+        if (!input.hasRemaining()) return;
+        if (input.get(input.position()) != BinaryProtocol.MAGIC) {
+            protocol = ConnectionStats.Protocol.TEXT;
+            return;
+        }
+        if (input.remaining() < 2) return;
+        input.get();
+        byte version = input.get();
+        if (version != BinaryProtocol.VERSION) throw new ProtocolException("Unsupported protocol version: " + version);
+        protocol = ConnectionStats.Protocol.BINARY;
+    }
+
+    private void processBinary(RequestBatch batch) throws ProtocolException {
+        int count = batch.decode(input, output.remaining());
+        if (count == 0) return;
+        int failures = batch.evaluate();
+        batch.encode(output);
+        requests += count;
+        errors += failures;
+    }
+
+    private void processText(LineEvaluator lines) {
+        byte[] data = input.array();
+        int lineStart = input.position();
+        int limit = input.limit();
+        long evaluated = 0;
+        long failures = 0;
+        for (int i = lineStart; i < limit && output.remaining() >= LineEvaluator.MAX_OUTPUT_LENGTH; i++) {
+            if (data[i] == '\n') {
+                LineEvaluator.Outcome outcome = evaluateLine(lines, data, lineStart, i);
+                if (outcome != LineEvaluator.Outcome.SKIPPED) evaluated++;
+                if (outcome == LineEvaluator.Outcome.ERROR) failures++;
+                lineStart = i + 1;
+            }
+        }
+        // The last line of the input does not need a terminator
+        if (inputClosed && lineStart < limit && output.remaining() >= LineEvaluator.MAX_OUTPUT_LENGTH) {
+            LineEvaluator.Outcome outcome = evaluateLine(lines, data, lineStart, limit);
+            if (outcome != LineEvaluator.Outcome.SKIPPED) evaluated++;
+            if (outcome == LineEvaluator.Outcome.ERROR) failures++;
+            lineStart = limit;
+        }
+        input.position(lineStart);
+        if (evaluated > 0) {
+            requests += evaluated;
+            errors += failures;
+        }
+    }
+
+    /**
+     * Evaluates one text line. A line the evaluator fails on gets an error line like any other
+     * invalid line, instead of costing the client its connection and the responses still
+     * buffered for it.
+     */
+    private LineEvaluator.Outcome evaluateLine(LineEvaluator lines, byte[] data, int from, int to) {
+        int mark = output.position();
+        try {
+            return lines.evaluate(data, from, to, output);
+        } catch (RuntimeException e) {
+            output.position(mark);
+            return lines.writeError(e.getMessage(), output);
+        }
+    }
+
+    /**
+     * Makes room for a text line longer than the read buffer. Binary requests always fit.
+     */
+    private void grow() throws ProtocolException {
+        if (input.capacity() >= MAX_LINE_LENGTH) {
+            throw new ProtocolException("Line longer than " + MAX_LINE_LENGTH + " bytes");
+        }
+        ByteBuffer larger = ByteBuffer.allocate(input.capacity() * 2);
+        input.flip();
+        larger.put(input);
+        input = larger;
+    }
+
+    /**
+     * Writes as many of the buffered responses as the socket accepts without blocking, so a
+     * client dropped for breaking the protocol still receives the answers to its valid requests.
+     */
+    void flushPending() {
+        output.flip();
+        try {
+            bytesWritten += channel.write(output);
+        } catch (IOException ignored) {
+            // The connection is being dropped either way
+        } finally {
+            output.compact();
+        }
+    }
+
+    void close() {
+        closedAt = System.nanoTime();
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // The connection is being dropped either way
+        }
+    }
+
+    /**
+     * Returns the connection's counters so far.
+     *
+     * @return the counters
+     */
+    ConnectionStats getStats() {
+        long end = closedAt;
+        return new ConnectionStats(remoteAddress, protocol, requests, errors, bytesRead, bytesWritten,
+                (end != 0 ? end : System.nanoTime()) - openedAt);
+    }
+}
\ No newline at end of file
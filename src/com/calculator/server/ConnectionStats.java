@@ -0,0 +1,83 @@
+package com.calculator.server;
+
+import java.util.Locale;
+
+/**
+ * Traffic counters of one server connection at a point in time.
+ */
+public final class ConnectionStats {
+
+    /**
+     * The protocol a connection speaks, known once its first bytes arrive.
+     */
+    public enum Protocol {
+        /** Framed requests, see {@link CalculatorClient}. */
+        BINARY,
+        /** One request per line, answered like the command-line mode. */
+        TEXT
+    }
+
+    private final String remoteAddress;
+    private final Protocol protocol;
+    private final long requests;
+    private final long errors;
+    private final long bytesRead;
+    private final long bytesWritten;
+    private final long durationNanos;
+
+    ConnectionStats(String remoteAddress, Protocol protocol, long requests, long errors,
+                    long bytesRead, long bytesWritten, long durationNanos) {
+        this.remoteAddress = remoteAddress;
+        this.protocol = protocol;
+        this.requests = requests;
+        this.errors = errors;
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+        this.durationNanos = durationNanos;
+    }
+
+    public String getRemoteAddress() { return remoteAddress; }
+
+    /**
+     * Returns the protocol of the connection.
+     *
+     * @return the protocol, or null if the client has not sent anything yet
+     */
+    public Protocol getProtocol() { return protocol; }
+
+    public long getRequests() { return requests; }
+
+    /**
+     * Returns how many requests were answered with an error.
+     *
+     * @return the number of failed requests
+     */
+    public long getErrors() { return errors; }
+
+    public long getBytesRead() { return bytesRead; }
+
+    public long getBytesWritten() { return bytesWritten; }
+
+    /**
+     * Returns how long the connection has been, or was, open.
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getDurationNanos() { return durationNanos; }
+
+    /**
+     * Returns the average request rate over the life of the connection.
+     *
+     * @return requests per second
+     */
+    public double getRequestsPerSecond() {
+        return durationNanos > 0 ? requests * 1e9 / durationNanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s %s: %d requests, %d errors in %.3f s (%.0f requests/s, %d bytes in, %d bytes out)",
+                remoteAddress, protocol == null ? "idle" : protocol.name().toLowerCase(Locale.ROOT), requests, errors,
+                durationNanos / 1e9, getRequestsPerSecond(), bytesRead, bytesWritten);
+    }
+}
\ No newline at end of file
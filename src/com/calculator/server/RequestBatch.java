@@ -0,0 +1,184 @@
+package com.calculator.server;
+
+import com.calculator.core.CalculatorEngine;
+import com.calculator.core.Operations;
+import com.calculator.core.expression.CompiledExpression;
+import com.calculator.core.expression.Expression;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decodes the binary requests waiting in a connection's input, evaluates them together and
+ * encodes the responses.
+ * <p>
+ * Consecutive requests for the same operation, the usual shape of a pipelined workload, go
+ * through the engine's batch kernels as one slice, so the operation is resolved once per run
+ * instead of once per request. Expressions are evaluated one by one; their compiled form is
+ * cached by source text. A batch belongs to one server worker and is reused for every connection
+ * the worker serves, so it is not thread-safe.
+ */
+final class RequestBatch {
+    static final int MAX_REQUESTS = 1024;
+    private static final int EXPRESSION_CACHE_SIZE = 256;
+    private static final Operations[] OPERATIONS = Operations.values();
+    private static final double[] NO_VALUES = new double[0];
+
+    private final CalculatorEngine engine;
+    private final Operations[] operations = new Operations[MAX_REQUESTS];
+    private final double[] first = new double[MAX_REQUESTS];
+    private final double[] second = new double[MAX_REQUESTS];
+    private final double[] results = new double[MAX_REQUESTS];
+    private final String[] sources = new String[MAX_REQUESTS];
+    private final byte[] responses = new byte[MAX_REQUESTS];
+    private final String[] messages = new String[MAX_REQUESTS];
+    private final Map<String, CompiledExpression> expressions =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompiledExpression> eldest) {
+                    return size() > EXPRESSION_CACHE_SIZE;
+                }
+            };
+    private int count;
+
+    RequestBatch(CalculatorEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Decodes as many complete requests as fit in the batch and whose responses fit in
+     * {@code room} bytes. Incomplete requests are left in the buffer.
+     *
+     * @param in   the input, in read mode; its position is advanced past the decoded requests
+     * @param room the free space in the output buffer
+     * @return the number of decoded requests
+     * @throws ProtocolException if the first request is malformed
+     */
+    int decode(ByteBuffer in, int room) throws ProtocolException {
+        count = 0;
+        while (count < MAX_REQUESTS && room >= BinaryProtocol.MAX_RESPONSE_LENGTH && in.hasRemaining()) {
+            int start = in.position();
+            byte type = in.get(start);
+            if (type == BinaryProtocol.OPERATION) {
+                if (in.remaining() < 2) break;
+                int ordinal = in.get(start + 1) & 0xFF;
+                if (ordinal >= OPERATIONS.length) return reject("Unknown operation: " + ordinal);
+                Operations operation = OPERATIONS[ordinal];
+                int operands = BinaryProtocol.operandCount(operation);
+                if (in.remaining() < 2 + operands * Double.BYTES) break;
+                in.position(start + 2);
+                first[count] = operands > 0 ? in.getDouble() : 0.0;
+                second[count] = operands > 1 ? in.getDouble() : 0.0;
+                operations[count] = operation;
+                room -= BinaryProtocol.VALUE_LENGTH;
+            } else if (type == BinaryProtocol.EXPRESSION) {
+                if (in.remaining() < 3) break;
+                int length = in.getShort(start + 1) & 0xFFFF;
+                if (length > BinaryProtocol.MAX_EXPRESSION_LENGTH) {
+                    return reject("Expression too long: " + length + " bytes");
+                }
+                if (in.remaining() < 3 + length) break;
+                sources[count] = new String(in.array(), in.arrayOffset() + start + 3, length, StandardCharsets.UTF_8);
+                in.position(start + 3 + length);
+                operations[count] = null;
+                room -= BinaryProtocol.MAX_RESPONSE_LENGTH;
+            } else {
+                return reject("Unknown request type: " + (type & 0xFF));
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Rejects a malformed request. The requests decoded before it are returned first, so they are
+     * answered, and the malformed one is reported by the next call.
+     */
+    private int reject(String message) throws ProtocolException {
+        if (count > 0) return count;
+        throw new ProtocolException(message);
+    }
+
+    /**
+     * Evaluates the decoded requests.
+     *
+     * @return the number of requests that failed
+     */
+    int evaluate() {
+        int failures = 0;
+        int i = 0;
+        while (i < count) {
+            Operations operation = operations[i];
+            if (operation == null) {
+                if (!evaluateExpression(i)) failures++;
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while (end < count && operations[end] == operation) end++;
+            if (BinaryProtocol.operandCount(operation) == 2) {
+                failures += engine.performBinaryOperation(first, i, second, i, results, i, end - i, operation, null);
+            } else {
+                failures += engine.performUnaryOperation(first, i, results, i, end - i, operation, null);
+            }
+            for (int j = i; j < end; j++) {
+                responses[j] = BinaryProtocol.VALUE;
+            }
+            i = end;
+        }
+        return failures;
+    }
+
+    private boolean evaluateExpression(int i) {
+        String source = sources[i];
+        sources[i] = null;
+        try {
+            CompiledExpression compiled = expressions.get(source);
+            if (compiled == null) {
+                compiled = Expression.parse(source).compile();
+                expressions.put(source, compiled);
+            }
+            compiled.requireNoVariables();
+            results[i] = compiled.evaluate(NO_VALUES);
+            responses[i] = BinaryProtocol.VALUE;
+            return true;
+        } catch (ArithmeticException e) {
+            responses[i] = BinaryProtocol.ARITHMETIC_ERROR;
+            messages[i] = e.getMessage();
+        } catch (IllegalArgumentException e) {
+            responses[i] = BinaryProtocol.INVALID_REQUEST;
+            messages[i] = e.getMessage();
+        } catch (RuntimeException e) {
+            // One bad expression fails its own request, not the other requests of the batch
+            responses[i] = BinaryProtocol.INVALID_REQUEST;
+            messages[i] = e.getMessage();
+        }
+        return false;
+    }
+
+    /**
+     * Writes one response per decoded request, in request order.
+     *
+     * @param out the output; must have the room given to {@link #decode}
+     */
+    void encode(ByteBuffer out) {
+        for (int i = 0; i < count; i++) {
+            byte response = responses[i];
+            out.put(response);
+            if (response == BinaryProtocol.VALUE) {
+                out.putDouble(results[i]);
+            } else {
+                String message = messages[i];
+                messages[i] = null;
+                byte[] encoded = (message != null ? message : "Error").getBytes(StandardCharsets.UTF_8);
+                int length = Math.min(encoded.length, BinaryProtocol.MAX_MESSAGE_LENGTH);
+                out.putShort((short) length);
+                out.put(encoded, 0, length);
+            }
+        }
+        count = 0;
+    }
+}
\ No newline at end of file